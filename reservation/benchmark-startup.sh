@@ -0,0 +1,98 @@
+#!/bin/bash
+
+# Mesure du démarrage par mode d'image (cibles du Dockerfile) : temps jusqu'à la sonde readiness,
+# temps rapporté par Spring Boot et mémoire résidente (VmRSS) une fois prêt.
+# Usage: ./benchmark-startup.sh [modes...]    (défaut : jar cds native)
+#        RUNS=5 ./benchmark-startup.sh cds
+#        PROFILES=docker,prod ./benchmark-startup.sh cds    (profils Spring, défaut : docker)
+
+set -e
+
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(jar cds native)
+fi
+RUNS=${RUNS:-3}
+PROFILES=${PROFILES:-docker}
+PORT=${BENCH_PORT:-18080}
+NETWORK=reservation-bench
+DB=reservation-bench-db
+APP=reservation-bench-app
+
+cleanup() {
+    docker rm -f "$APP" >/dev/null 2>&1 || true
+    docker rm -f "$DB" >/dev/null 2>&1 || true
+    docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+# Millisecondes (date +%N n'existe pas sous macOS)
+now_ms() {
+    perl -MTime::HiRes=time -e 'printf "%d", time * 1000'
+}
+
+# Lance l'image, attend la sonde readiness et affiche "<ms jusqu'à prêt> <secondes Spring Boot> <RSS en Mo>"
+run_once() {
+    local image=$1
+    local started
+    started=$(now_ms)
+    docker run -d --name "$APP" --network "$NETWORK" -p "$PORT:8080" \
+        -e SPRING_PROFILES_ACTIVE="$PROFILES" \
+        -e SPRING_DATASOURCE_URL="jdbc:postgresql://$DB:5432/reservation" \
+        -e SPRING_DATASOURCE_USERNAME=reservation \
+        -e SPRING_DATASOURCE_PASSWORD=bench \
+        -e SPRING_SECURITY_OAUTH2_RESOURCESERVER_JWT_ISSUER_URI=http://localhost:8081/realms/reservation \
+        "$image" >/dev/null
+
+    until curl -sf "http://localhost:$PORT/actuator/health/readiness" >/dev/null 2>&1; do
+        if [ "$(docker inspect -f '{{.State.Running}}' "$APP")" != "true" ]; then
+            echo "❌ Le conteneur $image s'est arrêté :" >&2
+            docker logs "$APP" 2>&1 | tail -20 >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    local ready=$(( $(now_ms) - started ))
+
+    local spring rss
+    spring=$(docker logs "$APP" 2>&1 | grep -o 'Started ReservationApplication in [0-9.]* seconds' | grep -o '[0-9.]*' | head -1)
+    rss=$(docker exec "$APP" sh -c "grep VmRSS /proc/1/status" | awk '{ printf "%d", $2 / 1024 }')
+    docker rm -f "$APP" >/dev/null
+    echo "$ready ${spring:-?} $rss"
+}
+
+echo "📦 Construction des images (${MODES[*]})..."
+for mode in "${MODES[@]}"; do
+    docker build -q --target "$mode" -t "reservation:$mode" . >/dev/null
+    echo "✅ reservation:$mode"
+done
+
+echo ""
+echo "🐘 Démarrage de PostgreSQL..."
+cleanup
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$DB" --network "$NETWORK" \
+    -e POSTGRES_DB=reservation -e POSTGRES_USER=reservation -e POSTGRES_PASSWORD=bench \
+    postgres:16 >/dev/null
+until docker exec "$DB" pg_isready -U reservation -d reservation >/dev/null 2>&1; do
+    sleep 0.5
+done
+
+# Premier démarrage non mesuré : migrations Flyway, pour mesurer ensuite un démarrage sur base à jour
+echo "⏳ Application des migrations..."
+run_once "reservation:${MODES[0]}" >/dev/null
+
+echo ""
+echo "Profils : $PROFILES"
+printf "%-8s %-5s %18s %16s %10s\n" "Mode" "Run" "Prêt (ms)" "Spring Boot (s)" "RSS (Mo)"
+for mode in "${MODES[@]}"; do
+    total_ready=0
+    total_rss=0
+    for run in $(seq 1 "$RUNS"); do
+        read -r ready spring rss < <(run_once "reservation:$mode")
+        printf "%-8s %-5s %18s %16s %10s\n" "$mode" "$run" "$ready" "$spring" "$rss"
+        total_ready=$(( total_ready + ready ))
+        total_rss=$(( total_rss + rss ))
+    done
+    printf "%-8s %-5s %18s %16s %10s\n" "$mode" "moy." "$(( total_ready / RUNS ))" "" "$(( total_rss / RUNS ))"
+done
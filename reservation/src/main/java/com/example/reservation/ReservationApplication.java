@@ -1,9 +1,12 @@
 package com.example.reservation;
 
+import com.example.reservation.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class ReservationApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(ReservationApplication.class, args);
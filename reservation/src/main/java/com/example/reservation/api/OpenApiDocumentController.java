@@ -0,0 +1,49 @@
+package com.example.reservation.api;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Contrat OpenAPI quand springdoc est désactivé (profil prod) : le document rendu à la construction
+ * (openapi/openapi.json) et openapi.yml sont chargés une fois et servis tels quels, sans analyse du contrat
+ * ni parcours des contrôleurs au démarrage ; la variante gzip est calculée une fois (PrecompressedBody).
+ * ETag fort : une revalidation ne renvoie que 304.
+ */
+@RestController
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "false")
+public class OpenApiDocumentController {
+
+    private static final MediaType APPLICATION_YAML = MediaType.parseMediaType("application/yaml");
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+
+    private final PrecompressedBody json = load("openapi/openapi.json", MediaType.APPLICATION_JSON);
+    private final PrecompressedBody yaml = load("openapi.yml", APPLICATION_YAML);
+
+    @GetMapping("/v3/api-docs")
+    public ResponseEntity<byte[]> getJson(WebRequest request) {
+        return json.serve(request, CACHE_CONTROL);
+    }
+
+    @GetMapping("/v3/api-docs.yaml")
+    public ResponseEntity<byte[]> getYaml(WebRequest request) {
+        return yaml.serve(request, CACHE_CONTROL);
+    }
+
+    private static PrecompressedBody load(String path, MediaType mediaType) {
+        try {
+            return PrecompressedBody.of(new ClassPathResource(path).getContentAsByteArray(), mediaType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Document OpenAPI introuvable sur le classpath : " + path, e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.reservation.api;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Corps de réponse sérialisé une fois et compressé une fois (gzip, niveau maximal : le coût n'est payé
+ * qu'à la construction). La compression à la volée de Tomcat ignore les réponses qui portent déjà
+ * un Content-Encoding. Chaque variante a son ETag fort, la variante gzip n'étant servie qu'aux clients
+ * qui l'acceptent et seulement si elle est plus petite.
+ */
+public record PrecompressedBody(byte[] content, byte[] gzipped, MediaType mediaType, String etag, String gzipEtag) {
+
+    private static final String GZIP = "gzip";
+
+    public static PrecompressedBody of(byte[] content, MediaType mediaType) {
+        String digest = DigestUtils.md5DigestAsHex(content);
+        return new PrecompressedBody(content, gzip(content), mediaType, "\"" + digest + "\"", "\"" + digest + "-gzip\"");
+    }
+
+    public ResponseEntity<byte[]> serve(WebRequest request, CacheControl cacheControl) {
+        boolean gzip = gzipped.length < content.length && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String variantEtag = gzip ? gzipEtag : etag;
+        if (request.checkNotModified(variantEtag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .eTag(variantEtag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(gzipped);
+        }
+        return response.body(content);
+    }
+
+    /** gzip (ou *) présent dans Accept-Encoding sans q=0. */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase(GZIP) && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(parameter.substring(2)) == 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            return !refused;
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
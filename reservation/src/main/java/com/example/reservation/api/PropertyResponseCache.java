@@ -0,0 +1,64 @@
+package com.example.reservation.api;
+
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.mapper.DtoMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Réponses JSON de GET /api/properties/{id} (public) sérialisées et compressées une seule fois par version
+ * de la propriété. L'entité reste chargée à chaque requête : une entrée n'est réutilisée que si updatedAt
+ * n'a pas changé, sans invalidation à orchestrer. LRU borné par reservation.http.property-cache.max-entries.
+ */
+@Component
+public class PropertyResponseCache {
+
+    private final JsonMapper jsonMapper;
+    private final Map<UUID, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PropertyResponseCache(
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.http.property-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.jsonMapper = jsonMapper;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.hits = meterRegistry.counter("reservation.http.property.cache", "result", "hit");
+        this.misses = meterRegistry.counter("reservation.http.property.cache", "result", "miss");
+    }
+
+    public PrecompressedBody get(Property property) {
+        Entry entry = entries.get(property.getId());
+        if (entry != null && Objects.equals(entry.updatedAt(), property.getUpdatedAt())) {
+            hits.increment();
+            return entry.body();
+        }
+        misses.increment();
+        PrecompressedBody body = PrecompressedBody.of(
+                jsonMapper.writeValueAsBytes(DtoMapper.toPropertyResponse(property)),
+                MediaType.APPLICATION_JSON
+        );
+        entries.put(property.getId(), new Entry(property.getUpdatedAt(), body));
+        return body;
+    }
+
+    private record Entry(Instant updatedAt, PrecompressedBody body) {}
+}
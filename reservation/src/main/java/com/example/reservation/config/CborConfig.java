@@ -0,0 +1,42 @@
+package com.example.reservation.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Encodage binaire CBOR pour les applications mobiles : un client qui envoie Accept: application/cbor
+ * reçoit le même modèle que le JSON, avec nombres et longueurs encodés en binaire (ni guillemets ni séparateurs),
+ * sur tous les endpoints (les contrôleurs ne restreignent pas produces). Le convertisseur CBOR est placé après le convertisseur JSON :
+ * sans Accept, ou avec Accept: *&#47;*, la réponse reste en JSON.
+ *
+ * Le CBORMapper reçoit les mêmes modules que le JsonMapper (Blackbird, sérialiseurs des pages de liste).
+ */
+@Configuration
+@ConditionalOnProperty(name = "reservation.cbor.enabled", havingValue = "true", matchIfMissing = true)
+public class CborConfig implements WebMvcConfigurer {
+
+    private final CBORMapper cborMapper;
+
+    public CborConfig(ObjectProvider<JacksonModule> modules) {
+        CBORMapper.Builder builder = CBORMapper.builder();
+        modules.orderedStream().forEach(builder::addModule);
+        this.cborMapper = builder.build();
+    }
+
+    @Bean
+    public CBORMapper cborMapper() {
+        return cborMapper;
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.reservation.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Source de données de l'application : pools du primaire par profil (PoolProfile, @UsePool),
+ * précédés du routage vers les réplicas lorsqu'il est activé (ReadReplicaConfig).
+ * Le pool WRITE est le pool Hikari auto-configuré (spring.datasource.hikari.*) ; INTERACTIVE_READ et BATCH
+ * en reprennent la connexion et surchargent taille, attente, détection de fuite et cache de requêtes préparées
+ * (reservation.datasource.pools.&lt;nom&gt;.*).
+ * Métriques par pool : hikaricp.connections.* (étiquette pool) et reservation.datasource.pool.saturation.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    static final String POOLS_PREFIX = "reservation.datasource.pools.";
+
+    /** Connexions inactives conservées par défaut dans un pool dérivé : la taille maximale n'est atteinte qu'en charge. */
+    static final int DEFAULT_MINIMUM_IDLE = 2;
+
+    /**
+     * Enveloppe la source de données auto-configurée. La connexion physique n'est obtenue qu'à la première
+     * instruction : le pool est choisi une fois la transaction (lecture seule ou non) et @UsePool connus.
+     */
+    @Bean
+    public static BeanPostProcessor routingDataSourcePostProcessor(Environment environment,
+                                                                   ObjectProvider<ReadReplicaRouter> replicaRouter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof HikariDataSource write)) {
+                    return bean;
+                }
+                Map<PoolProfile, HikariDataSource> pools = new EnumMap<>(PoolProfile.class);
+                pools.put(PoolProfile.WRITE, write);
+                pools.put(PoolProfile.INTERACTIVE_READ, derivedPool(write, PoolProfile.INTERACTIVE_READ, environment));
+                pools.put(PoolProfile.BATCH, derivedPool(write, PoolProfile.BATCH, environment));
+                PoolRoutingDataSource primary = new PoolRoutingDataSource(pools);
+
+                ReadReplicaRouter router = replicaRouter.getIfAvailable();
+                DataSource target = router == null ? primary : new ReadReplicaRoutingDataSource(primary, router);
+                return new RoutedDataSource(target, primary);
+            }
+        };
+    }
+
+    /** Active @UsePool sur les beans de l'application. */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor usePoolAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(AnnotationMatchingPointcut.forClassAnnotation(UsePool.class))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(UsePool.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new PoolProfileInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public MeterBinder connectionPoolMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            PoolRoutingDataSource routing = unwrap(dataSource.getIfAvailable());
+            if (routing == null) {
+                return;
+            }
+            routing.pools().forEach((profile, pool) -> {
+                if (pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null) {
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+                Gauge.builder("reservation.datasource.pool.saturation", pool, DataSourceRoutingConfig::saturation)
+                        .description("Connexions actives rapportées à la taille maximale du pool")
+                        .tag("pool", profile.poolName())
+                        .register(registry);
+            });
+        };
+    }
+
+    static HikariDataSource derivedPool(HikariDataSource write, PoolProfile profile, Environment environment) {
+        String prefix = POOLS_PREFIX + profile.poolName() + ".";
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(profile.poolName());
+        config.setJdbcUrl(write.getJdbcUrl());
+        config.setUsername(write.getUsername());
+        config.setPassword(write.getPassword());
+        if (write.getDriverClassName() != null) {
+            config.setDriverClassName(write.getDriverClassName());
+        }
+        config.setMaxLifetime(write.getMaxLifetime());
+        config.setIdleTimeout(write.getIdleTimeout());
+        config.setKeepaliveTime(write.getKeepaliveTime());
+        // Même politique que WRITE si la base est injoignable à la création (démarrage d'entraînement CDS notamment)
+        config.setInitializationFailTimeout(write.getInitializationFailTimeout());
+
+        int maximumPoolSize = environment.getProperty(prefix + "maximum-pool-size", Integer.class, write.getMaximumPoolSize());
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(environment.getProperty(prefix + "minimum-idle", Integer.class,
+                Math.min(DEFAULT_MINIMUM_IDLE, maximumPoolSize)));
+        config.setConnectionTimeout(environment.getProperty(prefix + "connection-timeout", Long.class,
+                write.getConnectionTimeout()));
+        config.setLeakDetectionThreshold(environment.getProperty(prefix + "leak-detection-threshold", Long.class,
+                write.getLeakDetectionThreshold()));
+
+        // Propriétés pgjdbc : cache de requêtes préparées, taille des blocs de lecture, nom visible dans pg_stat_activity
+        Properties properties = new Properties();
+        properties.putAll(write.getDataSourceProperties());
+        properties.setProperty("ApplicationName", "reservation-" + profile.poolName());
+        String statementCache = environment.getProperty(prefix + "prepared-statement-cache-queries");
+        if (statementCache != null) {
+            properties.setProperty("preparedStatementCacheQueries", statementCache);
+        }
+        String fetchSize = environment.getProperty(prefix + "default-row-fetch-size");
+        if (fetchSize != null) {
+            properties.setProperty("defaultRowFetchSize", fetchSize);
+        }
+        config.setDataSourceProperties(properties);
+        return new HikariDataSource(config);
+    }
+
+    private static PoolRoutingDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource != null && dataSource.isWrapperFor(PoolRoutingDataSource.class)
+                    ? dataSource.unwrap(PoolRoutingDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean == null ? 0.0 : (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+
+    /**
+     * Point d'entrée exposé comme bean dataSource ; ferme les pools du primaire à l'arrêt du contexte.
+     */
+    static final class RoutedDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final PoolRoutingDataSource pools;
+
+        RoutedDataSource(DataSource target, PoolRoutingDataSource pools) {
+            super(target);
+            this.pools = pools;
+        }
+
+        @Override
+        public void close() {
+            pools.close();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.reservation.config;
+
+import com.example.reservation.mapper.ListResponseJsonModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Sérialisation JSON rapide, ajoutée au JsonMapper de Spring Boot (modules déclarés comme beans) :
+ * Blackbird remplace la réflexion par des accesseurs générés (LambdaMetafactory) pour les DTOs générés,
+ * et les éléments des pages de liste passent par des sérialiseurs écrits à la main.
+ *
+ * Les réponses sont écrites par le convertisseur Jackson directement dans le flux de sortie de la réponse,
+ * sans String ni byte[] intermédiaire ; ne pas sérialiser une page en amont (writeValueAsString) dans un contrôleur.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reservation.json.fast-serialization.enabled", havingValue = "true", matchIfMissing = true)
+public class JsonSerializationConfig {
+
+    /** Désactivé dans l'image native (application-native.properties) : Blackbird y définirait des classes à l'exécution. */
+    @Bean
+    @ConditionalOnProperty(name = "reservation.json.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public ListResponseJsonModule listResponseJsonModule() {
+        return new ListResponseJsonModule();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.reservation.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Indications pour l'image native (profil Maven native), évaluées au traitement AOT :
+ * <ul>
+ *     <li>DTOs générés depuis openapi.yml : (dé)sérialisation Jackson, y compris des types imbriqués ;</li>
+ *     <li>entités et types du domaine (constructeurs et méthodes générés par Lombok), en complément
+ *     des indications JPA de Spring Boot ;</li>
+ *     <li>openapi.yml, lu depuis le classpath par OpenApiConfig.</li>
+ * </ul>
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String GENERATED_DTO_PACKAGE = "com.example.reservation.dto.generated";
+    static final String DOMAIN_PACKAGE = "com.example.reservation.domain";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        classesIn(GENERATED_DTO_PACKAGE, classLoader)
+                .forEach(type -> binding.registerReflectionHints(hints.reflection(), type));
+        classesIn(DOMAIN_PACKAGE, classLoader)
+                .forEach(type -> hints.reflection().registerType(type,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS));
+        hints.resources().registerPattern("openapi.yml");
+    }
+
+    /** Classes et énumérations du paquet (sous-paquets et classes imbriquées statiques compris). */
+    static List<Class<?>> classesIn(String basePackage, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        return scanner.findCandidateComponents(basePackage).stream()
+                .<Class<?>>map(definition -> ClassUtils.resolveClassName(definition.getBeanClassName(), classLoader))
+                .toList();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.reservation.config;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.OpenAPIV3Parser;
 import io.swagger.v3.parser.core.models.ParseOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
@@ -18,8 +19,12 @@ import java.nio.charset.StandardCharsets;
  *
  * Le fichier openapi.yml est la source de vérité pour l'API.
  * Les DTOs sont générés automatiquement depuis ce fichier via OpenAPI Generator.
+ *
+ * Inactive quand springdoc est désactivé (profil prod) : le contrat est alors servi pré-rendu
+ * par OpenApiDocumentController, sans analyse au démarrage.
  */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "true", matchIfMissing = true)
 public class OpenApiConfig {
 
     @Bean
@@ -0,0 +1,28 @@
+package com.example.reservation.config;
+
+/**
+ * Pools de connexions au primaire, choisis par @UsePool ou, à défaut, par la nature de la transaction
+ * (lecture seule : INTERACTIVE_READ, sinon WRITE). Réglages : reservation.datasource.pools.&lt;nom&gt;.*,
+ * spring.datasource.hikari.* pour WRITE (pool auto-configuré).
+ */
+public enum PoolProfile {
+
+    /** Lectures courtes des requêtes HTTP (listes paginées, contrôles d'autorisation) : attente courte. */
+    INTERACTIVE_READ("interactive-read"),
+
+    /** Transactions d'écriture (création de réservation, transitions, codes d'accès). */
+    WRITE("write"),
+
+    /** Exports non paginés et tâches de fond : pool réduit, attente longue, lectures par blocs. */
+    BATCH("batch");
+
+    private final String poolName;
+
+    PoolProfile(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public String poolName() {
+        return poolName;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.reservation.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Positionne le pool demandé par @UsePool pour le thread courant le temps de l'appel.
+ * La connexion étant obtenue paresseusement, c'est ce pool qui sert la première instruction de la transaction.
+ */
+public class PoolProfileInterceptor implements MethodInterceptor {
+
+    private static final ThreadLocal<PoolProfile> CURRENT = new ThreadLocal<>();
+
+    /** Pool demandé par l'appel @UsePool en cours, null sinon. */
+    static PoolProfile current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (CURRENT.get() != null) {
+            return invocation.proceed();
+        }
+        UsePool usePool = findAnnotation(invocation);
+        if (usePool == null) {
+            return invocation.proceed();
+        }
+        CURRENT.set(usePool.value());
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private static UsePool findAnnotation(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        UsePool usePool = AnnotatedElementUtils.findMergedAnnotation(method, UsePool.class);
+        if (usePool == null && targetClass != null) {
+            usePool = AnnotatedElementUtils.findMergedAnnotation(targetClass, UsePool.class);
+        }
+        return usePool;
+    }
+}
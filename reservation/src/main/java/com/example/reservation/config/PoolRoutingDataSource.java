@@ -0,0 +1,52 @@
+package com.example.reservation.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routage vers les pools du primaire (voir PoolProfile) : pool demandé par @UsePool,
+ * sinon INTERACTIVE_READ pour une transaction en lecture seule et WRITE pour le reste.
+ * Chaque pool a son propre plafond : un export lent sature au plus le pool BATCH.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<PoolProfile, HikariDataSource> pools;
+
+    public PoolRoutingDataSource(Map<PoolProfile, HikariDataSource> pools) {
+        this.pools = new EnumMap<>(pools);
+        setTargetDataSources(new LinkedHashMap<>(this.pools));
+        setDefaultTargetDataSource(this.pools.get(PoolProfile.WRITE));
+        afterPropertiesSet();
+    }
+
+    public HikariDataSource pool(PoolProfile profile) {
+        return pools.get(profile);
+    }
+
+    public Map<PoolProfile, HikariDataSource> pools() {
+        return pools;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        PoolProfile requested = PoolProfileInterceptor.current();
+        if (requested != null) {
+            return requested;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PoolProfile.INTERACTIVE_READ;
+        }
+        return PoolProfile.WRITE;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.reservation.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Lectures sur réplicas PostgreSQL (réplication en flux) : les transactions @Transactional(readOnly = true)
+ * des services sont routées vers un réplica sain, le reste (écritures, Flyway, tâches planifiées) vers le primaire.
+ * Désactivé par défaut (reservation.datasource.replicas.enabled) ; la source de données routée est assemblée
+ * par DataSourceRoutingConfig.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reservation.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadReplicaRouter readReplicaRouter(
+            @Value("${reservation.datasource.replicas.urls}") List<String> urls,
+            @Value("${reservation.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${reservation.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${reservation.datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${reservation.datasource.replicas.max-lag:2s}") Duration maxLag,
+            @Value("${reservation.datasource.replicas.max-receiver-silence:60s}") Duration maxReceiverSilence,
+            @Value("${reservation.datasource.replicas.sticky-window:5s}") Duration stickyWindow
+    ) {
+        ReadReplicaRouter router = new ReadReplicaRouter(urls, username, password, poolSize, maxLag, maxReceiverSilence,
+                stickyWindow);
+        router.checkReplicas();
+        return router;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.reservation.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Choix de la base pour chaque connexion : les transactions en lecture seule vont sur un réplica sain
+ * (tourniquet), tout le reste sur le primaire.
+ * Un réplica est écarté tant que son retard de rejeu dépasse max-lag, qu'il ne répond pas ou que son récepteur
+ * de WAL n'est pas en flux avec un message du primaire reçu depuis moins de max-receiver-silence (contrôle périodique) :
+ * un réplica déconnecté a rejoué tout ce qu'il a reçu et paraîtrait sinon à jour. Le statut du récepteur
+ * (pg_stat_wal_receiver) n'est visible que d'un superutilisateur ou d'un rôle membre de pg_read_all_stats ;
+ * pour un autre utilisateur, le réplica reste écarté.
+ * Lecture de ses propres écritures : pendant sticky-window après la validation d'une transaction d'écriture,
+ * les lectures du même utilisateur restent sur le primaire. Le suivi est local à l'instance.
+ */
+@Slf4j
+public class ReadReplicaRouter implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    // État du réplica : en récupération, récepteur de WAL en flux et récent, retard de rejeu en millisecondes
+    // (nul si tout le WAL reçu est rejoué)
+    private static final String STATUS_SQL = """
+            SELECT pg_is_in_recovery() AS in_recovery,
+                   EXISTS (SELECT 1 FROM pg_stat_wal_receiver
+                           WHERE status = 'streaming'
+                             AND last_msg_receipt_time >= clock_timestamp() - make_interval(secs => ?)) AS streaming,
+                   CASE
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END AS lag_ms
+            """;
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration maxReceiverSilence;
+    private final Duration stickyWindow;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Instant> recentWriters = new ConcurrentHashMap<>();
+
+    public ReadReplicaRouter(List<String> urls, String username, String password, int poolSize,
+                             Duration maxLag, Duration maxReceiverSilence, Duration stickyWindow) {
+        this.maxLag = maxLag;
+        this.maxReceiverSilence = maxReceiverSilence;
+        this.stickyWindow = stickyWindow;
+        this.replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(urls.get(i));
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            config.setReadOnly(true);
+            // Un réplica injoignable ne doit pas bloquer le démarrage : il est écarté jusqu'au prochain contrôle
+            config.setInitializationFailTimeout(-1);
+            config.setConnectionTimeout(2000);
+            replicas.add(new Replica("replica-" + i, new HikariDataSource(config)));
+        }
+    }
+
+    /** Sources de données des réplicas, indexées par clé de routage. */
+    Map<Object, Object> replicaDataSources() {
+        Map<Object, Object> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.key, replica.dataSource));
+        return dataSources;
+    }
+
+    /**
+     * Clé de routage de la connexion demandée. Appelée à la première instruction de la transaction
+     * (connexion paresseuse), une fois ses attributs lecture seule / synchronisation positionnés.
+     */
+    Object lookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite(user);
+            return PRIMARY;
+        }
+        if (user != null && isSticky(user)) {
+            return PRIMARY;
+        }
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size())).key;
+    }
+
+    /**
+     * Mesure le retard de chaque réplica et met à jour son état ; purge le suivi des écritures expiré.
+     */
+    @Scheduled(fixedDelayString = "${reservation.datasource.replicas.lag-check-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try {
+                ReplicaStatus status = new JdbcTemplate(replica.dataSource).queryForObject(STATUS_SQL,
+                        (rs, rowNum) -> new ReplicaStatus(
+                                rs.getBoolean("in_recovery"), rs.getBoolean("streaming"), rs.getDouble("lag_ms")),
+                        maxReceiverSilence.toMillis() / 1000.0);
+                if (!status.inRecovery()) {
+                    log.warn("{} n'est pas en réplication, écarté", replica.key);
+                    healthy = false;
+                } else if (!status.streaming()) {
+                    log.debug("{} : récepteur de WAL déconnecté ou silencieux", replica.key);
+                    healthy = false;
+                } else {
+                    replica.lag = Duration.ofMillis((long) status.lagMillis());
+                    healthy = replica.lag.compareTo(maxLag) <= 0;
+                }
+            } catch (RuntimeException e) {
+                log.debug("{} injoignable : {}", replica.key, e.getMessage());
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("{} {} (retard {} ms)", replica.key, healthy ? "réintégré" : "écarté", replica.lag.toMillis());
+            }
+            replica.healthy = healthy;
+        }
+
+        Instant now = Instant.now();
+        recentWriters.values().removeIf(until -> until.isBefore(now));
+    }
+
+    /** true si au moins un réplica reçoit actuellement les lectures. */
+    public boolean hasHealthyReplica() {
+        return replicas.stream().anyMatch(replica -> replica.healthy);
+    }
+
+    private boolean isSticky(String user) {
+        Instant until = recentWriters.get(user);
+        return until != null && until.isAfter(Instant.now());
+    }
+
+    private void trackWrite(String user) {
+        if (user == null || stickyWindow.isZero() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Instant.now().plus(stickyWindow));
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private record ReplicaStatus(boolean inRecovery, boolean streaming, double lagMillis) {
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+        private volatile Duration lag = Duration.ZERO;
+
+        private Replica(String key, HikariDataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.reservation.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Source de données routée primaire / réplicas, la clé étant choisie par ReadReplicaRouter.
+ * À envelopper dans un LazyConnectionDataSourceProxy : la connexion ne doit être demandée qu'une fois
+ * la transaction déclarée (lecture seule ou non) auprès de TransactionSynchronizationManager.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadReplicaRouter router;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReadReplicaRouter router) {
+        this.router = router;
+        Map<Object, Object> targets = new LinkedHashMap<>(router.replicaDataSources());
+        targets.put(ReadReplicaRouter.PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return router.lookupKey();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.reservation.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches planifiées. Actives par défaut : fin et annulation automatiques des réservations,
+ * maintenance des partitions, archivage, relais de l'outbox, contrôle du retard des réplicas et
+ * battements des flux. Désactivées par défaut (cron "-") : reconstruction des agrégats et migration
+ * vers la table partitionnée. Chaque planification se règle par sa propriété reservation.*.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
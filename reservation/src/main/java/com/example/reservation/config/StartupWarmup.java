@@ -0,0 +1,384 @@
+package com.example.reservation.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClient;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Préchauffage au démarrage, avant que l'instance ne se déclare prête : les ApplicationRunner s'exécutent
+ * avant l'état de disponibilité ACCEPTING_TRAFFIC, la sonde /actuator/health/readiness reste donc
+ * OUT_OF_SERVICE jusqu'à la fin du préchauffage.
+ * <ol>
+ *     <li>ouverture des pools du primaire jusqu'à leur taille minimale ;</li>
+ *     <li>exécution des méthodes de requête en lecture des dépôts Spring Data (JPQL, dérivées, natives)
+ *     avec des arguments synthétiques (identifiants aléatoires, sub inexistant, page d'une ligne), dans une
+ *     transaction annulée : analyse et plan Hibernate, requêtes préparées pgjdbc. Les méthodes non paginées
+ *     dont les arguments ne sont que des énumérations ou des booléens (findByStatus...) sont ignorées :
+ *     avec le premier statut d'une énumération, rien ne borne ce qu'elles lisent ;</li>
+ *     <li>tours de requêtes synthétiques jusqu'à stabilisation du p99 : endpoints publics par HTTP
+ *     et expressions @PreAuthorize des contrôleurs, analysées puis évaluées par le
+ *     MethodSecurityExpressionHandler (service authz compris) sur un identifiant inexistant,
+ *     sans appeler le contrôleur.</li>
+ * </ol>
+ * Métriques : reservation.warmup.duration, reservation.warmup.time.to.stable.p99 (depuis le lancement
+ * de la JVM), reservation.warmup.p99 et reservation.warmup.request (latence des requêtes synthétiques).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reservation.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmup implements ApplicationRunner {
+
+    static final String WARMUP_SUB = "startup-warmup";
+
+    private final ApplicationContext applicationContext;
+    private final MethodSecurityExpressionHandler expressionHandler;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final Environment environment;
+    private final Timer requestTimer;
+    private final int maxRounds;
+    private final int requestsPerRound;
+    private final double p99Tolerance;
+
+    private final AtomicLong durationMillis = new AtomicLong(-1);
+    private final AtomicLong timeToStableP99Millis = new AtomicLong(-1);
+    private final AtomicLong stableP99Nanos = new AtomicLong(-1);
+    private volatile Instant completedAt;
+
+    public StartupWarmup(
+            ApplicationContext applicationContext,
+            ObjectProvider<MethodSecurityExpressionHandler> expressionHandler,
+            DataSource dataSource,
+            TransactionTemplate transactionTemplate,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.warmup.max-rounds:20}") int maxRounds,
+            @Value("${reservation.warmup.requests-per-round:20}") int requestsPerRound,
+            @Value("${reservation.warmup.p99-tolerance:0.1}") double p99Tolerance
+    ) {
+        this.applicationContext = applicationContext;
+        this.expressionHandler = expressionHandler.getIfAvailable(() -> {
+            DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+            handler.setApplicationContext(applicationContext);
+            return handler;
+        });
+        this.dataSource = dataSource;
+        this.transactionTemplate = transactionTemplate;
+        this.environment = environment;
+        this.maxRounds = maxRounds;
+        this.requestsPerRound = requestsPerRound;
+        this.p99Tolerance = p99Tolerance;
+        this.requestTimer = Timer.builder("reservation.warmup.request")
+                .description("Latence des requêtes synthétiques du préchauffage")
+                .register(meterRegistry);
+        TimeGauge.builder("reservation.warmup.duration", durationMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Durée du préchauffage au démarrage")
+                .register(meterRegistry);
+        TimeGauge.builder("reservation.warmup.time.to.stable.p99", timeToStableP99Millis, TimeUnit.MILLISECONDS,
+                        AtomicLong::get)
+                .description("Délai entre le lancement de la JVM et la stabilisation du p99 des requêtes synthétiques")
+                .register(meterRegistry);
+        TimeGauge.builder("reservation.warmup.p99", stableP99Nanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("p99 des requêtes synthétiques au dernier tour du préchauffage")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.nanoTime();
+
+        int connections = openPools();
+        int queries = compileRepositoryQueries();
+        List<Runnable> requests = new ArrayList<>(httpRequests());
+        requests.addAll(securedCalls());
+
+        long previousP99 = 0;
+        long p99 = 0;
+        int round = 0;
+        while (round < maxRounds && !requests.isEmpty()) {
+            round++;
+            p99 = runRound(requests);
+            // Stable : écart au tour précédent inférieur à la tolérance
+            if (round > 1 && Math.abs(p99 - previousP99) <= previousP99 * p99Tolerance) {
+                break;
+            }
+            previousP99 = p99;
+        }
+
+        stableP99Nanos.set(p99);
+        timeToStableP99Millis.set(ManagementFactory.getRuntimeMXBean().getUptime());
+        durationMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        completedAt = Instant.now();
+        log.info("Préchauffage terminé en {} ms : {} connexion(s) ouverte(s), {} requête(s) de dépôt compilée(s), "
+                        + "p99 stable à {} µs après {} tour(s), {} ms après le lancement de la JVM",
+                durationMillis.get(), connections, queries, TimeUnit.NANOSECONDS.toMicros(p99), round,
+                timeToStableP99Millis.get());
+    }
+
+    /** Instant de fin du préchauffage, null tant qu'il est en cours. */
+    public Instant completedAt() {
+        return completedAt;
+    }
+
+    /**
+     * Emprunte simultanément minimumIdle connexions de chaque pool du primaire puis les rend :
+     * les connexions sont établies avant la première requête au lieu de l'être en tâche de fond.
+     */
+    private int openPools() {
+        PoolRoutingDataSource routing;
+        try {
+            if (!dataSource.isWrapperFor(PoolRoutingDataSource.class)) {
+                return 0;
+            }
+            routing = dataSource.unwrap(PoolRoutingDataSource.class);
+        } catch (SQLException e) {
+            return 0;
+        }
+
+        int opened = 0;
+        for (HikariDataSource pool : routing.pools().values()) {
+            List<Connection> held = new ArrayList<>();
+            try {
+                while (held.size() < pool.getMinimumIdle()) {
+                    held.add(pool.getConnection());
+                }
+            } catch (SQLException e) {
+                log.warn("Préchauffage : pool {} ouvert à {} connexion(s) sur {} ({})",
+                        pool.getPoolName(), held.size(), pool.getMinimumIdle(), e.getMessage());
+            } finally {
+                opened += held.size();
+                held.forEach(StartupWarmup::closeQuietly);
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * Exécute chaque méthode de requête bornée en lecture, une transaction annulée par requête :
+     * une erreur SQL n'interrompt pas le préchauffage des suivantes.
+     */
+    private int compileRepositoryQueries() {
+        Repositories repositories = new Repositories(applicationContext);
+        int compiled = 0;
+        for (Class<?> domainType : repositories) {
+            Object repository = repositories.getRepositoryFor(domainType).orElse(null);
+            RepositoryInformation information = repositories.getRepositoryInformationFor(domainType).orElse(null);
+            if (repository == null || information == null) {
+                continue;
+            }
+            for (Method method : information.getQueryMethods()) {
+                if (isWrite(method) || !isBounded(method)) {
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        status.setRollbackOnly();
+                        ReflectionUtils.invokeMethod(method, repository, syntheticArguments(method));
+                    });
+                    compiled++;
+                } catch (RuntimeException e) {
+                    log.debug("Préchauffage : {}.{} non exécutée ({})",
+                            information.getRepositoryInterface().getSimpleName(), method.getName(), e.getMessage());
+                }
+            }
+        }
+        return compiled;
+    }
+
+    private static boolean isWrite(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Modifying.class)
+                || method.getName().startsWith("delete")
+                || method.getName().startsWith("remove");
+    }
+
+    /**
+     * Ce que lit la requête est borné par le Pageable synthétique (une ligne) ou par un argument sélectif
+     * (identifiant aléatoire, sub inexistant...) ; pas par des énumérations ou des booléens seuls.
+     */
+    static boolean isBounded(Method method) {
+        return Arrays.stream(method.getParameterTypes())
+                .anyMatch(type -> type == Pageable.class || !(type.isEnum() || type == boolean.class || type == Boolean.class));
+    }
+
+    /** Endpoints publics, par HTTP, quand le serveur web écoute (absent des tests sans serveur). */
+    private List<Runnable> httpRequests() {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null || port <= 0) {
+            return List.of();
+        }
+        RestClient restClient = RestClient.create("http://localhost:" + port);
+        return List.of(
+                () -> get(restClient, "/api/public/ping"),
+                () -> get(restClient, "/api/properties?size=1"),
+                () -> get(restClient, "/api/properties/" + UUID.randomUUID())
+        );
+    }
+
+    private static void get(RestClient restClient, String uri) {
+        restClient.get().uri(uri).exchange((request, response) -> response.getStatusCode());
+    }
+
+    /**
+     * Un appel par méthode @PreAuthorize des contrôleurs : l'expression est analysée une fois, puis évaluée
+     * à chaque tour pour une authentification JWT synthétique (le service authz lève EntityNotFoundException
+     * pour l'identifiant synthétique). Le contrôleur n'est jamais appelé.
+     */
+    private List<Runnable> securedCalls() {
+        List<Runnable> calls = new ArrayList<>();
+        Authentication authentication = syntheticAuthentication();
+        applicationContext.getBeansWithAnnotation(RestController.class).values().forEach(bean -> {
+            ReflectionUtils.doWithMethods(AopUtils.getTargetClass(bean), method -> {
+                PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(method, PreAuthorize.class);
+                Expression expression = expressionHandler.getExpressionParser().parseExpression(preAuthorize.value());
+                calls.add(() -> ExpressionUtils.evaluateAsBoolean(expression, expressionHandler.createEvaluationContext(
+                        () -> authentication, new SimpleMethodInvocation(bean, method, syntheticArguments(method)))));
+            }, method -> AnnotatedElementUtils.hasAnnotation(method, PreAuthorize.class));
+        });
+        return calls;
+    }
+
+    private static Authentication syntheticAuthentication() {
+        Instant now = Instant.now();
+        Jwt jwt = Jwt.withTokenValue(WARMUP_SUB)
+                .header("alg", "none")
+                .subject(WARMUP_SUB)
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of());
+    }
+
+    private long runRound(List<Runnable> requests) {
+        long[] latencies = new long[requestsPerRound * requests.size()];
+        int i = 0;
+        for (int n = 0; n < requestsPerRound; n++) {
+            for (Runnable request : requests) {
+                long startedAt = System.nanoTime();
+                try {
+                    request.run();
+                } catch (RuntimeException e) {
+                    log.debug("Préchauffage : requête synthétique en échec ({})", e.getMessage());
+                }
+                latencies[i] = System.nanoTime() - startedAt;
+                requestTimer.record(latencies[i], TimeUnit.NANOSECONDS);
+                i++;
+            }
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+    }
+
+    /** Arguments plausibles par type ; identifiants aléatoires, donc inexistants. */
+    private static Object[] syntheticArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (Collection.class.isAssignableFrom(types[i])) {
+                Class<?> element = ResolvableType.forMethodParameter(method, i).asCollection().resolveGeneric(0);
+                Object value = element == null ? null : syntheticValue(element);
+                arguments[i] = value == null ? List.of()
+                        : Set.class.isAssignableFrom(types[i]) ? Set.of(value) : List.of(value);
+            } else {
+                arguments[i] = syntheticValue(types[i]);
+            }
+        }
+        return arguments;
+    }
+
+    private static Object syntheticValue(Class<?> type) {
+        if (type == UUID.class) {
+            return UUID.randomUUID();
+        }
+        if (type == String.class) {
+            return WARMUP_SUB;
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == Instant.class) {
+            return Instant.now();
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.ONE;
+        }
+        if (type == int.class || type == Integer.class) {
+            return 1;
+        }
+        if (type == long.class || type == Long.class) {
+            return 1L;
+        }
+        if (type == double.class || type == Double.class) {
+            return 0.0;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return false;
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 1);
+        }
+        if (type == Sort.class) {
+            return Sort.unsorted();
+        }
+        return null;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Préchauffage : fermeture de connexion en échec ({})", e.getMessage());
+        }
+    }
+}
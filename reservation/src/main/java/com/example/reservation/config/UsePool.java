@@ -0,0 +1,19 @@
+package com.example.reservation.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pool de connexions à utiliser pendant l'exécution de la méthode (ou de toutes les méthodes de la classe).
+ * L'appel le plus externe l'emporte : une méthode annotée appelée depuis une autre garde le pool de l'appelant.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsePool {
+
+    PoolProfile value();
+}
@@ -0,0 +1,55 @@
+package com.example.reservation.controller;
+
+import com.example.reservation.dto.generated.ImportSummaryResponse;
+import com.example.reservation.mapper.DtoMapper;
+import com.example.reservation.service.imports.BulkImportService;
+import com.example.reservation.service.imports.ImportFormat;
+import com.example.reservation.service.imports.ImportKind;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final BulkImportService bulkImportService;
+
+    @PostMapping(value = "/properties", consumes = {ImportFormat.TEXT_CSV_VALUE, ImportFormat.APPLICATION_NDJSON_VALUE})
+    public ImportSummaryResponse importProperties(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        return DtoMapper.toImportSummaryResponse(
+                bulkImportService.importStream(ImportKind.PROPERTIES, ImportFormat.of(contentType), body, jwt.getSubject())
+        );
+    }
+
+    @PostMapping(value = "/reservations", consumes = {ImportFormat.TEXT_CSV_VALUE, ImportFormat.APPLICATION_NDJSON_VALUE})
+    public ImportSummaryResponse importReservations(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        return DtoMapper.toImportSummaryResponse(
+                bulkImportService.importStream(ImportKind.RESERVATIONS, ImportFormat.of(contentType), body, jwt.getSubject())
+        );
+    }
+
+    @GetMapping(value = "/{id}/report", produces = ImportFormat.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("@authz.isImportOwner(#id, authentication.name)")
+    public StreamingResponseBody getImportReport(@PathVariable UUID id) {
+        ImportKind kind = bulkImportService.findKind(id);
+        return output -> bulkImportService.writeReport(id, kind, output);
+    }
+}
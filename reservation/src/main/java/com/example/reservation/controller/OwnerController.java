@@ -0,0 +1,47 @@
+package com.example.reservation.controller;
+
+import com.example.reservation.dto.generated.OwnerDailyStatsResponse;
+import com.example.reservation.dto.generated.OwnerStatsResponse;
+import com.example.reservation.mapper.DtoMapper;
+import com.example.reservation.service.OwnerStatsService;
+import com.example.reservation.service.ReservationRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/owners")
+@RequiredArgsConstructor
+public class OwnerController {
+
+    private final OwnerStatsService ownerStatsService;
+    private final ReservationRollupService rollupService;
+
+    @GetMapping("/me/stats")
+    public OwnerStatsResponse getMyStats(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return DtoMapper.toOwnerStatsResponse(
+                ownerStatsService.computeStats(jwt.getSubject(), from, to)
+        );
+    }
+
+    @GetMapping("/me/stats/daily")
+    public OwnerDailyStatsResponse getMyDailyStats(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return DtoMapper.toOwnerDailyStatsResponse(
+                from,
+                to,
+                rollupService.dailyStatsForOwner(jwt.getSubject(), from, to)
+        );
+    }
+}
@@ -58,7 +58,7 @@ public class PropertyAccessCodeController {
                 request.getPropertyId(),
                 request.getEmail(),
                 jwt.getSubject(),
-                request.getExpiresAt() != null ? request.getExpiresAt().toInstant() : null
+                request.getExpiresAt()
         );
 
         PropertyAccessCode code = result.accessCode();
@@ -1,5 +1,6 @@
 package com.example.reservation.controller;
 
+import com.example.reservation.api.PropertyResponseCache;
 import com.example.reservation.domain.property.Property;
 import com.example.reservation.dto.generated.PageResponsePropertyListResponse;
 import com.example.reservation.dto.generated.PropertyCreateRequest;
@@ -12,13 +13,20 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,25 +36,36 @@ import java.util.UUID;
 public class PropertyController {
 
     private final PropertyService propertyService;
+    private final PropertyResponseCache responseCache;
 
     @GetMapping
     public PageResponsePropertyListResponse getActiveProperties(
             @RequestParam(required = false) String city,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
             @RequestParam(defaultValue = "false") boolean unpaged,
-            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
+            // Pas de tri par défaut ici : un tri explicite est refusé avec lat/lon, createdAt est appliqué par le service
+            @PageableDefault(size = 20) Pageable pageable
     ) {
+        PropertyService.PropertySearchCriteria criteria = new PropertyService.PropertySearchCriteria(
+                city, minPrice, maxPrice, lat, lon, radiusKm
+        );
+
         if (unpaged) {
-            List<Property> properties = city != null
-                    ? propertyService.findActivePropertiesByCity(city)
-                    : propertyService.findActiveProperties();
-            return DtoMapper.toPropertyListPage(properties);
+            List<Property> properties = propertyService.searchActiveProperties(criteria);
+            return criteria.hasLocation()
+                    ? DtoMapper.toPropertyListPage(properties, lat, lon)
+                    : DtoMapper.toPropertyListPage(properties);
         }
 
-        Page<Property> properties = city != null
-                ? propertyService.findActivePropertiesByCity(city, pageable)
-                : propertyService.findActiveProperties(pageable);
+        Page<Property> properties = propertyService.searchActiveProperties(criteria, pageable);
 
-        return DtoMapper.toPropertyListPage(properties);
+        return criteria.hasLocation()
+                ? DtoMapper.toPropertyListPage(properties, lat, lon)
+                : DtoMapper.toPropertyListPage(properties);
     }
 
     @GetMapping("/mine")
@@ -66,9 +85,17 @@ public class PropertyController {
         );
     }
 
+    /**
+     * Clients JSON : corps mis en cache et précompressé (PropertyResponseCache), revalidé par ETag.
+     * Les autres formats négociés (CBOR) passent par les convertisseurs.
+     */
     @GetMapping("/{id}")
-    public PropertyResponse getProperty(@PathVariable UUID id) {
-        return DtoMapper.toPropertyResponse(propertyService.findById(id));
+    public ResponseEntity<?> getProperty(@PathVariable UUID id, WebRequest request) {
+        Property property = propertyService.findById(id);
+        if (!acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            return ResponseEntity.ok(DtoMapper.toPropertyResponse(property));
+        }
+        return responseCache.get(property).serve(request, CacheControl.noCache().cachePublic());
     }
 
     @PostMapping
@@ -81,7 +108,9 @@ public class PropertyController {
                 request.getTitle(),
                 request.getDescription(),
                 request.getCity(),
-                request.getPricePerNight()
+                request.getPricePerNight(),
+                request.getLatitude(),
+                request.getLongitude()
         );
 
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -99,7 +128,9 @@ public class PropertyController {
                 request.getTitle(),
                 request.getDescription(),
                 request.getCity(),
-                request.getPricePerNight()
+                request.getPricePerNight(),
+                request.getLatitude(),
+                request.getLongitude()
         );
 
         return DtoMapper.toPropertyResponse(property);
@@ -123,4 +154,24 @@ public class PropertyController {
         propertyService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * true si JSON est le meilleur format accepté : les types sont triés par qualité puis spécificité, comme
+     * pour la négociation de contenu, et le premier type produit (JSON ou CBOR) l'emporte.
+     * Accept: application/cbor, *&#47;*;q=0.1 choisit donc CBOR, même si *&#47;* est compatible avec JSON.
+     */
+    private static boolean acceptsJson(String accept) {
+        if (accept == null) {
+            return true;
+        }
+        List<MediaType> types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        MimeTypeUtils.sortBySpecificity(types);
+        return types.stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .filter(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON)
+                        || type.isCompatibleWith(MediaType.APPLICATION_CBOR))
+                .findFirst()
+                .map(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON))
+                .orElse(false);
+    }
 }
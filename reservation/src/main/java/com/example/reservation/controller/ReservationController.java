@@ -2,23 +2,31 @@ package com.example.reservation.controller;
 
 import com.example.reservation.domain.reservation.Reservation;
 import com.example.reservation.dto.generated.PageResponseReservationListResponse;
+import com.example.reservation.dto.generated.ReservationBatchRequest;
+import com.example.reservation.dto.generated.ReservationBatchResponse;
 import com.example.reservation.dto.generated.ReservationCreateRequest;
 import com.example.reservation.dto.generated.ReservationDiscountRequest;
 import com.example.reservation.dto.generated.ReservationFreeStayRequest;
 import com.example.reservation.dto.generated.ReservationResponse;
 import com.example.reservation.mapper.DtoMapper;
+import com.example.reservation.service.PendingReservationStreamService;
+import com.example.reservation.service.ReservationHistoryService;
 import com.example.reservation.service.ReservationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -27,15 +35,24 @@ import java.util.UUID;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final ReservationHistoryService historyService;
+    private final PendingReservationStreamService pendingStreamService;
 
     // ===== Tenant endpoints =====
 
     @GetMapping("/mine")
     public PageResponseReservationListResponse getMyReservations(
             @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(defaultValue = "false") boolean unpaged,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
     ) {
+        if (from != null) {
+            return DtoMapper.toReservationHistoryPage(
+                    historyService.findByTenant(jwt.getSubject(), from, unpaged ? Pageable.unpaged(pageable.getSort()) : pageable)
+            );
+        }
+
         if (unpaged) {
             return DtoMapper.toReservationListPage(
                     reservationService.findByTenant(jwt.getSubject())
@@ -74,9 +91,16 @@ public class ReservationController {
     @GetMapping("/owner")
     public PageResponseReservationListResponse getReservationsForMyProperties(
             @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(defaultValue = "false") boolean unpaged,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
     ) {
+        if (from != null) {
+            return DtoMapper.toReservationHistoryPage(
+                    historyService.findByPropertyOwner(jwt.getSubject(), from, unpaged ? Pageable.unpaged(pageable.getSort()) : pageable)
+            );
+        }
+
         if (unpaged) {
             return DtoMapper.toReservationListPage(
                     reservationService.findByPropertyOwner(jwt.getSubject())
@@ -105,6 +129,44 @@ public class ReservationController {
         );
     }
 
+    /**
+     * Flux SSE des créations, confirmations et annulations sur les propriétés de l'utilisateur,
+     * avec reprise à partir de l'en-tête Last-Event-ID envoyé automatiquement par EventSource.
+     */
+    @GetMapping(value = "/owner/pending/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPendingReservationsForMyProperties(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return pendingStreamService.subscribe(jwt.getSubject(), parseEventId(lastEventId));
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            // Identifiant inconnu : pas de rejeu, le client reçoit les événements à venir
+            return null;
+        }
+    }
+
+    /**
+     * Transitions en lot (confirmation, fin de séjour, annulation) sur les réservations de mes propriétés.
+     * Le contrôle de propriété est fait élément par élément dans le service, en une seule requête.
+     */
+    @PostMapping("/batch")
+    public ReservationBatchResponse applyBatch(
+            @AuthenticationPrincipal Jwt jwt,
+            @Valid @RequestBody ReservationBatchRequest request
+    ) {
+        return DtoMapper.toReservationBatchResponse(
+                reservationService.applyBatch(jwt.getSubject(), DtoMapper.toBatchItems(request))
+        );
+    }
+
     @PostMapping("/{id}/confirm")
     @PreAuthorize("@authz.isReservationPropertyOwner(#id, authentication.name)")
     public ReservationResponse confirmReservation(@PathVariable UUID id) {
@@ -0,0 +1,106 @@
+package com.example.reservation.domain.outbox;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    private UUID id;
+
+    @NotBlank
+    @Size(max = 32)
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    @NotNull
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 64)
+    private OutboxEventType eventType;
+
+    /** Charge utile JSON de l'événement. */
+    @NotBlank
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    /** Échéance de la prochaine tentative : création, fin de bail du relais ou reprise après échec. */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    /** Renseigné quand l'événement est écarté après le nombre maximal de tentatives. */
+    @Column(name = "dead_lettered_at")
+    private Instant deadLetteredAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Size(max = 500)
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // ===== Lifecycle =====
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    // ===== Helpers =====
+
+    public void markPublished() {
+        this.publishedAt = Instant.now();
+        this.lastError = null;
+    }
+
+    /** Réserve l'événement pour un relais jusqu'à l'instant donné, le temps de sa publication. */
+    public void lease(Instant until) {
+        this.nextAttemptAt = until;
+    }
+
+    /**
+     * Compte l'échec : l'événement est replanifié après retryDelay, ou écarté à la dernière tentative.
+     */
+    public void markFailed(String error, int maxAttempts, Duration retryDelay) {
+        Instant now = Instant.now();
+        this.attempts++;
+        this.lastError = error == null || error.length() <= 500 ? error : error.substring(0, 500);
+        if (this.attempts >= maxAttempts) {
+            this.deadLetteredAt = now;
+        } else {
+            this.nextAttemptAt = now.plus(retryDelay);
+        }
+    }
+
+    public boolean isDeadLettered() {
+        return deadLetteredAt != null;
+    }
+}
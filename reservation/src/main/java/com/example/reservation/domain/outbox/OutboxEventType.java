@@ -0,0 +1,21 @@
+package com.example.reservation.domain.outbox;
+
+public enum OutboxEventType {
+    RESERVATION_CREATED("RESERVATION"),
+    RESERVATION_CONFIRMED("RESERVATION"),
+    RESERVATION_CANCELLED("RESERVATION"),
+    RESERVATION_COMPLETED("RESERVATION"),
+    ACCESS_CODE_CREATED("ACCESS_CODE"),
+    ACCESS_CODE_REDEEMED("ACCESS_CODE"),
+    ACCESS_CODE_REVOKED("ACCESS_CODE");
+
+    private final String aggregateType;
+
+    OutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.reservation.domain.property;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Encodage geohash (base32) et utilitaires de distance pour la recherche par rayon.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private GeoHash() {}
+
+    public static String encode(double latitude, double longitude) {
+        return encode(latitude, longitude, MAX_PRECISION);
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Cellules geohash (cellule du centre + 8 voisines) couvrant entièrement le cercle demandé.
+     * La précision retenue est la plus fine dont une cellule reste plus grande que le rayon.
+     * Retourne un ensemble vide si le rayon est trop grand pour être couvert par 9 cellules.
+     */
+    public static Set<String> coveringCells(double latitude, double longitude, double radiusKm) {
+        double latDelta = latitudeDelta(radiusKm);
+        double lonDelta = longitudeDelta(latitude, radiusKm);
+
+        int precision = 0;
+        for (int p = 1; p <= MAX_PRECISION; p++) {
+            if (latitudeSpan(p) < latDelta || longitudeSpan(p) < lonDelta) {
+                break;
+            }
+            precision = p;
+        }
+        if (precision == 0) {
+            return Set.of();
+        }
+
+        double latSpan = latitudeSpan(precision);
+        double lonSpan = longitudeSpan(precision);
+        Set<String> cells = new LinkedHashSet<>();
+        for (int dy = -1; dy <= 1; dy++) {
+            double lat = Math.max(-90, Math.min(90, latitude + dy * latSpan));
+            for (int dx = -1; dx <= 1; dx++) {
+                cells.add(encode(lat, wrapLongitude(longitude + dx * lonSpan), precision));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Demi-hauteur (en degrés) de la boîte englobant un cercle de rayon donné.
+     */
+    public static double latitudeDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    /**
+     * Demi-largeur (en degrés) de la boîte englobant un cercle de rayon donné.
+     */
+    public static double longitudeDelta(double latitude, double radiusKm) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        return cos < 1e-6 ? 360 : radiusKm / (KM_PER_DEGREE * cos);
+    }
+
+    /**
+     * Distance orthodromique (formule de haversine) en kilomètres.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private static double latitudeSpan(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    private static double longitudeSpan(int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude >= 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+}
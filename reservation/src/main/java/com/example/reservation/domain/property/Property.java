@@ -27,7 +27,7 @@ public class Property {
 
     @Id
     @GeneratedValue
-    @UuidGenerator
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private UUID id;
 
     @NotBlank
@@ -60,6 +60,26 @@ public class Property {
     @Column(nullable = false, length = 16)
     private PropertyStatus status;
 
+    // ===== Localisation =====
+
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    @Column(name = "longitude")
+    private Double longitude;
+
+    /**
+     * Geohash dérivé de latitude/longitude, indexé pour la recherche par rayon.
+     */
+    @Setter(AccessLevel.NONE)
+    @Size(max = 12)
+    @Column(name = "geohash", length = 12)
+    private String geohash;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -86,11 +106,17 @@ public class Property {
         if (this.status == null) {
             this.status = PropertyStatus.ACTIVE;
         }
+        refreshGeohash();
     }
 
     @PreUpdate
     void onUpdate() {
         this.updatedAt = Instant.now();
+        refreshGeohash();
+    }
+
+    private void refreshGeohash() {
+        this.geohash = hasLocation() ? GeoHash.encode(latitude, longitude) : null;
     }
 
     // ===== Helpers (lecture seule) =====
@@ -99,6 +125,10 @@ public class Property {
         return this.status == PropertyStatus.ACTIVE;
     }
 
+    public boolean hasLocation() {
+        return this.latitude != null && this.longitude != null;
+    }
+
     public boolean isOwnedBy(String userSub) {
         return this.ownerSub != null && this.ownerSub.equals(userSub);
     }
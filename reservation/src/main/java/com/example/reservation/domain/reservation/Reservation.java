@@ -18,20 +18,24 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
+// Les index partiels (réservations actives, options en cours) sont déclarés dans les migrations Flyway
 @Table(
         name = "reservations",
         indexes = {
                 @Index(name = "idx_reservations_tenant_sub", columnList = "tenant_sub"),
                 @Index(name = "idx_reservations_property_id", columnList = "property_id"),
-                @Index(name = "idx_reservations_dates", columnList = "property_id,start_date,end_date"),
                 @Index(name = "idx_reservations_pricing_type", columnList = "pricing_type")
         }
 )
 public class Reservation {
 
+    /** Durée maximale d'un séjour : borne la recherche de chevauchements (élagage des partitions par start_date), garantie en base (V16). */
+    public static final int MAX_STAY_NIGHTS = 365;
+
+    // UUIDv7 : préfixe horodaté, les insertions se font en fin d'index ; les identifiants v4 existants restent valides
     @Id
     @GeneratedValue
-    @UuidGenerator
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private UUID id;
 
     @NotNull
@@ -44,6 +48,11 @@ public class Reservation {
     @Column(name = "tenant_sub", nullable = false, length = 64)
     private String tenantSub;
 
+    /** Propriétaire de la propriété, dénormalisé à la création pour les requêtes côté propriétaire. */
+    @Size(max = 64)
+    @Column(name = "property_owner_sub", nullable = false, updatable = false, length = 64)
+    private String propertyOwnerSub;
+
     @NotNull
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
@@ -57,6 +66,13 @@ public class Reservation {
     @Column(nullable = false, length = 16)
     private ReservationStatus status;
 
+    /**
+     * Échéance de l'option sur les dates, renseignée uniquement tant que la réservation est PENDING.
+     * Fixée par les services à la création d'une demande (reservation.hold.duration).
+     */
+    @Column(name = "hold_expires_at")
+    private Instant holdExpiresAt;
+
     // ===== Pricing =====
 
     @NotNull
@@ -105,6 +121,10 @@ public class Reservation {
         this.createdAt = now;
         this.updatedAt = now;
 
+        if (this.propertyOwnerSub == null && this.property != null) {
+            this.propertyOwnerSub = this.property.getOwnerSub();
+        }
+
         if (this.status == null) {
             this.status = ReservationStatus.PENDING;
         }
@@ -129,8 +149,17 @@ public class Reservation {
     }
 
     public boolean isActive() {
+        return this.status == ReservationStatus.CONFIRMED
+                || (this.status == ReservationStatus.PENDING && !isHoldExpired());
+    }
+
+    /**
+     * Une demande PENDING dont l'option est échue ne bloque plus ses dates et ne peut plus être confirmée.
+     */
+    public boolean isHoldExpired() {
         return this.status == ReservationStatus.PENDING
-                || this.status == ReservationStatus.CONFIRMED;
+                && this.holdExpiresAt != null
+                && !this.holdExpiresAt.isAfter(Instant.now());
     }
 
     public boolean isPending() {
@@ -0,0 +1,41 @@
+package com.example.reservation.domain.reservation;
+
+/**
+ * Transitions de statut déclenchées explicitement sur une réservation existante.
+ */
+public enum ReservationAction {
+    CONFIRM,
+    CANCEL,
+    COMPLETE;
+
+    /**
+     * Statut cible de la transition depuis le statut courant.
+     *
+     * @throws IllegalStateException si la transition n'est pas permise
+     */
+    public ReservationStatus targetStatus(ReservationStatus current) {
+        return switch (this) {
+            case CONFIRM -> {
+                if (current != ReservationStatus.PENDING) {
+                    throw new IllegalStateException("Seule une réservation PENDING peut être confirmée");
+                }
+                yield ReservationStatus.CONFIRMED;
+            }
+            case CANCEL -> {
+                if (current == ReservationStatus.CANCELLED) {
+                    throw new IllegalStateException("La réservation est déjà annulée");
+                }
+                if (current == ReservationStatus.COMPLETED) {
+                    throw new IllegalStateException("Une réservation terminée ne peut pas être annulée");
+                }
+                yield ReservationStatus.CANCELLED;
+            }
+            case COMPLETE -> {
+                if (current != ReservationStatus.CONFIRMED) {
+                    throw new IllegalStateException("Seule une réservation CONFIRMED peut être complétée");
+                }
+                yield ReservationStatus.COMPLETED;
+            }
+        };
+    }
+}
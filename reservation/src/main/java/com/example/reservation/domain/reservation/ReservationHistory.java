@@ -0,0 +1,82 @@
+package com.example.reservation.domain.reservation;
+
+import com.example.reservation.domain.property.Property;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Vue en lecture seule de l'historique complet : réservations courantes et archivées (voir V12).
+ * Utilisée uniquement lorsque la période demandée dépasse l'horizon d'archivage.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Entity
+@Immutable
+@Subselect("""
+        SELECT id, property_id, property_owner_sub, tenant_sub, start_date, end_date, status, total_price,
+               created_at, FALSE AS archived
+        FROM reservations
+        UNION ALL
+        SELECT id, property_id, property_owner_sub, tenant_sub, start_date, end_date, status, total_price,
+               created_at, TRUE AS archived
+        FROM reservations_archive
+        """)
+@Synchronize({"reservations", "reservations_archive"})
+public class ReservationHistory {
+
+    @Id
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "property_id")
+    private Property property;
+
+    @Column(name = "property_owner_sub")
+    private String propertyOwnerSub;
+
+    @Column(name = "tenant_sub")
+    private String tenantSub;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    @Column(name = "total_price")
+    private BigDecimal totalPrice;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    private boolean archived;
+
+    /** Réservation courante présentée comme une ligne d'historique. */
+    public static ReservationHistory of(Reservation reservation) {
+        return ReservationHistory.builder()
+                .id(reservation.getId())
+                .property(reservation.getProperty())
+                .propertyOwnerSub(reservation.getPropertyOwnerSub())
+                .tenantSub(reservation.getTenantSub())
+                .startDate(reservation.getStartDate())
+                .endDate(reservation.getEndDate())
+                .status(reservation.getStatus())
+                .totalPrice(reservation.getTotalPrice())
+                .createdAt(reservation.getCreatedAt())
+                .archived(false)
+                .build();
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.reservation.mapper;
 
+import com.example.reservation.domain.property.GeoHash;
 import com.example.reservation.domain.property.Property;
 import com.example.reservation.domain.property.PropertyAccessCode;
 import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationHistory;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.dto.generated.DailyStatsResponse;
+import com.example.reservation.dto.generated.ImportSummaryResponse;
+import com.example.reservation.dto.generated.OwnerDailyStatsResponse;
+import com.example.reservation.dto.generated.OwnerStatsResponse;
 import com.example.reservation.dto.generated.PageResponsePropertyAccessCodeResponse;
 import com.example.reservation.dto.generated.PageResponsePropertyListResponse;
 import com.example.reservation.dto.generated.PageResponseReservationListResponse;
@@ -11,11 +18,20 @@ import com.example.reservation.dto.generated.PropertyAccessCodeRedeemResponse;
 import com.example.reservation.dto.generated.PropertyAccessCodeResponse;
 import com.example.reservation.dto.generated.PropertyListResponse;
 import com.example.reservation.dto.generated.PropertyResponse;
+import com.example.reservation.dto.generated.PropertyStatsResponse;
+import com.example.reservation.dto.generated.ReservationBatchItemResult;
+import com.example.reservation.dto.generated.ReservationBatchRequest;
+import com.example.reservation.dto.generated.ReservationBatchResponse;
+import com.example.reservation.dto.generated.ReservationCountByStatus;
 import com.example.reservation.dto.generated.ReservationListResponse;
 import com.example.reservation.dto.generated.ReservationResponse;
-import java.time.Instant;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
+import com.example.reservation.dto.generated.RevenueByPricingType;
+import com.example.reservation.dto.generated.StatsSummary;
+import com.example.reservation.service.OwnerStatsService;
+import com.example.reservation.service.ReservationRollupService;
+import com.example.reservation.service.ReservationService;
+import com.example.reservation.service.imports.BulkImportService;
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.data.domain.Page;
 
@@ -24,27 +40,42 @@ public final class DtoMapper {
     private DtoMapper() {}
 
     public static PropertyResponse toPropertyResponse(Property property) {
-        return new PropertyResponse(
+        PropertyResponse response = new PropertyResponse(
                 property.getId(),
                 property.getOwnerSub(),
                 property.getTitle(),
                 property.getDescription(),
                 property.getCity(),
                 property.getPricePerNight(),
-                com.example.reservation.dto.generated.PropertyStatus.fromValue(property.getStatus().name()),
-                toOffsetDateTime(property.getCreatedAt()),
-                toOffsetDateTime(property.getUpdatedAt())
+                EnumMappings.PROPERTY_STATUS.get(property.getStatus()),
+                property.getCreatedAt(),
+                property.getUpdatedAt()
         );
+        response.setLatitude(property.getLatitude());
+        response.setLongitude(property.getLongitude());
+        return response;
     }
 
     public static PropertyListResponse toPropertyListResponse(Property property) {
-        return new PropertyListResponse(
+        PropertyListResponse response = new PropertyListResponse(
                 property.getId(),
                 property.getTitle(),
                 property.getCity(),
                 property.getPricePerNight(),
-                com.example.reservation.dto.generated.PropertyStatus.fromValue(property.getStatus().name())
+                EnumMappings.PROPERTY_STATUS.get(property.getStatus())
         );
+        response.setLatitude(property.getLatitude());
+        response.setLongitude(property.getLongitude());
+        return response;
+    }
+
+    public static PropertyListResponse toPropertyListResponse(Property property, double originLatitude, double originLongitude) {
+        PropertyListResponse response = toPropertyListResponse(property);
+        if (property.hasLocation()) {
+            double distance = GeoHash.distanceKm(originLatitude, originLongitude, property.getLatitude(), property.getLongitude());
+            response.setDistanceKm(Math.round(distance * 100) / 100.0);
+        }
+        return response;
     }
 
     public static ReservationResponse toReservationResponse(Reservation reservation) {
@@ -56,14 +87,15 @@ public final class DtoMapper {
                 reservation.getStartDate(),
                 reservation.getEndDate(),
                 reservation.getNights(),
-                com.example.reservation.dto.generated.ReservationStatus.fromValue(reservation.getStatus().name()),
+                EnumMappings.RESERVATION_STATUS.get(reservation.getStatus()),
                 reservation.getUnitPriceApplied(),
                 reservation.getTotalPrice(),
-                com.example.reservation.dto.generated.PricingType.fromValue(reservation.getPricingType().name()),
-                toOffsetDateTime(reservation.getCreatedAt()),
-                toOffsetDateTime(reservation.getUpdatedAt())
+                EnumMappings.PRICING_TYPE.get(reservation.getPricingType()),
+                reservation.getCreatedAt(),
+                reservation.getUpdatedAt()
         );
         response.setPricingReason(reservation.getPricingReason());
+        response.setHoldExpiresAt(reservation.getHoldExpiresAt());
         return response;
     }
 
@@ -74,11 +106,66 @@ public final class DtoMapper {
                 reservation.getProperty().getTitle(),
                 reservation.getStartDate(),
                 reservation.getEndDate(),
-                com.example.reservation.dto.generated.ReservationStatus.fromValue(reservation.getStatus().name()),
+                EnumMappings.RESERVATION_STATUS.get(reservation.getStatus()),
                 reservation.getTotalPrice()
         );
     }
 
+    public static ReservationListResponse toReservationListResponse(ReservationHistory reservation) {
+        return new ReservationListResponse(
+                reservation.getId(),
+                reservation.getProperty().getId(),
+                reservation.getProperty().getTitle(),
+                reservation.getStartDate(),
+                reservation.getEndDate(),
+                EnumMappings.RESERVATION_STATUS.get(reservation.getStatus()),
+                reservation.getTotalPrice()
+        );
+    }
+
+    public static com.example.reservation.dto.generated.ReservationStatus toReservationStatus(ReservationStatus status) {
+        return EnumMappings.RESERVATION_STATUS.get(status);
+    }
+
+    public static List<ReservationService.BatchItem> toBatchItems(ReservationBatchRequest request) {
+        return request.getItems().stream()
+                .map(item -> new ReservationService.BatchItem(
+                        item.getId(),
+                        EnumMappings.RESERVATION_ACTION.get(item.getAction())))
+                .toList();
+    }
+
+    public static ReservationBatchResponse toReservationBatchResponse(List<ReservationService.BatchItemResult> results) {
+        List<ReservationBatchItemResult> items = results.stream()
+                .map(result -> {
+                    ReservationBatchItemResult item = new ReservationBatchItemResult(
+                            result.id(),
+                            EnumMappings.BATCH_ACTION.get(result.action()),
+                            EnumMappings.BATCH_OUTCOME.get(result.outcome())
+                    );
+                    if (result.status() != null) {
+                        item.setStatus(EnumMappings.RESERVATION_STATUS.get(result.status()));
+                    }
+                    item.setMessage(result.message());
+                    return item;
+                })
+                .toList();
+        long succeeded = results.stream()
+                .filter(result -> result.outcome() == ReservationService.BatchOutcome.SUCCESS)
+                .count();
+        return new ReservationBatchResponse((int) succeeded, results.size() - (int) succeeded, items);
+    }
+
+    public static ImportSummaryResponse toImportSummaryResponse(BulkImportService.ImportSummary summary) {
+        return new ImportSummaryResponse(
+                summary.id(),
+                EnumMappings.IMPORT_KIND.get(summary.kind()),
+                summary.received(),
+                summary.imported(),
+                summary.rejected()
+        );
+    }
+
     public static PropertyAccessCodeResponse toPropertyAccessCodeResponse(PropertyAccessCode code) {
         PropertyAccessCodeResponse response = new PropertyAccessCodeResponse(
                 code.getId(),
@@ -86,13 +173,13 @@ public final class DtoMapper {
                 code.getProperty().getTitle(),
                 code.getIssuedToEmail(),
                 code.getCreatedBySub(),
-                toOffsetDateTime(code.getCreatedAt()),
+                code.getCreatedAt(),
                 code.isActive(),
                 code.isRedeemed(),
                 code.isRevoked(),
                 code.isExpired()
         );
-        response.setExpiresAt(toOffsetDateTime(code.getExpiresAt()));
+        response.setExpiresAt(code.getExpiresAt());
         return response;
     }
 
@@ -102,9 +189,9 @@ public final class DtoMapper {
                 code.getProperty().getId(),
                 code.getIssuedToEmail(),
                 rawCode,
-                toOffsetDateTime(code.getCreatedAt())
+                code.getCreatedAt()
         );
-        response.setExpiresAt(toOffsetDateTime(code.getExpiresAt()));
+        response.setExpiresAt(code.getExpiresAt());
         return response;
     }
 
@@ -116,6 +203,47 @@ public final class DtoMapper {
         );
     }
 
+    public static OwnerStatsResponse toOwnerStatsResponse(OwnerStatsService.OwnerStats stats) {
+        List<PropertyStatsResponse> properties = stats.properties().stream()
+                .map(p -> new PropertyStatsResponse(p.propertyId(), p.propertyTitle(), toStatsSummary(p.stats())))
+                .toList();
+        return new OwnerStatsResponse(
+                stats.from(),
+                stats.to(),
+                (int) stats.days(),
+                toStatsSummary(stats.totals()),
+                properties
+        );
+    }
+
+    public static OwnerDailyStatsResponse toOwnerDailyStatsResponse(LocalDate from, LocalDate to,
+                                                                    List<ReservationRollupService.DailyStats> series) {
+        List<DailyStatsResponse> days = series.stream()
+                .map(d -> new DailyStatsResponse(d.day(), d.nightsBooked(), d.revenue()))
+                .toList();
+        return new OwnerDailyStatsResponse(from, to, days);
+    }
+
+    private static StatsSummary toStatsSummary(OwnerStatsService.StatsSummary summary) {
+        List<RevenueByPricingType> revenueByPricingType = summary.revenueByPricingType().entrySet().stream()
+                .map(e -> new RevenueByPricingType(
+                        EnumMappings.PRICING_TYPE.get(e.getKey()),
+                        e.getValue()))
+                .toList();
+        List<ReservationCountByStatus> reservationsByStatus = summary.reservationsByStatus().entrySet().stream()
+                .map(e -> new ReservationCountByStatus(
+                        EnumMappings.RESERVATION_STATUS.get(e.getKey()),
+                        e.getValue()))
+                .toList();
+        return new StatsSummary(
+                summary.occupiedNights(),
+                summary.occupancyRate(),
+                summary.revenue(),
+                revenueByPricingType,
+                reservationsByStatus
+        );
+    }
+
     public static PageResponsePropertyListResponse toPropertyListPage(List<Property> properties) {
         List<PropertyListResponse> content = properties.stream()
                 .map(DtoMapper::toPropertyListResponse)
@@ -146,6 +274,36 @@ public final class DtoMapper {
         );
     }
 
+    public static PageResponsePropertyListResponse toPropertyListPage(List<Property> properties, double originLatitude, double originLongitude) {
+        List<PropertyListResponse> content = properties.stream()
+                .map(property -> toPropertyListResponse(property, originLatitude, originLongitude))
+                .toList();
+        return new PageResponsePropertyListResponse(
+                content,
+                0,
+                content.size(),
+                (long) content.size(),
+                1,
+                true,
+                true
+        );
+    }
+
+    public static PageResponsePropertyListResponse toPropertyListPage(Page<Property> page, double originLatitude, double originLongitude) {
+        List<PropertyListResponse> content = page.getContent().stream()
+                .map(property -> toPropertyListResponse(property, originLatitude, originLongitude))
+                .toList();
+        return new PageResponsePropertyListResponse(
+                content,
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isFirst(),
+                page.isLast()
+        );
+    }
+
     public static PageResponseReservationListResponse toReservationListPage(List<Reservation> reservations) {
         List<ReservationListResponse> content = reservations.stream()
                 .map(DtoMapper::toReservationListResponse)
@@ -176,6 +334,21 @@ public final class DtoMapper {
         );
     }
 
+    public static PageResponseReservationListResponse toReservationHistoryPage(Page<ReservationHistory> page) {
+        List<ReservationListResponse> content = page.getContent().stream()
+                .map(DtoMapper::toReservationListResponse)
+                .toList();
+        return new PageResponseReservationListResponse(
+                content,
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isFirst(),
+                page.isLast()
+        );
+    }
+
     public static PageResponsePropertyAccessCodeResponse toAccessCodePage(List<PropertyAccessCode> codes) {
         List<PropertyAccessCodeResponse> content = codes.stream()
                 .map(DtoMapper::toPropertyAccessCodeResponse)
@@ -205,11 +378,4 @@ public final class DtoMapper {
                 page.isLast()
         );
     }
-
-    private static OffsetDateTime toOffsetDateTime(Instant instant) {
-        if (instant == null) {
-            return null;
-        }
-        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
-    }
 }
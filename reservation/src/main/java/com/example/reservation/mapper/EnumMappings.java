@@ -0,0 +1,54 @@
+package com.example.reservation.mapper;
+
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.ReservationAction;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.service.ReservationService;
+import com.example.reservation.service.imports.ImportKind;
+
+import java.util.EnumMap;
+
+/**
+ * Correspondances précalculées entre énumérations du domaine et énumérations générées depuis openapi.yml,
+ * par nom de constante. Une recherche EnumMap remplace fromValue(name()), qui copie values() et compare
+ * les chaînes à chaque appel. Construites à l'initialisation de la classe, au premier usage du mapper :
+ * une constante sans équivalent (contrat et domaine désynchronisés) lève alors ExceptionInInitializerError.
+ * EnumMappingsTest charge toutes les correspondances pour le détecter dès les tests.
+ */
+final class EnumMappings {
+
+    static final EnumMap<PropertyStatus, com.example.reservation.dto.generated.PropertyStatus> PROPERTY_STATUS =
+            byName(PropertyStatus.class, com.example.reservation.dto.generated.PropertyStatus.class);
+
+    static final EnumMap<ReservationStatus, com.example.reservation.dto.generated.ReservationStatus> RESERVATION_STATUS =
+            byName(ReservationStatus.class, com.example.reservation.dto.generated.ReservationStatus.class);
+
+    static final EnumMap<PricingType, com.example.reservation.dto.generated.PricingType> PRICING_TYPE =
+            byName(PricingType.class, com.example.reservation.dto.generated.PricingType.class);
+
+    static final EnumMap<ReservationAction, com.example.reservation.dto.generated.ReservationBatchAction> BATCH_ACTION =
+            byName(ReservationAction.class, com.example.reservation.dto.generated.ReservationBatchAction.class);
+
+    static final EnumMap<com.example.reservation.dto.generated.ReservationBatchAction, ReservationAction> RESERVATION_ACTION =
+            byName(com.example.reservation.dto.generated.ReservationBatchAction.class, ReservationAction.class);
+
+    static final EnumMap<ReservationService.BatchOutcome, com.example.reservation.dto.generated.ReservationBatchOutcome> BATCH_OUTCOME =
+            byName(ReservationService.BatchOutcome.class, com.example.reservation.dto.generated.ReservationBatchOutcome.class);
+
+    static final EnumMap<ImportKind, com.example.reservation.dto.generated.ImportKind> IMPORT_KIND =
+            byName(ImportKind.class, com.example.reservation.dto.generated.ImportKind.class);
+
+    private EnumMappings() {}
+
+    /**
+     * Toutes les constantes de source doivent exister dans target ; target peut en compter davantage.
+     */
+    static <S extends Enum<S>, T extends Enum<T>> EnumMap<S, T> byName(Class<S> source, Class<T> target) {
+        EnumMap<S, T> mapping = new EnumMap<>(source);
+        for (S constant : source.getEnumConstants()) {
+            mapping.put(constant, Enum.valueOf(target, constant.name()));
+        }
+        return mapping;
+    }
+}
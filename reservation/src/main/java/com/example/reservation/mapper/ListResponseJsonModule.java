@@ -0,0 +1,103 @@
+package com.example.reservation.mapper;
+
+import com.example.reservation.dto.generated.PropertyListResponse;
+import com.example.reservation.dto.generated.ReservationListResponse;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Sérialiseurs écrits à la main pour les éléments des pages de liste (jusqu'à 1000 par réponse) :
+ * appels directs au JsonGenerator, sans introspection ni recherche de sérialiseur par propriété.
+ * Mêmes propriétés et valeurs que les sérialiseurs de beans avec la configuration par défaut
+ * (valeurs nulles écrites, dates ISO-8601, énumérations par leur valeur), dans l'ordre du contrat.
+ */
+public class ListResponseJsonModule extends SimpleModule {
+
+    public ListResponseJsonModule() {
+        super("reservation-list-responses");
+        addSerializer(ReservationListResponse.class, new ReservationListResponseSerializer());
+        addSerializer(PropertyListResponse.class, new PropertyListResponseSerializer());
+    }
+
+    static final class ReservationListResponseSerializer extends StdSerializer<ReservationListResponse> {
+
+        ReservationListResponseSerializer() {
+            super(ReservationListResponse.class);
+        }
+
+        @Override
+        public void serialize(ReservationListResponse value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value);
+            writeUuid(gen, "id", value.getId());
+            writeUuid(gen, "propertyId", value.getPropertyId());
+            writeString(gen, "propertyTitle", value.getPropertyTitle());
+            writeDate(gen, "startDate", value.getStartDate());
+            writeDate(gen, "endDate", value.getEndDate());
+            writeString(gen, "status", value.getStatus() == null ? null : value.getStatus().getValue());
+            writeDecimal(gen, "totalPrice", value.getTotalPrice());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class PropertyListResponseSerializer extends StdSerializer<PropertyListResponse> {
+
+        PropertyListResponseSerializer() {
+            super(PropertyListResponse.class);
+        }
+
+        @Override
+        public void serialize(PropertyListResponse value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value);
+            writeUuid(gen, "id", value.getId());
+            writeString(gen, "title", value.getTitle());
+            writeString(gen, "city", value.getCity());
+            writeDecimal(gen, "pricePerNight", value.getPricePerNight());
+            writeString(gen, "status", value.getStatus() == null ? null : value.getStatus().getValue());
+            writeDouble(gen, "latitude", value.getLatitude());
+            writeDouble(gen, "longitude", value.getLongitude());
+            writeDouble(gen, "distanceKm", value.getDistanceKm());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, String name, String value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeUuid(JsonGenerator gen, String name, UUID value) {
+        writeString(gen, name, value == null ? null : value.toString());
+    }
+
+    private static void writeDate(JsonGenerator gen, String name, LocalDate value) {
+        writeString(gen, name, value == null ? null : value.toString());
+    }
+
+    private static void writeDecimal(JsonGenerator gen, String name, BigDecimal value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeDouble(JsonGenerator gen, String name, Double value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.domain.reservation.Reservation;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * Accès JDBC aux imports en masse (voir V13) : chargement COPY des tables de transit,
+ * contrôles ensemblistes puis fusion dans properties / reservations.
+ * Chaque contrôle déplace les lignes fautives de la table de transit vers import_errors en une instruction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportRepository {
+
+    private static final String REJECT_UNKNOWN_PROPERTY_SQL = """
+            WITH rejected AS (
+                DELETE FROM import_reservations_staging s
+                WHERE s.import_id = :importId
+                  AND NOT EXISTS (SELECT 1 FROM properties p WHERE p.id = s.property_id AND p.owner_sub = :ownerSub)
+                RETURNING s.line_no, s.property_id
+            )
+            INSERT INTO import_errors (import_id, line_no, message)
+            SELECT :importId, line_no, 'Propriété inconnue ou appartenant à un autre propriétaire : ' || property_id
+            FROM rejected
+            """;
+
+    // Même règle que ReservationRepository.findOverlappingReservations (bornes incluses, options échues ignorées)
+    private static final String REJECT_EXISTING_OVERLAP_SQL = """
+            WITH rejected AS (
+                DELETE FROM import_reservations_staging s
+                WHERE s.import_id = :importId
+                  AND s.status IN ('PENDING', 'CONFIRMED')
+                  AND EXISTS (
+                      SELECT 1 FROM reservations r
+                      WHERE r.property_id = s.property_id
+                        AND r.status IN ('PENDING', 'CONFIRMED')
+                        AND (r.status = 'CONFIRMED' OR r.hold_expires_at > :now)
+                        AND r.start_date >= s.start_date - %d
+                        AND r.start_date <= s.end_date AND r.end_date >= s.start_date
+                  )
+                RETURNING s.line_no
+            )
+            INSERT INTO import_errors (import_id, line_no, message)
+            SELECT :importId, line_no, 'Les dates chevauchent une réservation existante'
+            FROM rejected
+            """.formatted(Reservation.MAX_STAY_NIGHTS);
+
+    // Même règle, pour des séjours passés en tableaux parallèles (reprise en mémoire, sans table de transit)
+    private static final String FIRST_EXISTING_OVERLAP_SQL = """
+            SELECT MIN(s.ord) - 1
+            FROM unnest(CAST(:propertyIds AS uuid[]), CAST(:startDates AS date[]), CAST(:endDates AS date[]))
+                 WITH ORDINALITY AS s(property_id, start_date, end_date, ord)
+            WHERE EXISTS (
+                SELECT 1 FROM reservations r
+                WHERE r.property_id = s.property_id
+                  AND r.status IN ('PENDING', 'CONFIRMED')
+                  AND (r.status = 'CONFIRMED' OR r.hold_expires_at > :now)
+                  AND r.start_date >= s.start_date - %d
+                  AND r.start_date <= s.end_date AND r.end_date >= s.start_date
+            )
+            """.formatted(Reservation.MAX_STAY_NIGHTS);
+
+    // Entre lignes du fichier : la première ligne l'emporte
+    private static final String REJECT_INTERNAL_OVERLAP_SQL = """
+            WITH rejected AS (
+                DELETE FROM import_reservations_staging s
+                WHERE s.import_id = :importId
+                  AND s.status IN ('PENDING', 'CONFIRMED')
+                  AND EXISTS (
+                      SELECT 1 FROM import_reservations_staging o
+                      WHERE o.import_id = s.import_id
+                        AND o.property_id = s.property_id
+                        AND o.line_no < s.line_no
+                        AND o.status IN ('PENDING', 'CONFIRMED')
+                        AND o.start_date >= s.start_date - %d
+                        AND o.start_date <= s.end_date AND o.end_date >= s.start_date
+                  )
+                RETURNING s.line_no
+            )
+            INSERT INTO import_errors (import_id, line_no, message)
+            SELECT :importId, line_no, 'Les dates chevauchent une ligne précédente du fichier'
+            FROM rejected
+            """.formatted(Reservation.MAX_STAY_NIGHTS);
+
+    private static final String MERGE_PROPERTIES_SQL = """
+            INSERT INTO properties (id, owner_sub, title, description, city, price_per_night, status,
+                                    latitude, longitude, geohash, created_at, updated_at)
+            SELECT id, :ownerSub, title, description, city, price_per_night, 'ACTIVE',
+                   latitude, longitude, geohash, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM import_properties_staging
+            WHERE import_id = :importId
+            """;
+
+    // Sans prix total fourni, le séjour est valorisé au prix par nuit courant de la propriété
+    private static final String MERGE_RESERVATIONS_SQL = """
+            INSERT INTO reservations (id, property_id, property_owner_sub, tenant_sub, start_date, end_date, status,
+                                      hold_expires_at, unit_price_applied, total_price, pricing_type,
+                                      created_at, updated_at)
+            SELECT s.id, s.property_id, p.owner_sub, s.tenant_sub, s.start_date, s.end_date, s.status,
+                   CASE WHEN s.status = 'PENDING' THEN :holdExpiresAt END,
+                   ROUND(t.total / (s.end_date - s.start_date), 2), t.total, 'NORMAL',
+                   CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM import_reservations_staging s
+            JOIN properties p ON p.id = s.property_id
+            CROSS JOIN LATERAL (SELECT COALESCE(s.total_price, p.price_per_night * (s.end_date - s.start_date)) AS total) t
+            WHERE s.import_id = :importId
+            """;
+
+    private static final String REPORT_SQL = """
+            SELECT line_no, id, NULL AS message FROM %s WHERE import_id = :importId
+            UNION ALL
+            SELECT line_no, NULL, message FROM import_errors WHERE import_id = :importId
+            ORDER BY line_no
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void create(UUID importId, String kind, String ownerSub) {
+        jdbcTemplate.update("INSERT INTO imports (id, kind, owner_sub) VALUES (:id, :kind, :ownerSub)",
+                new MapSqlParameterSource()
+                        .addValue("id", importId)
+                        .addValue("kind", kind)
+                        .addValue("ownerSub", ownerSub));
+    }
+
+    /**
+     * COPY ... FROM STDIN (format CSV) : une instruction pour tout le lot, sans analyse de requête par ligne.
+     *
+     * @return le nombre de lignes chargées
+     */
+    public long copy(String table, List<String> columns, String csvRows) {
+        String sql = "COPY %s (%s) FROM STDIN WITH (FORMAT csv)".formatted(table, String.join(", ", columns));
+        Long rows = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(csvRows));
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("COPY interrompu vers " + table, e);
+            }
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    public int rejectUnknownProperties(UUID importId, String ownerSub) {
+        return jdbcTemplate.update(REJECT_UNKNOWN_PROPERTY_SQL, new MapSqlParameterSource()
+                .addValue("importId", importId)
+                .addValue("ownerSub", ownerSub));
+    }
+
+    public int rejectOverlapsWithExisting(UUID importId, Instant now) {
+        return jdbcTemplate.update(REJECT_EXISTING_OVERLAP_SQL, new MapSqlParameterSource()
+                .addValue("importId", importId)
+                .addValue("now", Timestamp.from(now)));
+    }
+
+    /**
+     * Premier séjour (position dans les listes) qui chevauche une réservation active existante,
+     * en une instruction pour tout le lot au lieu d'une requête par séjour.
+     */
+    public OptionalInt firstExistingOverlap(List<UUID> propertyIds, List<LocalDate> startDates,
+                                            List<LocalDate> endDates, Instant now) {
+        Long position = jdbcTemplate.queryForObject(FIRST_EXISTING_OVERLAP_SQL, new MapSqlParameterSource()
+                .addValue("propertyIds", propertyIds.stream().map(UUID::toString).toArray(String[]::new))
+                .addValue("startDates", startDates.stream().map(LocalDate::toString).toArray(String[]::new))
+                .addValue("endDates", endDates.stream().map(LocalDate::toString).toArray(String[]::new))
+                .addValue("now", Timestamp.from(now)), Long.class);
+        return position == null ? OptionalInt.empty() : OptionalInt.of(position.intValue());
+    }
+
+    public int rejectInternalOverlaps(UUID importId) {
+        return jdbcTemplate.update(REJECT_INTERNAL_OVERLAP_SQL, new MapSqlParameterSource("importId", importId));
+    }
+
+    public int mergeProperties(UUID importId, String ownerSub) {
+        return jdbcTemplate.update(MERGE_PROPERTIES_SQL, new MapSqlParameterSource()
+                .addValue("importId", importId)
+                .addValue("ownerSub", ownerSub));
+    }
+
+    public int mergeReservations(UUID importId, Instant holdExpiresAt) {
+        return jdbcTemplate.update(MERGE_RESERVATIONS_SQL, new MapSqlParameterSource()
+                .addValue("importId", importId)
+                .addValue("holdExpiresAt", Timestamp.from(holdExpiresAt)));
+    }
+
+    public void complete(UUID importId, long received, long imported, long rejected) {
+        jdbcTemplate.update("""
+                UPDATE imports
+                SET received = :received, imported = :imported, rejected = :rejected, completed_at = CURRENT_TIMESTAMP
+                WHERE id = :id
+                """, new MapSqlParameterSource()
+                .addValue("id", importId)
+                .addValue("received", received)
+                .addValue("imported", imported)
+                .addValue("rejected", rejected));
+    }
+
+    public Optional<String> findOwnerSub(UUID importId) {
+        return jdbcTemplate.queryForList("SELECT owner_sub FROM imports WHERE id = :id",
+                new MapSqlParameterSource("id", importId), String.class).stream().findFirst();
+    }
+
+    public Optional<String> findKind(UUID importId) {
+        return jdbcTemplate.queryForList("SELECT kind FROM imports WHERE id = :id",
+                new MapSqlParameterSource("id", importId), String.class).stream().findFirst();
+    }
+
+    /**
+     * Rapport par ligne, dans l'ordre du fichier : identifiant créé ou motif du rejet.
+     * Lu par curseur (taille de bloc du pool) : à appeler dans une transaction.
+     */
+    public void streamReport(UUID importId, String stagingTable, RowCallbackHandler handler) {
+        jdbcTemplate.query(REPORT_SQL.formatted(stagingTable), new MapSqlParameterSource("importId", importId), handler);
+    }
+
+    /** Supprime un import, ses lignes de transit et son rapport. */
+    public void delete(UUID importId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("importId", importId);
+        jdbcTemplate.update("DELETE FROM import_properties_staging WHERE import_id = :importId", params);
+        jdbcTemplate.update("DELETE FROM import_reservations_staging WHERE import_id = :importId", params);
+        jdbcTemplate.update("DELETE FROM imports WHERE id = :importId", params);
+    }
+
+    /** Purge les imports créés avant cutoff (rapports et lignes de transit). */
+    public int purgeCreatedBefore(Instant cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource("cutoff", Timestamp.from(cutoff));
+        String expired = "SELECT id FROM imports WHERE created_at < :cutoff";
+        jdbcTemplate.update("DELETE FROM import_properties_staging WHERE import_id IN (" + expired + ")", params);
+        jdbcTemplate.update("DELETE FROM import_reservations_staging WHERE import_id IN (" + expired + ")", params);
+        return jdbcTemplate.update("DELETE FROM imports WHERE created_at < :cutoff", params);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.domain.outbox.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Prochain lot d'événements échus à publier, verrouillé pour la transaction courante.
+     * SKIP LOCKED permet à plusieurs instances du relais de se partager la file sans se bloquer ;
+     * les événements en attente de reprise ou écartés ne sont pas relus.
+     */
+    @Query(value = "SELECT * FROM outbox_events " +
+                   "WHERE published_at IS NULL " +
+                   "AND dead_lettered_at IS NULL " +
+                   "AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at, created_at " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit, @Param("now") Instant now);
+
+    List<OutboxEvent> findByAggregateIdOrderByCreatedAt(UUID aggregateId);
+}
@@ -0,0 +1,24 @@
+package com.example.reservation.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projection d'une ligne de {@link ReservationRepository#aggregateOwnerStats}.
+ */
+public interface OwnerStatsRow {
+
+    UUID getPropertyId();
+
+    String getPropertyTitle();
+
+    String getStatus();
+
+    String getPricingType();
+
+    Long getReservationCount();
+
+    Long getNights();
+
+    BigDecimal getRevenue();
+}
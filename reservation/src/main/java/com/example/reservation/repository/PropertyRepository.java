@@ -5,13 +5,14 @@ import com.example.reservation.domain.property.PropertyStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, UUID> {
+public interface PropertyRepository extends JpaRepository<Property, UUID>, JpaSpecificationExecutor<Property> {
 
     List<Property> findByOwnerSub(String ownerSub);
 
@@ -21,8 +22,6 @@ public interface PropertyRepository extends JpaRepository<Property, UUID> {
 
     List<Property> findByCityIgnoreCase(String city);
 
-    List<Property> findByStatusAndCityIgnoreCase(PropertyStatus status, String city);
-
     boolean existsByIdAndOwnerSub(UUID id, String ownerSub);
 
     // ===== Paginated queries =====
@@ -30,6 +29,4 @@ public interface PropertyRepository extends JpaRepository<Property, UUID> {
     Page<Property> findByOwnerSub(String ownerSub, Pageable pageable);
 
     Page<Property> findByStatus(PropertyStatus status, Pageable pageable);
-
-    Page<Property> findByStatusAndCityIgnoreCase(PropertyStatus status, String city, Pageable pageable);
 }
@@ -0,0 +1,115 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.domain.property.GeoHash;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Critères de recherche composables pour {@link Property}.
+ * Les prédicats sont écrits pour correspondre aux index partiels de V4
+ * (LOWER(city), price_per_night) WHERE status = 'ACTIVE' et de V5 (geohash).
+ */
+public final class PropertySpecifications {
+
+    private PropertySpecifications() {}
+
+    public static Specification<Property> hasStatus(PropertyStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Comparaison sur LOWER(city) (et non UPPER comme les requêtes dérivées IgnoreCase)
+     * pour pouvoir utiliser idx_properties_active_city_price.
+     */
+    public static Specification<Property> cityEqualsIgnoreCase(String city) {
+        String normalized = city.toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("city")), normalized);
+    }
+
+    public static Specification<Property> pricePerNightAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("pricePerNight"), minPrice);
+    }
+
+    public static Specification<Property> pricePerNightAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("pricePerNight"), maxPrice);
+    }
+
+    /**
+     * Propriétés situées dans un rayon donné autour d'un point.
+     * <ol>
+     *   <li>préfixes geohash des 9 cellules couvrant le cercle (idx_properties_active_geohash) ;</li>
+     *   <li>boîte englobante latitude/longitude ;</li>
+     *   <li>distance équirectangulaire (approximation précise à l'échelle d'une ville ou d'une région).</li>
+     * </ol>
+     */
+    public static Specification<Property> withinRadius(double latitude, double longitude, double radiusKm) {
+        Set<String> cells = GeoHash.coveringCells(latitude, longitude, radiusKm);
+        double latDelta = GeoHash.latitudeDelta(radiusKm);
+        double lonDelta = GeoHash.longitudeDelta(latitude, radiusKm);
+        double maxDegreesSquared = latDelta * latDelta;
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (!cells.isEmpty()) {
+                Predicate[] prefixes = cells.stream()
+                        .map(cell -> cb.like(root.get("geohash"), cell + "%"))
+                        .toArray(Predicate[]::new);
+                predicates.add(cb.or(prefixes));
+            } else {
+                predicates.add(cb.isNotNull(root.get("geohash")));
+            }
+
+            predicates.add(cb.between(root.get("latitude"), latitude - latDelta, latitude + latDelta));
+            if (longitude - lonDelta >= -180 && longitude + lonDelta <= 180) {
+                predicates.add(cb.between(root.get("longitude"), longitude - lonDelta, longitude + lonDelta));
+            }
+            predicates.add(cb.le(distanceSquared(root, cb, latitude, longitude), maxDegreesSquared));
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Tri par distance croissante au point donné (puis par id pour une pagination stable).
+     * Le service refuse un tri explicite dans ce cas : il serait appliqué à la place de celui-ci.
+     */
+    public static Specification<Property> orderByDistance(double latitude, double longitude) {
+        return (root, query, cb) -> {
+            query.orderBy(
+                    cb.asc(distanceSquared(root, cb, latitude, longitude)),
+                    cb.asc(root.get("id"))
+            );
+            return null;
+        };
+    }
+
+    /**
+     * Carré de la distance équirectangulaire, exprimé en degrés de latitude.
+     * Monotone avec la distance réelle, donc utilisable pour filtrer et trier.
+     * L'écart de longitude est ramené dans [0, 180] : de part et d'autre de l'antiméridien
+     * (179.9 et -179.9), il vaut 0.2 et non 359.8.
+     */
+    private static Expression<Double> distanceSquared(Root<Property> root, CriteriaBuilder cb,
+                                                      double latitude, double longitude) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        Expression<Double> dLat = cb.diff(root.<Double>get("latitude"), latitude);
+        Expression<Double> rawDLon = cb.abs(cb.diff(root.<Double>get("longitude"), longitude));
+        Expression<Double> wrappedDLon = cb.<Double>selectCase()
+                .when(cb.gt(rawDLon, 180.0), cb.diff(360.0, rawDLon))
+                .otherwise(rawDLon);
+        Expression<Double> dLon = cb.prod(wrappedDLon, cos);
+        return cb.sum(cb.prod(dLat, dLat), cb.prod(dLon, dLon));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.reservation.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Déplacement ensembliste des réservations terminées vers reservations_archive (voir V12).
+ * Chaque appel traite un lot borné en une seule instruction (suppression + insertion) ;
+ * le verrouillage SKIP LOCKED permet à plusieurs instances de se partager le travail.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationArchiveRepository {
+
+    private static final String COLUMNS = """
+            id, property_id, property_owner_sub, tenant_sub, start_date, end_date, status, hold_expires_at,
+            unit_price_applied, total_price, pricing_type, pricing_reason, priced_by_sub, created_at, updated_at""";
+
+    private static final String ARCHIVE_ENDED_SQL = """
+            WITH batch AS (
+                SELECT id FROM reservations
+                WHERE status IN ('COMPLETED', 'CANCELLED') AND end_date < :cutoff
+                ORDER BY end_date
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ), moved AS (
+                DELETE FROM reservations r
+                USING batch
+                WHERE r.id = batch.id
+                RETURNING r.*
+            )
+            INSERT INTO reservations_archive (%1$s)
+            SELECT %1$s FROM moved
+            """.formatted(COLUMNS);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /** Archive au plus limit réservations COMPLETED ou CANCELLED dont le séjour s'est terminé avant cutoff. */
+    public int archiveEndedBefore(LocalDate cutoff, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", limit);
+        return jdbcTemplate.update(ARCHIVE_ENDED_SQL, params);
+    }
+}
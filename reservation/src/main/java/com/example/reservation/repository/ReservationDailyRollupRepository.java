@@ -0,0 +1,185 @@
+package com.example.reservation.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Accès JDBC à la table reservation_daily_rollup (voir V6).
+ * Les écritures sont des upserts ensemblistes : une instruction par lot de contributions, quelle que soit sa taille.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationDailyRollupRepository {
+
+    // Contributions passées en tableaux parallèles ; regroupées par clé, car un même upsert
+    // ne peut pas toucher deux fois la même ligne (plusieurs séjours d'un lot sur un même jour)
+    private static final String APPLY_SQL = """
+            INSERT INTO reservation_daily_rollup AS d (property_id, day, status, nights_booked, revenue)
+            SELECT c.property_id,
+                   gs.day::date,
+                   c.status,
+                   SUM(c.sign),
+                   SUM(c.sign * (c.nightly + CASE WHEN gs.day::date = c.start_date THEN c.remainder ELSE 0 END))
+            FROM unnest(CAST(:propertyIds AS uuid[]), CAST(:statuses AS varchar[]), CAST(:startDates AS date[]),
+                        CAST(:lastNights AS date[]), CAST(:nightly AS numeric[]), CAST(:remainders AS numeric[]),
+                        CAST(:signs AS integer[]))
+                 AS c(property_id, status, start_date, last_night, nightly, remainder, sign)
+            CROSS JOIN LATERAL generate_series(c.start_date, c.last_night, INTERVAL '1 day') AS gs(day)
+            GROUP BY c.property_id, gs.day::date, c.status
+            ON CONFLICT (property_id, day, status) DO UPDATE
+            SET nights_booked = d.nights_booked + EXCLUDED.nights_booked,
+                revenue = d.revenue + EXCLUDED.revenue
+            """;
+
+    private static final String PURGE_EMPTY_SQL = """
+            DELETE FROM reservation_daily_rollup d
+            USING unnest(CAST(:propertyIds AS uuid[]), CAST(:statuses AS varchar[]), CAST(:startDates AS date[]),
+                         CAST(:lastNights AS date[]))
+                  AS c(property_id, status, start_date, last_night)
+            WHERE d.property_id = c.property_id
+              AND d.status = c.status
+              AND d.day BETWEEN c.start_date AND c.last_night
+              AND d.nights_booked = 0
+            """;
+
+    private static final String REBUILD_SQL = """
+            INSERT INTO reservation_daily_rollup (property_id, day, status, nights_booked, revenue)
+            SELECT r.property_id,
+                   gs.day::date,
+                   r.status,
+                   COUNT(*),
+                   SUM(TRUNC(r.total_price / (r.end_date - r.start_date), 2)
+                       + CASE WHEN gs.day::date = r.start_date
+                              THEN r.total_price - TRUNC(r.total_price / (r.end_date - r.start_date), 2) * (r.end_date - r.start_date)
+                              ELSE 0 END)
+            FROM (
+                SELECT property_id, status, start_date, end_date, total_price FROM reservations
+                UNION ALL
+                SELECT property_id, status, start_date, end_date, total_price FROM reservations_archive
+            ) r
+            CROSS JOIN LATERAL generate_series(r.start_date, r.end_date - 1, INTERVAL '1 day') AS gs(day)
+            GROUP BY r.property_id, gs.day::date, r.status
+            """;
+
+    private static final String ADD_SQL_TEMPLATE = """
+            INSERT INTO reservation_daily_rollup AS d (property_id, day, status, nights_booked, revenue)
+            SELECT r.property_id,
+                   gs.day::date,
+                   r.status,
+                   COUNT(*),
+                   SUM(TRUNC(r.total_price / (r.end_date - r.start_date), 2)
+                       + CASE WHEN gs.day::date = r.start_date
+                              THEN r.total_price - TRUNC(r.total_price / (r.end_date - r.start_date), 2) * (r.end_date - r.start_date)
+                              ELSE 0 END)
+            FROM reservations r
+            CROSS JOIN LATERAL generate_series(r.start_date, r.end_date - 1, INTERVAL '1 day') AS gs(day)
+            WHERE %s
+            GROUP BY r.property_id, gs.day::date, r.status
+            ON CONFLICT (property_id, day, status) DO UPDATE
+            SET nights_booked = d.nights_booked + EXCLUDED.nights_booked,
+                revenue = d.revenue + EXCLUDED.revenue
+            """;
+
+    private static final String ADD_RESERVATIONS_SQL = ADD_SQL_TEMPLATE.formatted("r.id IN (:ids)");
+
+    private static final String ADD_IMPORTED_SQL = ADD_SQL_TEMPLATE.formatted(
+            "(r.id, r.start_date) IN (SELECT id, start_date FROM import_reservations_staging WHERE import_id = :importId)");
+
+    private static final String OWNER_DAILY_SQL = """
+            SELECT d.day AS day, SUM(d.nights_booked) AS nights_booked, SUM(d.revenue) AS revenue
+            FROM reservation_daily_rollup d
+            JOIN properties p ON p.id = d.property_id
+            WHERE p.owner_sub = :ownerSub
+              AND d.day >= :from AND d.day < :to
+              AND d.status IN (:statuses)
+            GROUP BY d.day
+            ORDER BY d.day
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Applique des contributions de séjours en une instruction, quelle que soit leur taille :
+     * une nuit par jour de [startDate, endDate) et nightly par nuit, plus remainder sur la première nuit,
+     * ajoutées (sign = 1) ou retirées (sign = -1). Les jours vidés par un retrait sont purgés en une seconde instruction.
+     */
+    public void apply(List<RollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(APPLY_SQL, arrays(deltas));
+        List<RollupDelta> removals = deltas.stream().filter(delta -> delta.sign() < 0).toList();
+        if (!removals.isEmpty()) {
+            jdbcTemplate.update(PURGE_EMPTY_SQL, arrays(removals));
+        }
+    }
+
+    private static MapSqlParameterSource arrays(List<RollupDelta> deltas) {
+        return new MapSqlParameterSource()
+                .addValue("propertyIds", deltas.stream().map(d -> d.propertyId().toString()).toArray(String[]::new))
+                .addValue("statuses", deltas.stream().map(RollupDelta::status).toArray(String[]::new))
+                .addValue("startDates", deltas.stream().map(d -> d.startDate().toString()).toArray(String[]::new))
+                .addValue("lastNights", deltas.stream().map(d -> d.endDate().minusDays(1).toString()).toArray(String[]::new))
+                .addValue("nightly", deltas.stream().map(d -> d.nightly().toPlainString()).toArray(String[]::new))
+                .addValue("remainders", deltas.stream().map(d -> d.remainder().toPlainString()).toArray(String[]::new))
+                .addValue("signs", deltas.stream().map(d -> Integer.toString(d.sign())).toArray(String[]::new));
+    }
+
+    /**
+     * Ajoute en une instruction la contribution de réservations déjà écrites (imports en masse).
+     */
+    public void addAll(Collection<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(ADD_RESERVATIONS_SQL, new MapSqlParameterSource("ids", reservationIds));
+    }
+
+    /**
+     * Ajoute la contribution des réservations fusionnées par un import en masse (lignes acceptées de la table de transit).
+     */
+    public void addImported(UUID importId) {
+        jdbcTemplate.update(ADD_IMPORTED_SQL, new MapSqlParameterSource("importId", importId));
+    }
+
+    /**
+     * Reconstruit intégralement l'agrégat à partir de reservations et reservations_archive.
+     * Le verrou EXCLUSIVE fait attendre les transitions concurrentes jusqu'à la fin de la reconstruction.
+     */
+    public int rebuild() {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        jdbcTemplate.update("LOCK TABLE reservation_daily_rollup IN EXCLUSIVE MODE", none);
+        jdbcTemplate.update("DELETE FROM reservation_daily_rollup", none);
+        return jdbcTemplate.update(REBUILD_SQL, none);
+    }
+
+    /**
+     * Série journalière agrégée sur toutes les propriétés d'un propriétaire ; les jours sans nuit sont absents.
+     */
+    public List<DailyRollupRow> findDailyByOwner(String ownerSub, LocalDate from, LocalDate to, List<String> statuses) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ownerSub", ownerSub)
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("statuses", statuses);
+        return jdbcTemplate.query(OWNER_DAILY_SQL, params, (rs, rowNum) -> new DailyRollupRow(
+                rs.getObject("day", LocalDate.class),
+                rs.getLong("nights_booked"),
+                rs.getBigDecimal("revenue")
+        ));
+    }
+
+    /** Contribution d'un séjour [startDate, endDate) à ajouter (sign = 1) ou retirer (sign = -1). */
+    public record RollupDelta(UUID propertyId, String status, LocalDate startDate, LocalDate endDate,
+                              BigDecimal nightly, BigDecimal remainder, int sign) {}
+
+    public record DailyRollupRow(LocalDate day, long nightsBooked, BigDecimal revenue) {}
+}
@@ -0,0 +1,37 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.domain.reservation.ReservationHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Historique réservations courantes + archivées (union, voir ReservationHistory).
+ * Réservé aux périodes qui dépassent l'horizon d'archivage : les autres lectures restent sur ReservationRepository.
+ */
+@org.springframework.stereotype.Repository
+public interface ReservationHistoryRepository extends Repository<ReservationHistory, UUID> {
+
+    @Query(value = "SELECT h FROM ReservationHistory h JOIN FETCH h.property " +
+                   "WHERE h.tenantSub = :tenantSub AND h.endDate >= :from",
+           countQuery = "SELECT COUNT(h) FROM ReservationHistory h WHERE h.tenantSub = :tenantSub AND h.endDate >= :from")
+    Page<ReservationHistory> findByTenantSubEndingFrom(
+            @Param("tenantSub") String tenantSub,
+            @Param("from") LocalDate from,
+            Pageable pageable
+    );
+
+    @Query(value = "SELECT h FROM ReservationHistory h JOIN FETCH h.property " +
+                   "WHERE h.propertyOwnerSub = :ownerSub AND h.endDate >= :from",
+           countQuery = "SELECT COUNT(h) FROM ReservationHistory h WHERE h.propertyOwnerSub = :ownerSub AND h.endDate >= :from")
+    Page<ReservationHistory> findByPropertyOwnerSubEndingFrom(
+            @Param("ownerSub") String ownerSub,
+            @Param("from") LocalDate from,
+            Pageable pageable
+    );
+}
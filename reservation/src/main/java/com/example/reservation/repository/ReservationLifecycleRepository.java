@@ -0,0 +1,99 @@
+package com.example.reservation.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transitions ensemblistes des tâches planifiées (fin de séjour, expiration des options des demandes en attente).
+ * Chaque appel traite un lot borné : les lignes sont verrouillées avec SKIP LOCKED, ce qui permet
+ * à plusieurs instances de se partager le travail et évite de bloquer les transitions HTTP concurrentes.
+ * Les lignes modifiées sont retournées pour maintenir l'agrégat journalier et l'outbox.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationLifecycleRepository {
+
+    private static final String COMPLETE_ENDED_SQL = """
+            WITH batch AS (
+                SELECT id FROM reservations
+                WHERE status = 'CONFIRMED' AND end_date < :today
+                ORDER BY end_date
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE reservations r
+            SET status = 'COMPLETED', updated_at = CURRENT_TIMESTAMP
+            FROM batch, properties p
+            WHERE r.id = batch.id AND p.id = r.property_id
+            RETURNING r.id, r.property_id, p.title, r.property_owner_sub, r.tenant_sub,
+                      r.start_date, r.end_date, r.total_price, r.pricing_type
+            """;
+
+    private static final String CANCEL_EXPIRED_HOLDS_SQL = """
+            WITH batch AS (
+                SELECT id FROM reservations
+                WHERE status = 'PENDING' AND hold_expires_at <= :now
+                ORDER BY hold_expires_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE reservations r
+            SET status = 'CANCELLED', hold_expires_at = NULL, updated_at = CURRENT_TIMESTAMP
+            FROM batch, properties p
+            WHERE r.id = batch.id AND p.id = r.property_id
+            RETURNING r.id, r.property_id, p.title, r.property_owner_sub, r.tenant_sub,
+                      r.start_date, r.end_date, r.total_price, r.pricing_type
+            """;
+
+    private static final RowMapper<TransitionedReservation> ROW_MAPPER = (rs, rowNum) -> new TransitionedReservation(
+            rs.getObject("id", UUID.class),
+            rs.getObject("property_id", UUID.class),
+            rs.getString("title"),
+            rs.getString("property_owner_sub"),
+            rs.getString("tenant_sub"),
+            rs.getObject("start_date", LocalDate.class),
+            rs.getObject("end_date", LocalDate.class),
+            rs.getBigDecimal("total_price"),
+            rs.getString("pricing_type")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /** Passe en COMPLETED au plus limit réservations CONFIRMED dont le séjour s'est terminé avant today. */
+    public List<TransitionedReservation> completeEndedBefore(LocalDate today, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("today", today)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(COMPLETE_ENDED_SQL, params, ROW_MAPPER);
+    }
+
+    /** Passe en CANCELLED au plus limit réservations PENDING dont l'option est échue à now. */
+    public List<TransitionedReservation> cancelExpiredHolds(Instant now, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", Timestamp.from(now))
+                .addValue("limit", limit);
+        return jdbcTemplate.query(CANCEL_EXPIRED_HOLDS_SQL, params, ROW_MAPPER);
+    }
+
+    public record TransitionedReservation(
+            UUID id,
+            UUID propertyId,
+            String propertyTitle,
+            String ownerSub,
+            String tenantSub,
+            LocalDate startDate,
+            LocalDate endDate,
+            BigDecimal totalPrice,
+            String pricingType
+    ) {}
+}
@@ -0,0 +1,180 @@
+package com.example.reservation.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Partitionnement annuel de reservations (voir V11, V15) : création des partitions, trigger de recopie,
+ * recopie par lots de l'historique vers la table fantôme reservations_partitioned, puis bascule des noms.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationPartitionRepository {
+
+    static final String SHADOW_TABLE = "reservations_partitioned";
+    static final String LIVE_TABLE = "reservations";
+    static final String LEGACY_TABLE = "reservations_legacy";
+
+    /** Index de la table fantôme et nom définitif qu'ils prennent à la bascule. */
+    private static final Map<String, String> INDEX_RENAMES = Map.of(
+            "idx_rp_tenant_sub", "idx_reservations_tenant_sub",
+            "idx_rp_property_id", "idx_reservations_property_id",
+            "idx_rp_pricing_type", "idx_reservations_pricing_type",
+            "idx_rp_status", "idx_reservations_status",
+            "idx_rp_pending_hold", "idx_reservations_pending_hold",
+            "idx_rp_active_dates", "idx_reservations_active_dates",
+            "idx_rp_owner_status_created", "idx_reservations_owner_status_created"
+    );
+
+    private static final String PARTITIONED_PARENT_SQL = """
+            SELECT c.relname
+            FROM pg_partitioned_table pt
+            JOIN pg_class c ON c.oid = pt.partrelid
+            WHERE c.relname IN ('reservations', 'reservations_partitioned')
+              AND c.relnamespace = current_schema()::regnamespace
+            """;
+
+    private static final String BACKFILL_SQL = """
+            WITH chunk AS (
+                SELECT * FROM reservations
+                WHERE (CAST(:afterId AS uuid) IS NULL OR id > CAST(:afterId AS uuid))
+                ORDER BY id
+                LIMIT :limit
+            ), copied AS (
+                INSERT INTO reservations_partitioned
+                SELECT * FROM chunk
+                ON CONFLICT (id, start_date) DO NOTHING
+            )
+            SELECT MAX(id::text)::uuid AS last_id, COUNT(*) AS copied FROM chunk
+            """;
+
+    // Rapprochement sous verrou avant la bascule. La recopie lit un lot dans l'instantané de son instruction :
+    // une ligne supprimée (archivage) ou modifiée entre-temps peut y être réinsérée après le passage du trigger.
+    // On retire donc les lignes fantômes sans ligne identique dans reservations, puis on recopie celles qui manquent.
+    private static final String REMOVE_STALE_SQL = """
+            DELETE FROM reservations_partitioned p
+            WHERE NOT EXISTS (
+                SELECT 1 FROM reservations r
+                WHERE r.id = p.id AND r.start_date = p.start_date
+                  AND ROW(r.*) IS NOT DISTINCT FROM ROW(p.*)
+            )
+            """;
+
+    private static final String COPY_MISSING_SQL = """
+            INSERT INTO reservations_partitioned
+            SELECT r.* FROM reservations r
+            WHERE NOT EXISTS (
+                SELECT 1 FROM reservations_partitioned p
+                WHERE p.id = r.id AND p.start_date = r.start_date
+            )
+            """;
+
+    // Contenus comparés ligne à ligne, dans les deux sens (multiensembles)
+    private static final String DIFFERENCES_SQL = """
+            SELECT COUNT(*) FROM (
+                (TABLE reservations EXCEPT ALL TABLE reservations_partitioned)
+                UNION ALL
+                (TABLE reservations_partitioned EXCEPT ALL TABLE reservations)
+            ) d
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Table partitionnée courante : reservations_partitioned avant la bascule, reservations après.
+     */
+    public Optional<String> findPartitionedParent() {
+        List<String> parents = jdbcTemplate.queryForList(PARTITIONED_PARENT_SQL, new MapSqlParameterSource(), String.class);
+        return parents.contains(LIVE_TABLE) ? Optional.of(LIVE_TABLE) : parents.stream().findFirst();
+    }
+
+    /** Crée la partition de l'année si elle n'existe pas ; retourne true si elle a été créée. */
+    public boolean ensureYearPartition(String parent, int year) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("parent", parent)
+                .addValue("year", year);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT ensure_reservation_partition(:parent, :year)", params, Boolean.class));
+    }
+
+    /**
+     * Crée (ou remplace) le trigger qui recopie dans la table fantôme chaque écriture faite sur reservations.
+     * À appeler avant la recopie par lots : les écritures engagées ensuite sont recopiées par le trigger,
+     * les précédentes par la recopie. CREATE TRIGGER attend la fin des écritures en cours.
+     */
+    public void startSync() {
+        jdbcTemplate.update("""
+                CREATE OR REPLACE TRIGGER trg_reservations_sync_partitioned
+                    AFTER INSERT OR UPDATE OR DELETE ON reservations
+                    FOR EACH ROW EXECUTE FUNCTION sync_reservations_partitioned()
+                """, new MapSqlParameterSource());
+    }
+
+    /** true tant que la table fantôme existe, c'est-à-dire avant la bascule. */
+    public boolean isShadowPending() {
+        return findPartitionedParent().filter(SHADOW_TABLE::equals).isPresent();
+    }
+
+    /**
+     * Recopie au plus limit réservations d'identifiant supérieur à afterId (null pour commencer) dans la table fantôme.
+     * Le lot porte le dernier identifiant parcouru, point de reprise du lot suivant ; il est vide en fin de recopie.
+     */
+    public BackfillChunk backfillChunk(UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForObject(BACKFILL_SQL, params, (rs, rowNum) -> new BackfillChunk(
+                rs.getObject("last_id", UUID.class),
+                rs.getInt("copied")
+        ));
+    }
+
+    public long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, new MapSqlParameterSource(), Long.class);
+    }
+
+    /**
+     * Bascule reservations → reservations_legacy et reservations_partitioned → reservations.
+     * À appeler dans une transaction : le verrou ACCESS EXCLUSIVE bloque les écritures le temps du rapprochement
+     * des deux tables, de la comparaison de leurs contenus et des renommages (lock_timeout court pour ne pas
+     * faire attendre le trafic).
+     *
+     * @return le nombre de lignes corrigées par le rapprochement (retirées puis recopiées)
+     * @throws IllegalStateException si les contenus diffèrent encore après rapprochement
+     */
+    public int swap() {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        jdbcTemplate.update("SET LOCAL lock_timeout = '5s'", none);
+        jdbcTemplate.update("LOCK TABLE reservations, reservations_partitioned IN ACCESS EXCLUSIVE MODE", none);
+
+        int removed = jdbcTemplate.update(REMOVE_STALE_SQL, none);
+        int copied = jdbcTemplate.update(COPY_MISSING_SQL, none);
+        long differences = jdbcTemplate.queryForObject(DIFFERENCES_SQL, none, Long.class);
+        if (differences != 0) {
+            throw new IllegalStateException("Recopie divergente : " + differences
+                    + " ligne(s) diffèrent entre reservations et reservations_partitioned");
+        }
+
+        jdbcTemplate.update("DROP TRIGGER IF EXISTS trg_reservations_sync_partitioned ON reservations", none);
+        jdbcTemplate.update("ALTER TABLE reservations RENAME TO " + LEGACY_TABLE, none);
+        jdbcTemplate.update("ALTER TABLE " + LEGACY_TABLE + " RENAME CONSTRAINT reservations_pkey TO reservations_legacy_pkey", none);
+        INDEX_RENAMES.forEach((shadowIndex, finalIndex) -> {
+            jdbcTemplate.update("DROP INDEX IF EXISTS " + finalIndex, none);
+            jdbcTemplate.update("ALTER INDEX " + shadowIndex + " RENAME TO " + finalIndex, none);
+        });
+        jdbcTemplate.update("ALTER TABLE reservations_partitioned RENAME TO reservations", none);
+        jdbcTemplate.update("ALTER TABLE reservations RENAME CONSTRAINT reservations_partitioned_pkey TO reservations_pkey", none);
+        jdbcTemplate.update("ALTER TABLE reservations RENAME CONSTRAINT reservations_partitioned_property_id_fkey "
+                + "TO reservations_property_id_fkey", none);
+        return removed + copied;
+    }
+
+    public record BackfillChunk(UUID lastId, int rows) {}
+}
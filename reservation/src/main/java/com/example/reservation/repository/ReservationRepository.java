@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -41,28 +42,51 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
             @Param("status") ReservationStatus status
     );
 
+    // Les demandes PENDING ne bloquent leurs dates que tant que leur option n'est pas échue.
+    // Le filtre IN sur le statut reprend le prédicat de idx_reservations_active_dates (index partiel).
+    // La borne basse sur startDate (durée de séjour plafonnée) permet l'élagage des partitions annuelles.
     @Query("SELECT r FROM Reservation r JOIN FETCH r.property WHERE r.property.id = :propertyId " +
            "AND r.status IN ('PENDING', 'CONFIRMED') " +
+           "AND (r.status = 'CONFIRMED' OR r.holdExpiresAt > :now) " +
+           "AND r.startDate >= :earliestStart " +
            "AND r.startDate <= :endDate AND r.endDate >= :startDate")
     List<Reservation> findOverlappingReservations(
             @Param("propertyId") UUID propertyId,
+            @Param("earliestStart") LocalDate earliestStart,
             @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
+            @Param("endDate") LocalDate endDate,
+            @Param("now") Instant now
     );
 
+    default List<Reservation> findOverlappingReservations(UUID propertyId, LocalDate startDate, LocalDate endDate,
+                                                          Instant now) {
+        return findOverlappingReservations(propertyId, startDate.minusDays(Reservation.MAX_STAY_NIGHTS),
+                startDate, endDate, now);
+    }
+
     @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.property.id = :propertyId " +
            "AND r.status IN ('PENDING', 'CONFIRMED') " +
+           "AND (r.status = 'CONFIRMED' OR r.holdExpiresAt > :now) " +
+           "AND r.startDate >= :earliestStart " +
            "AND r.startDate <= :endDate AND r.endDate >= :startDate")
     boolean existsOverlappingReservation(
             @Param("propertyId") UUID propertyId,
+            @Param("earliestStart") LocalDate earliestStart,
             @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
+            @Param("endDate") LocalDate endDate,
+            @Param("now") Instant now
     );
 
-    @Query("SELECT r FROM Reservation r JOIN FETCH r.property WHERE r.property.ownerSub = :ownerSub")
+    default boolean existsOverlappingReservation(UUID propertyId, LocalDate startDate, LocalDate endDate, Instant now) {
+        return existsOverlappingReservation(propertyId, startDate.minusDays(Reservation.MAX_STAY_NIGHTS),
+                startDate, endDate, now);
+    }
+
+    // Requêtes propriétaire : filtre sur la colonne dénormalisée property_owner_sub (sans jointure de filtrage)
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.property WHERE r.propertyOwnerSub = :ownerSub")
     List<Reservation> findByPropertyOwnerSub(@Param("ownerSub") String ownerSub);
 
-    @Query("SELECT r FROM Reservation r JOIN FETCH r.property WHERE r.property.ownerSub = :ownerSub AND r.status = :status")
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.property WHERE r.propertyOwnerSub = :ownerSub AND r.status = :status")
     List<Reservation> findByPropertyOwnerSubAndStatus(
             @Param("ownerSub") String ownerSub,
             @Param("status") ReservationStatus status
@@ -73,7 +97,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
     @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.id = :id AND r.tenantSub = :tenantSub")
     boolean existsByIdAndTenantSub(@Param("id") UUID id, @Param("tenantSub") String tenantSub);
 
-    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.id = :id AND r.property.ownerSub = :ownerSub")
+    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.id = :id AND r.propertyOwnerSub = :ownerSub")
     boolean existsByIdAndPropertyOwnerSub(@Param("id") UUID id, @Param("ownerSub") String ownerSub);
 
     // === Paginated queries (two-query pattern for JOIN FETCH compatibility) ===
@@ -82,10 +106,25 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
     @Query("SELECT r.id FROM Reservation r WHERE r.tenantSub = :tenantSub")
     Page<UUID> findIdsByTenantSub(@Param("tenantSub") String tenantSub, Pageable pageable);
 
-    @Query("SELECT r.id FROM Reservation r WHERE r.property.ownerSub = :ownerSub")
+    @Query("SELECT r.id FROM Reservation r WHERE r.propertyOwnerSub = :ownerSub")
     Page<UUID> findIdsByPropertyOwnerSub(@Param("ownerSub") String ownerSub, Pageable pageable);
 
-    @Query("SELECT r.id FROM Reservation r WHERE r.property.ownerSub = :ownerSub AND r.status = :status")
+    // Historique depuis une date (séjours terminés à partir de from), sans les réservations archivées
+    @Query("SELECT r.id FROM Reservation r WHERE r.tenantSub = :tenantSub AND r.endDate >= :from")
+    Page<UUID> findIdsByTenantSubEndingFrom(
+            @Param("tenantSub") String tenantSub,
+            @Param("from") LocalDate from,
+            Pageable pageable
+    );
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.propertyOwnerSub = :ownerSub AND r.endDate >= :from")
+    Page<UUID> findIdsByPropertyOwnerSubEndingFrom(
+            @Param("ownerSub") String ownerSub,
+            @Param("from") LocalDate from,
+            Pageable pageable
+    );
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.propertyOwnerSub = :ownerSub AND r.status = :status")
     Page<UUID> findIdsByPropertyOwnerSubAndStatus(
             @Param("ownerSub") String ownerSub,
             @Param("status") ReservationStatus status,
@@ -95,4 +134,60 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
     // Step 2: Fetch entities with JOIN FETCH by IDs
     @Query("SELECT r FROM Reservation r JOIN FETCH r.property WHERE r.id IN :ids")
     List<Reservation> findByIdsWithProperty(@Param("ids") List<UUID> ids);
+
+    // === Aggregate queries (single grouped pass) ===
+
+    /**
+     * Statistiques propriétaire sur la fenêtre [from, to) : une ligne par (propriété, statut, type de tarif).
+     * Les nuits et le revenu sont proratisés sur la partie du séjour comprise dans la fenêtre.
+     * Les propriétés sans réservation sur la période sont retournées avec status/pricingType à null.
+     */
+    @Query(value = "SELECT p.id AS propertyId, p.title AS propertyTitle, " +
+                   "r.status AS status, r.pricing_type AS pricingType, " +
+                   "COUNT(r.id) AS reservationCount, " +
+                   "COALESCE(SUM(LEAST(r.end_date, :to) - GREATEST(r.start_date, :from)), 0) AS nights, " +
+                   "COALESCE(SUM(r.total_price * (LEAST(r.end_date, :to) - GREATEST(r.start_date, :from)) " +
+                   "    / (r.end_date - r.start_date)), 0) AS revenue " +
+                   "FROM properties p " +
+                   "LEFT JOIN reservations r ON r.property_id = p.id " +
+                   "    AND r.start_date < :to AND r.end_date > :from " +
+                   "    AND r.start_date >= CAST(:from AS date) - " + Reservation.MAX_STAY_NIGHTS + " " +
+                   "WHERE p.owner_sub = :ownerSub " +
+                   "GROUP BY p.id, p.title, r.status, r.pricing_type",
+           nativeQuery = true)
+    List<OwnerStatsRow> aggregateOwnerStats(
+            @Param("ownerSub") String ownerSub,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Variante de aggregateOwnerStats incluant reservations_archive, pour les fenêtres qui dépassent
+     * l'horizon d'archivage. Chaque branche de l'union est filtrée par propriétaire et par période.
+     */
+    @Query(value = "SELECT p.id AS propertyId, p.title AS propertyTitle, " +
+                   "r.status AS status, r.pricing_type AS pricingType, " +
+                   "COUNT(r.id) AS reservationCount, " +
+                   "COALESCE(SUM(LEAST(r.end_date, :to) - GREATEST(r.start_date, :from)), 0) AS nights, " +
+                   "COALESCE(SUM(r.total_price * (LEAST(r.end_date, :to) - GREATEST(r.start_date, :from)) " +
+                   "    / (r.end_date - r.start_date)), 0) AS revenue " +
+                   "FROM properties p " +
+                   "LEFT JOIN (" +
+                   "    SELECT id, property_id, status, pricing_type, start_date, end_date, total_price " +
+                   "    FROM reservations " +
+                   "    WHERE property_owner_sub = :ownerSub AND start_date < :to AND end_date > :from " +
+                   "      AND start_date >= CAST(:from AS date) - " + Reservation.MAX_STAY_NIGHTS + " " +
+                   "    UNION ALL " +
+                   "    SELECT id, property_id, status, pricing_type, start_date, end_date, total_price " +
+                   "    FROM reservations_archive " +
+                   "    WHERE property_owner_sub = :ownerSub AND start_date < :to AND end_date > :from " +
+                   ") r ON r.property_id = p.id " +
+                   "WHERE p.owner_sub = :ownerSub " +
+                   "GROUP BY p.id, p.title, r.status, r.pricing_type",
+           nativeQuery = true)
+    List<OwnerStatsRow> aggregateOwnerStatsWithArchive(
+            @Param("ownerSub") String ownerSub,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
 }
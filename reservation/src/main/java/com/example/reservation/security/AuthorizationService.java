@@ -1,5 +1,8 @@
 package com.example.reservation.security;
 
+import com.example.reservation.config.PoolProfile;
+import com.example.reservation.config.UsePool;
+import com.example.reservation.repository.ImportRepository;
 import com.example.reservation.repository.PropertyAccessCodeRepository;
 import com.example.reservation.repository.PropertyRepository;
 import com.example.reservation.repository.ReservationRepository;
@@ -17,11 +20,13 @@ import java.util.UUID;
 @Service("authz")
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@UsePool(PoolProfile.INTERACTIVE_READ)
 public class AuthorizationService {
 
     private final PropertyRepository propertyRepository;
     private final ReservationRepository reservationRepository;
     private final PropertyAccessCodeRepository accessCodeRepository;
+    private final ImportRepository importRepository;
 
     /**
      * Vérifie si l'utilisateur est propriétaire de la propriété.
@@ -64,6 +69,15 @@ public class AuthorizationService {
         return accessCodeRepository.existsByIdAndCreatedBySub(accessCodeId, userSub);
     }
 
+    /**
+     * Vérifie si l'utilisateur est l'auteur de l'import en masse.
+     */
+    public boolean isImportOwner(UUID importId, String userSub) {
+        return importRepository.findOwnerSub(importId)
+                .orElseThrow(() -> new EntityNotFoundException("Import not found: " + importId))
+                .equals(userSub);
+    }
+
     private void requirePropertyExists(UUID propertyId) {
         if (!propertyRepository.existsById(propertyId)) {
             throw new EntityNotFoundException("Property not found: " + propertyId);
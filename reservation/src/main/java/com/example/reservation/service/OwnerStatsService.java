@@ -0,0 +1,145 @@
+package com.example.reservation.service;
+
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.repository.OwnerStatsRow;
+import com.example.reservation.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Tableau de bord propriétaire : occupation, revenu par type de tarif et nombre de réservations par statut,
+ * calculés en une seule requête groupée sur reservations/properties (et reservations_archive lorsque
+ * la période dépasse l'horizon d'archivage).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OwnerStatsService {
+
+    /** Statuts comptés comme nuits occupées et revenu réalisé. */
+    private static final Set<ReservationStatus> OCCUPYING_STATUSES =
+            EnumSet.of(ReservationStatus.CONFIRMED, ReservationStatus.COMPLETED);
+
+    static final long MAX_WINDOW_DAYS = 366;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationHistoryService historyService;
+
+    public OwnerStats computeStats(String ownerSub, LocalDate from, LocalDate to) {
+        long days = validateWindow(from, to);
+
+        List<OwnerStatsRow> rows = historyService.includesArchive(from)
+                ? reservationRepository.aggregateOwnerStatsWithArchive(ownerSub, from, to)
+                : reservationRepository.aggregateOwnerStats(ownerSub, from, to);
+
+        // Regroupement des lignes (propriété, statut, tarif) par propriété, triées par titre
+        Map<UUID, StatsAccumulator> byProperty = new LinkedHashMap<>();
+        StatsAccumulator totals = new StatsAccumulator(null, null);
+        rows.stream()
+                .sorted(Comparator.comparing(OwnerStatsRow::getPropertyTitle)
+                        .thenComparing(OwnerStatsRow::getPropertyId))
+                .forEach(row -> {
+                    StatsAccumulator acc = byProperty.computeIfAbsent(row.getPropertyId(),
+                            id -> new StatsAccumulator(id, row.getPropertyTitle()));
+                    acc.add(row);
+                    totals.add(row);
+                });
+
+        List<PropertyStats> properties = byProperty.values().stream()
+                .map(acc -> new PropertyStats(acc.propertyId, acc.propertyTitle, acc.toSummary(days)))
+                .toList();
+        long capacity = days * Math.max(properties.size(), 1);
+
+        return new OwnerStats(from, to, days, totals.toSummary(capacity), properties);
+    }
+
+    /**
+     * Valide la période [from, to) et retourne son nombre de jours.
+     */
+    static long validateWindow(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Les paramètres from et to sont obligatoires");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("La date de début doit être antérieure à la date de fin");
+        }
+        long days = ChronoUnit.DAYS.between(from, to);
+        if (days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("La période ne peut pas dépasser " + MAX_WINDOW_DAYS + " jours");
+        }
+        return days;
+    }
+
+    private static final class StatsAccumulator {
+        private final UUID propertyId;
+        private final String propertyTitle;
+        private long occupiedNights;
+        private final Map<PricingType, BigDecimal> revenueByPricingType = new EnumMap<>(PricingType.class);
+        private final Map<ReservationStatus, Long> reservationsByStatus = new EnumMap<>(ReservationStatus.class);
+
+        private StatsAccumulator(UUID propertyId, String propertyTitle) {
+            this.propertyId = propertyId;
+            this.propertyTitle = propertyTitle;
+            for (PricingType type : PricingType.values()) {
+                revenueByPricingType.put(type, BigDecimal.ZERO);
+            }
+            for (ReservationStatus status : ReservationStatus.values()) {
+                reservationsByStatus.put(status, 0L);
+            }
+        }
+
+        private void add(OwnerStatsRow row) {
+            // Propriété sans réservation sur la période (LEFT JOIN)
+            if (row.getStatus() == null) {
+                return;
+            }
+            ReservationStatus status = ReservationStatus.valueOf(row.getStatus());
+            reservationsByStatus.merge(status, row.getReservationCount(), Long::sum);
+
+            if (OCCUPYING_STATUSES.contains(status)) {
+                occupiedNights += row.getNights();
+                PricingType pricingType = PricingType.valueOf(row.getPricingType());
+                revenueByPricingType.merge(pricingType, row.getRevenue(), BigDecimal::add);
+            }
+        }
+
+        private StatsSummary toSummary(long capacityNights) {
+            Map<PricingType, BigDecimal> revenue = new EnumMap<>(PricingType.class);
+            revenueByPricingType.forEach((type, amount) -> revenue.put(type, amount.setScale(2, RoundingMode.HALF_UP)));
+            BigDecimal total = revenue.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+            double occupancyRate = capacityNights == 0 ? 0.0
+                    : Math.round(occupiedNights * 10000.0 / capacityNights) / 10000.0;
+            return new StatsSummary(occupiedNights, occupancyRate, total, revenue, new EnumMap<>(reservationsByStatus));
+        }
+    }
+
+    public record OwnerStats(
+            LocalDate from,
+            LocalDate to,
+            long days,
+            StatsSummary totals,
+            List<PropertyStats> properties
+    ) {}
+
+    public record PropertyStats(
+            UUID propertyId,
+            String propertyTitle,
+            StatsSummary stats
+    ) {}
+
+    public record StatsSummary(
+            long occupiedNights,
+            double occupancyRate,
+            BigDecimal revenue,
+            Map<PricingType, BigDecimal> revenueByPricingType,
+            Map<ReservationStatus, Long> reservationsByStatus
+    ) {}
+}
@@ -0,0 +1,232 @@
+package com.example.reservation.service;
+
+import com.example.reservation.domain.outbox.OutboxEventType;
+import com.example.reservation.dto.generated.ReservationListResponse;
+import com.example.reservation.mapper.DtoMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flux SSE des réservations en attente pour les propriétaires.
+ * Les connexions inactives ne consomment aucun thread (requêtes asynchrones Servlet) ;
+ * chaque abonnement a sa file d'envoi, vidée sur un thread virtuel, pour qu'un client lent
+ * ne bloque ni le commit ni les autres clients, et que l'ordre des événements soit conservé.
+ * Les derniers événements de chaque propriétaire sont gardés en mémoire pour la reprise via Last-Event-ID.
+ */
+@Slf4j
+@Service
+public class PendingReservationStreamService {
+
+    /** Transitions poussées sur le flux (les autres n'affectent pas la liste des réservations en attente). */
+    private static final Set<OutboxEventType> STREAMED_TYPES = EnumSet.of(
+            OutboxEventType.RESERVATION_CREATED,
+            OutboxEventType.RESERVATION_CONFIRMED,
+            OutboxEventType.RESERVATION_CANCELLED
+    );
+
+    private static final int MAX_BUFFERED_OWNERS = 10_000;
+
+    /** Au-delà, le client est considéré trop lent : le flux est fermé et il reprendra via Last-Event-ID. */
+    private static final int MAX_PENDING_PER_SUBSCRIPTION = 1_000;
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<String, Set<Subscription>> subscriptionsByOwner = new ConcurrentHashMap<>();
+    private final Map<String, Deque<StreamedEvent>> recentEventsByOwner = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Deque<StreamedEvent>> eldest) {
+            return size() > MAX_BUFFERED_OWNERS;
+        }
+    };
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Identifiants croissants, y compris d'un redémarrage à l'autre (la reprise après redémarrage ne rejoue rien). */
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final long emitterTimeoutMs;
+    private final int replayBufferSize;
+
+    public PendingReservationStreamService(
+            @Value("${reservation.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${reservation.stream.replay-buffer-size:100}") int replayBufferSize
+    ) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.replayBufferSize = replayBufferSize;
+    }
+
+    /**
+     * Ouvre un flux pour le propriétaire et rejoue les événements postérieurs à lastEventId s'il est fourni.
+     */
+    public SseEmitter subscribe(String ownerSub, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscription subscription = new Subscription(ownerSub, emitter);
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+
+        // Enregistrement et rejeu sous le même verrou que la diffusion : ni perte ni doublon entre les deux
+        synchronized (recentEventsByOwner) {
+            subscriptionsByOwner.computeIfAbsent(ownerSub, key -> new CopyOnWriteArraySet<>()).add(subscription);
+            if (lastEventId != null) {
+                Deque<StreamedEvent> recent = recentEventsByOwner.get(ownerSub);
+                if (recent != null) {
+                    recent.stream()
+                            .filter(event -> event.id() > lastEventId)
+                            .forEach(subscription::enqueue);
+                }
+            }
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationChanged(ReservationChangedEvent change) {
+        if (!STREAMED_TYPES.contains(change.type())) {
+            return;
+        }
+        StreamedEvent event = new StreamedEvent(sequence.incrementAndGet(), change.type(), toResponse(change));
+
+        synchronized (recentEventsByOwner) {
+            Deque<StreamedEvent> recent = recentEventsByOwner.computeIfAbsent(change.ownerSub(), key -> new ArrayDeque<>());
+            recent.addLast(event);
+            while (recent.size() > replayBufferSize) {
+                recent.removeFirst();
+            }
+
+            Set<Subscription> subscriptions = subscriptionsByOwner.get(change.ownerSub());
+            if (subscriptions != null) {
+                subscriptions.forEach(subscription -> subscription.enqueue(event));
+            }
+        }
+    }
+
+    /**
+     * Commentaire SSE périodique : garde les connexions ouvertes à travers les proxys et détecte les clients partis.
+     */
+    @Scheduled(fixedDelayString = "${reservation.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscriptionsByOwner.values().forEach(subscriptions -> subscriptions.forEach(s -> s.enqueue(HEARTBEAT)));
+    }
+
+    public int connectionCount() {
+        return subscriptionsByOwner.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscriptionsByOwner.values().forEach(subscriptions -> subscriptions.forEach(s -> s.emitter.complete()));
+        sender.shutdown();
+    }
+
+    private static ReservationListResponse toResponse(ReservationChangedEvent change) {
+        return new ReservationListResponse(
+                change.reservationId(),
+                change.propertyId(),
+                change.propertyTitle(),
+                change.startDate(),
+                change.endDate(),
+                DtoMapper.toReservationStatus(change.status()),
+                change.totalPrice()
+        );
+    }
+
+    private record StreamedEvent(long id, OutboxEventType type, ReservationListResponse reservation) {}
+
+    /**
+     * Une connexion SSE : file d'envoi ordonnée, vidée par au plus un thread virtuel à la fois.
+     */
+    private final class Subscription {
+        private final String ownerSub;
+        private final SseEmitter emitter;
+        private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(String ownerSub, SseEmitter emitter) {
+            this.ownerSub = ownerSub;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Object item) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > MAX_PENDING_PER_SUBSCRIPTION) {
+                log.debug("Flux SSE de {} trop lent, fermeture", ownerSub);
+                close();
+                emitter.complete();
+                return;
+            }
+            pending.add(item);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while (!closed && (item = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    deliver(item);
+                }
+            } finally {
+                draining.set(false);
+            }
+            // Élément ajouté entre le dernier poll et la libération du drapeau
+            if (!closed && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void deliver(Object item) {
+            try {
+                if (item == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    StreamedEvent event = (StreamedEvent) item;
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.id()))
+                            .name(event.type().name())
+                            .data(event.reservation(), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Flux SSE fermé pour {} : {}", ownerSub, e.getMessage());
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            pending.clear();
+            subscriptionsByOwner.computeIfPresent(ownerSub, (key, subscriptions) -> {
+                subscriptions.remove(this);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        }
+    }
+}
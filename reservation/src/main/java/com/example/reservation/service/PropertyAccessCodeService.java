@@ -1,8 +1,10 @@
 package com.example.reservation.service;
 
+import com.example.reservation.domain.outbox.OutboxEventType;
 import com.example.reservation.domain.property.Property;
 import com.example.reservation.domain.property.PropertyAccessCode;
 import com.example.reservation.repository.PropertyAccessCodeRepository;
+import com.example.reservation.service.outbox.OutboxService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -29,6 +31,7 @@ public class PropertyAccessCodeService {
     private final PropertyAccessCodeRepository accessCodeRepository;
     private final PropertyService propertyService;
     private final PasswordEncoder passwordEncoder;
+    private final OutboxService outboxService;
     private static final SecureRandom secureRandom = new SecureRandom();
 
     public PropertyAccessCode findById(UUID id) {
@@ -83,17 +86,18 @@ public class PropertyAccessCodeService {
 
     @Transactional
     public PropertyAccessCodeResult create(UUID propertyId, String issuedToEmail, String createdBySub, Instant expiresAt) {
-        Property property = propertyService.findById(propertyId);
-
         // Générer un code aléatoire
         String rawCode = generateSecureCode();
 
         // Créer le lookup (SHA-256) pour recherche rapide
         String codeLookup = sha256(rawCode);
 
-        // Créer le hash (BCrypt) pour validation sécurisée
+        // Créer le hash (BCrypt) pour validation sécurisée, avant la première requête :
+        // la connexion n'est obtenue qu'à la première instruction et n'est pas tenue pendant le hachage
         String codeHash = passwordEncoder.encode(rawCode);
 
+        Property property = propertyService.findById(propertyId);
+
         PropertyAccessCode accessCode = PropertyAccessCode.builder()
                 .property(property)
                 .issuedToEmail(issuedToEmail.toLowerCase())
@@ -104,6 +108,7 @@ public class PropertyAccessCodeService {
                 .build();
 
         PropertyAccessCode saved = accessCodeRepository.save(accessCode);
+        outboxService.recordAccessCodeEvent(OutboxEventType.ACCESS_CODE_CREATED, saved);
 
         // Retourner le code brut (à envoyer à l'utilisateur) + l'entité
         return new PropertyAccessCodeResult(saved, rawCode);
@@ -135,7 +140,9 @@ public class PropertyAccessCodeService {
         accessCode.setRedeemedAt(Instant.now());
         accessCode.setRedeemedBySub(userSub);
 
-        return accessCodeRepository.save(accessCode);
+        PropertyAccessCode saved = accessCodeRepository.save(accessCode);
+        outboxService.recordAccessCodeEvent(OutboxEventType.ACCESS_CODE_REDEEMED, saved);
+        return saved;
     }
 
     @Transactional
@@ -149,7 +156,9 @@ public class PropertyAccessCodeService {
         accessCode.setRevokedAt(Instant.now());
         accessCode.setRevokedBySub(revokedBySub);
 
-        return accessCodeRepository.save(accessCode);
+        PropertyAccessCode saved = accessCodeRepository.save(accessCode);
+        outboxService.recordAccessCodeEvent(OutboxEventType.ACCESS_CODE_REVOKED, saved);
+        return saved;
     }
 
     public boolean validateCode(String rawCode) {
@@ -1,44 +1,87 @@
 package com.example.reservation.service;
 
+import com.example.reservation.config.PoolProfile;
+import com.example.reservation.config.UsePool;
 import com.example.reservation.domain.property.Property;
 import com.example.reservation.domain.property.PropertyStatus;
 import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.repository.PropertySpecifications;
 import com.example.reservation.repository.ReservationRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class PropertyService {
 
+    /**
+     * Alias de tri exposés par l'API (ex: sort=price) vers les attributs de l'entité.
+     */
+    private static final Map<String, String> SORT_ALIASES = Map.of("price", "pricePerNight");
+
+    /** Tri d'une recherche sans position ni tri explicite. */
+    private static final Sort DEFAULT_SEARCH_SORT = Sort.by("createdAt");
+
+    /** Entités écrites entre deux flush + clear d'un import ; multiple de hibernate.jdbc.batch_size. */
+    static final int IMPORT_FLUSH_SIZE = 1000;
+
     private final PropertyRepository propertyRepository;
     private final ReservationRepository reservationRepository;
+    private final EntityManager entityManager;
 
     public Property findById(UUID id) {
         return propertyRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Property not found: " + id));
     }
 
+    /**
+     * Chargement groupé (une requête IN) ; lève EntityNotFoundException si un identifiant est inconnu.
+     */
+    public Map<UUID, Property> findByIds(Collection<UUID> ids) {
+        Map<UUID, Property> properties = propertyRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Property::getId, Function.identity()));
+        ids.stream()
+                .filter(id -> !properties.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new EntityNotFoundException("Property not found: " + id);
+                });
+        return properties;
+    }
+
+    @UsePool(PoolProfile.BATCH)
     public List<Property> findByOwner(String ownerSub) {
         return propertyRepository.findByOwnerSub(ownerSub);
     }
 
+    @UsePool(PoolProfile.BATCH)
     public List<Property> findActiveProperties() {
         return propertyRepository.findByStatus(PropertyStatus.ACTIVE);
     }
 
-    public List<Property> findActivePropertiesByCity(String city) {
-        return propertyRepository.findByStatusAndCityIgnoreCase(PropertyStatus.ACTIVE, city);
+    @UsePool(PoolProfile.BATCH)
+    public List<Property> searchActiveProperties(PropertySearchCriteria criteria) {
+        return propertyRepository.findAll(toSpecification(criteria));
     }
 
     // ===== Paginated methods =====
@@ -51,26 +94,127 @@ public class PropertyService {
         return propertyRepository.findByStatus(PropertyStatus.ACTIVE, pageable);
     }
 
-    public Page<Property> findActivePropertiesByCity(String city, Pageable pageable) {
-        return propertyRepository.findByStatusAndCityIgnoreCase(PropertyStatus.ACTIVE, city, pageable);
+    /**
+     * Recherche paginée. Avec une position, les résultats sont triés par distance et un tri explicite
+     * est refusé ; sans position, le tri par défaut est createdAt.
+     */
+    public Page<Property> searchActiveProperties(PropertySearchCriteria criteria, Pageable pageable) {
+        if (criteria.hasLocation() && pageable.getSort().isSorted()) {
+            throw new IllegalArgumentException(
+                    "sort n'est pas disponible avec lat/lon : les résultats sont triés par distance");
+        }
+        Pageable effectivePageable = criteria.hasLocation()
+                ? pageable
+                : resolveSortAliases(pageable);
+        return propertyRepository.findAll(toSpecification(criteria), effectivePageable);
+    }
+
+    private Specification<Property> toSpecification(PropertySearchCriteria criteria) {
+        criteria.validate();
+
+        List<Specification<Property>> specs = new ArrayList<>();
+        specs.add(PropertySpecifications.hasStatus(PropertyStatus.ACTIVE));
+        if (criteria.city() != null && !criteria.city().isBlank()) {
+            specs.add(PropertySpecifications.cityEqualsIgnoreCase(criteria.city()));
+        }
+        if (criteria.minPrice() != null) {
+            specs.add(PropertySpecifications.pricePerNightAtLeast(criteria.minPrice()));
+        }
+        if (criteria.maxPrice() != null) {
+            specs.add(PropertySpecifications.pricePerNightAtMost(criteria.maxPrice()));
+        }
+        if (criteria.hasLocation()) {
+            specs.add(PropertySpecifications.withinRadius(criteria.latitude(), criteria.longitude(), criteria.effectiveRadiusKm()));
+            specs.add(PropertySpecifications.orderByDistance(criteria.latitude(), criteria.longitude()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    private static void requireCompleteLocation(Double latitude, Double longitude) {
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("latitude et longitude doivent être fournies ensemble");
+        }
+    }
+
+    private static Pageable resolveSortAliases(Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SEARCH_SORT);
+        }
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .map(order -> order.withProperty(SORT_ALIASES.getOrDefault(order.getProperty(), order.getProperty())))
+                .toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
     }
 
     @Transactional
-    public Property create(String ownerSub, String title, String description, String city, BigDecimal pricePerNight) {
+    public Property create(String ownerSub, String title, String description, String city, BigDecimal pricePerNight,
+                           Double latitude, Double longitude) {
+        requireCompleteLocation(latitude, longitude);
+
         Property property = Property.builder()
                 .ownerSub(ownerSub)
                 .title(title)
                 .description(description)
                 .city(city)
                 .pricePerNight(pricePerNight)
+                .latitude(latitude)
+                .longitude(longitude)
                 .status(PropertyStatus.ACTIVE)
                 .build();
 
         return propertyRepository.save(property);
     }
 
+    /**
+     * Création en masse des propriétés d'un propriétaire, dans une seule transaction.
+     * Les lignes sont validées avant la première écriture ; les insertions partent en lots JDBC
+     * (hibernate.jdbc.batch_size, reWriteBatchedInserts) avec un flush + clear tous les IMPORT_FLUSH_SIZE.
+     *
+     * @return les identifiants créés, dans l'ordre des lignes
+     */
     @Transactional
-    public Property update(UUID id, String title, String description, String city, BigDecimal pricePerNight) {
+    @UsePool(PoolProfile.BATCH)
+    public List<UUID> importProperties(String ownerSub, List<PropertyImport> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("L'import doit contenir au moins une propriété");
+        }
+        rows.forEach(row -> requireCompleteLocation(row.latitude(), row.longitude()));
+
+        List<UUID> ids = new ArrayList<>(rows.size());
+        List<Property> chunk = new ArrayList<>(IMPORT_FLUSH_SIZE);
+        for (PropertyImport row : rows) {
+            chunk.add(Property.builder()
+                    .ownerSub(ownerSub)
+                    .title(row.title())
+                    .description(row.description())
+                    .city(row.city())
+                    .pricePerNight(row.pricePerNight())
+                    .latitude(row.latitude())
+                    .longitude(row.longitude())
+                    .status(PropertyStatus.ACTIVE)
+                    .build());
+            if (chunk.size() == IMPORT_FLUSH_SIZE) {
+                flushImportChunk(chunk, ids);
+            }
+        }
+        flushImportChunk(chunk, ids);
+        return ids;
+    }
+
+    private void flushImportChunk(List<Property> chunk, List<UUID> ids) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        propertyRepository.saveAll(chunk).forEach(property -> ids.add(property.getId()));
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    @Transactional
+    public Property update(UUID id, String title, String description, String city, BigDecimal pricePerNight,
+                           Double latitude, Double longitude) {
+        requireCompleteLocation(latitude, longitude);
         Property property = findById(id);
 
         if (title != null) {
@@ -85,6 +229,10 @@ public class PropertyService {
         if (pricePerNight != null) {
             property.setPricePerNight(pricePerNight);
         }
+        if (latitude != null) {
+            property.setLatitude(latitude);
+            property.setLongitude(longitude);
+        }
 
         return propertyRepository.save(property);
     }
@@ -118,7 +266,7 @@ public class PropertyService {
     }
 
     public boolean hasOverlappingReservation(UUID propertyId, LocalDate startDate, LocalDate endDate) {
-        return reservationRepository.existsOverlappingReservation(propertyId, startDate, endDate);
+        return reservationRepository.existsOverlappingReservation(propertyId, startDate, endDate, Instant.now());
     }
 
     @Transactional
@@ -126,4 +274,50 @@ public class PropertyService {
         Property property = findById(id);
         propertyRepository.delete(property);
     }
+
+    public record PropertyImport(
+            String title,
+            String description,
+            String city,
+            BigDecimal pricePerNight,
+            Double latitude,
+            Double longitude
+    ) {}
+
+    public record PropertySearchCriteria(
+            String city,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Double latitude,
+            Double longitude,
+            Double radiusKm
+    ) {
+        public static final double DEFAULT_RADIUS_KM = 10.0;
+        public static final double MAX_RADIUS_KM = 200.0;
+
+        public PropertySearchCriteria(String city, BigDecimal minPrice, BigDecimal maxPrice) {
+            this(city, minPrice, maxPrice, null, null, null);
+        }
+
+        public boolean hasLocation() {
+            return latitude != null && longitude != null;
+        }
+
+        public double effectiveRadiusKm() {
+            return radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM;
+        }
+
+        void validate() {
+            if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+                throw new IllegalArgumentException("minPrice doit être inférieur ou égal à maxPrice");
+            }
+            requireCompleteLocation(latitude, longitude);
+            if (hasLocation() && (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180)) {
+                throw new IllegalArgumentException("Coordonnées invalides");
+            }
+            if (radiusKm != null && (!hasLocation() || radiusKm <= 0 || radiusKm > MAX_RADIUS_KM)) {
+                throw new IllegalArgumentException("radiusKm doit être compris entre 0 et " + MAX_RADIUS_KM + " km et accompagné de lat/lon");
+            }
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.PoolProfile;
+import com.example.reservation.config.UsePool;
+import com.example.reservation.repository.ReservationArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Archivage froid : déplace vers reservations_archive les réservations COMPLETED / CANCELLED
+ * dont le séjour s'est terminé depuis plus de reservation.archive.horizon.
+ * Lots bornés, une transaction courte chacun ; métrique reservation.archive.moved (compteur).
+ * L'agrégat journalier n'est pas modifié : une réservation archivée y reste comptée.
+ */
+@Slf4j
+@Component
+@UsePool(PoolProfile.BATCH)
+public class ReservationArchiveJob {
+
+    private final ReservationArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter moved;
+    private final Period horizon;
+    private final int chunkSize;
+
+    public ReservationArchiveJob(
+            ReservationArchiveRepository archiveRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.archive.horizon:2y}") Period horizon,
+            @Value("${reservation.archive.chunk-size:500}") int chunkSize
+    ) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.moved = meterRegistry.counter("reservation.archive.moved");
+        this.horizon = horizon;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Archive par lots jusqu'à ce qu'un lot incomplet signale la fin du travail.
+     *
+     * @return le nombre de réservations archivées
+     */
+    @Scheduled(cron = "${reservation.archive.cron:0 45 3 * * *}")
+    public int archiveEndedReservations() {
+        LocalDate cutoff = LocalDate.now().minus(horizon);
+        int total = 0;
+        int count;
+        do {
+            Integer result = transactionTemplate.execute(status -> archiveRepository.archiveEndedBefore(cutoff, chunkSize));
+            count = result == null ? 0 : result;
+            total += count;
+            moved.increment(count);
+        } while (count == chunkSize);
+
+        if (total > 0) {
+            log.info("Archivage : {} réservation(s) terminée(s) avant le {} déplacée(s)", total, cutoff);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.reservation.service;
+
+import com.example.reservation.service.outbox.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Point unique de diffusion d'une transition de réservation :
+ * écriture dans l'outbox (consommateurs externes, dans la transaction)
+ * et événement applicatif (consommateurs in-process, ex. flux SSE après commit).
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationChangePublisher {
+
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(ReservationChangedEvent change) {
+        outboxService.recordReservationEvent(change);
+        eventPublisher.publishEvent(change);
+    }
+}
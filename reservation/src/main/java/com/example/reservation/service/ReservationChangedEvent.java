@@ -0,0 +1,45 @@
+package com.example.reservation.service;
+
+import com.example.reservation.domain.outbox.OutboxEventType;
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Événement applicatif publié par {@link ReservationService} à chaque transition,
+ * en même temps que l'écriture dans l'outbox. Instantané détaché de l'entité : utilisable après le commit.
+ */
+public record ReservationChangedEvent(
+        OutboxEventType type,
+        UUID reservationId,
+        UUID propertyId,
+        String propertyTitle,
+        String ownerSub,
+        String tenantSub,
+        LocalDate startDate,
+        LocalDate endDate,
+        ReservationStatus status,
+        BigDecimal totalPrice,
+        PricingType pricingType
+) {
+
+    public static ReservationChangedEvent of(OutboxEventType type, Reservation reservation) {
+        return new ReservationChangedEvent(
+                type,
+                reservation.getId(),
+                reservation.getProperty().getId(),
+                reservation.getProperty().getTitle(),
+                reservation.getProperty().getOwnerSub(),
+                reservation.getTenantSub(),
+                reservation.getStartDate(),
+                reservation.getEndDate(),
+                reservation.getStatus(),
+                reservation.getTotalPrice(),
+                reservation.getPricingType()
+        );
+    }
+}
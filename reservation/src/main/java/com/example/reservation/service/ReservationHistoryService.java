@@ -0,0 +1,57 @@
+package com.example.reservation.service;
+
+import com.example.reservation.domain.reservation.ReservationHistory;
+import com.example.reservation.repository.ReservationHistoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Historique des réservations depuis une date : la table courante suffit tant que la date est dans
+ * l'horizon d'archivage ; au-delà, la lecture porte sur l'union avec reservations_archive.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReservationHistoryService {
+
+    private final ReservationService reservationService;
+    private final ReservationHistoryRepository historyRepository;
+    private final Period horizon;
+
+    public ReservationHistoryService(
+            ReservationService reservationService,
+            ReservationHistoryRepository historyRepository,
+            @Value("${reservation.archive.horizon:2y}") Period horizon
+    ) {
+        this.reservationService = reservationService;
+        this.historyRepository = historyRepository;
+        this.horizon = horizon;
+    }
+
+    /**
+     * true si des réservations terminées à partir de from peuvent avoir été archivées
+     * (l'archivage ne déplace que les séjours terminés avant aujourd'hui moins l'horizon).
+     */
+    public boolean includesArchive(LocalDate from) {
+        return from.isBefore(LocalDate.now().minus(horizon));
+    }
+
+    public Page<ReservationHistory> findByTenant(String tenantSub, LocalDate from, Pageable pageable) {
+        if (includesArchive(from)) {
+            return historyRepository.findByTenantSubEndingFrom(tenantSub, from, pageable);
+        }
+        return reservationService.findByTenantEndingFrom(tenantSub, from, pageable).map(ReservationHistory::of);
+    }
+
+    public Page<ReservationHistory> findByPropertyOwner(String ownerSub, LocalDate from, Pageable pageable) {
+        if (includesArchive(from)) {
+            return historyRepository.findByPropertyOwnerSubEndingFrom(ownerSub, from, pageable);
+        }
+        return reservationService.findByPropertyOwnerEndingFrom(ownerSub, from, pageable).map(ReservationHistory::of);
+    }
+}
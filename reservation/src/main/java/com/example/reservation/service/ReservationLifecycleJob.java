@@ -0,0 +1,147 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.PoolProfile;
+import com.example.reservation.config.UsePool;
+import com.example.reservation.domain.outbox.OutboxEventType;
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.repository.ReservationLifecycleRepository;
+import com.example.reservation.repository.ReservationLifecycleRepository.TransitionedReservation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Transitions automatiques des réservations, exécutées en SQL ensembliste par lots bornés :
+ * fin de séjour (CONFIRMED → COMPLETED) et expiration des options des demandes en attente (PENDING → CANCELLED).
+ * Chaque lot est une transaction courte ; le verrouillage SKIP LOCKED rend les tâches sûres sur plusieurs instances.
+ * Métriques : reservation.lifecycle.processed (compteur, débit) et reservation.lifecycle.chunk (durée par lot),
+ * étiquetées par tâche.
+ */
+@Slf4j
+@Component
+@UsePool(PoolProfile.BATCH)
+public class ReservationLifecycleJob {
+
+    static final String AUTO_COMPLETE = "auto-complete";
+    static final String AUTO_CANCEL = "auto-cancel";
+
+    private final ReservationLifecycleRepository lifecycleRepository;
+    private final ReservationRollupService rollupService;
+    private final ReservationChangePublisher changePublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+
+    public ReservationLifecycleJob(
+            ReservationLifecycleRepository lifecycleRepository,
+            ReservationRollupService rollupService,
+            ReservationChangePublisher changePublisher,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.lifecycle.chunk-size:500}") int chunkSize
+    ) {
+        this.lifecycleRepository = lifecycleRepository;
+        this.rollupService = rollupService;
+        this.changePublisher = changePublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Passe en COMPLETED les réservations confirmées dont la date de départ est passée.
+     */
+    @Scheduled(cron = "${reservation.lifecycle.auto-complete-cron:0 15 2 * * *}")
+    public int completePastStays() {
+        LocalDate today = LocalDate.now();
+        return runInChunks(AUTO_COMPLETE, limit -> {
+            List<TransitionedReservation> rows = lifecycleRepository.completeEndedBefore(today, limit);
+            afterTransitions(rows, ReservationStatus.CONFIRMED, ReservationStatus.COMPLETED,
+                    OutboxEventType.RESERVATION_COMPLETED);
+            return rows.size();
+        });
+    }
+
+    /**
+     * Annule les demandes en attente dont l'option (hold_expires_at) est échue.
+     * Elles ne bloquaient déjà plus leurs dates ; l'annulation les retire de l'ensemble actif.
+     */
+    @Scheduled(cron = "${reservation.lifecycle.auto-cancel-cron:0 */15 * * * *}")
+    public int cancelExpiredHolds() {
+        Instant now = Instant.now();
+        return runInChunks(AUTO_CANCEL, limit -> {
+            List<TransitionedReservation> rows = lifecycleRepository.cancelExpiredHolds(now, limit);
+            afterTransitions(rows, ReservationStatus.PENDING, ReservationStatus.CANCELLED,
+                    OutboxEventType.RESERVATION_CANCELLED);
+            return rows.size();
+        });
+    }
+
+    /**
+     * Enchaîne les lots (une transaction chacun) jusqu'à ce qu'un lot incomplet signale la fin du travail.
+     */
+    private int runInChunks(String job, IntUnaryOperator chunk) {
+        Counter processed = meterRegistry.counter("reservation.lifecycle.processed", "job", job);
+        Timer chunkTimer = meterRegistry.timer("reservation.lifecycle.chunk", "job", job);
+
+        long start = System.nanoTime();
+        int total = 0;
+        int count;
+        do {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Integer result = transactionTemplate.execute(status -> chunk.applyAsInt(chunkSize));
+            sample.stop(chunkTimer);
+            count = result == null ? 0 : result;
+            total += count;
+            processed.increment(count);
+            if (count > 0) {
+                log.debug("{} : lot de {} réservation(s), {} au total", job, count, total);
+            }
+        } while (count == chunkSize);
+
+        if (total > 0) {
+            double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-3);
+            log.info("{} : {} réservation(s) traitée(s) en {} s ({} /s)",
+                    job, total, String.format("%.2f", seconds), Math.round(total / seconds));
+        }
+        return total;
+    }
+
+    /**
+     * Agrégat journalier du lot en une instruction, puis un événement par réservation.
+     */
+    private void afterTransitions(List<TransitionedReservation> rows, ReservationStatus from, ReservationStatus to,
+                                  OutboxEventType type) {
+        ReservationRollupService.Batch rollup = new ReservationRollupService.Batch();
+        rows.forEach(row -> rollup.move(row.propertyId(), row.startDate(), row.endDate(), row.totalPrice(), from, to));
+        rollupService.apply(rollup);
+        rows.forEach(row -> publish(row, to, type));
+    }
+
+    private void publish(TransitionedReservation row, ReservationStatus to, OutboxEventType type) {
+        changePublisher.publish(new ReservationChangedEvent(
+                type,
+                row.id(),
+                row.propertyId(),
+                row.propertyTitle(),
+                row.ownerSub(),
+                row.tenantSub(),
+                row.startDate(),
+                row.endDate(),
+                to,
+                row.totalPrice(),
+                PricingType.valueOf(row.pricingType())
+        ));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.PoolProfile;
+import com.example.reservation.config.UsePool;
+import com.example.reservation.repository.ReservationPartitionRepository;
+import com.example.reservation.repository.ReservationPartitionRepository.BackfillChunk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Partitionnement annuel de reservations (voir V11, V15).
+ * Maintenance : les partitions de l'année courante et des reservation.partitioning.years-ahead années suivantes
+ * existent toujours (au démarrage puis chaque nuit).
+ * Migration en ligne (désactivée par défaut, cron "-") : recopie de l'historique par lots, une transaction courte
+ * par lot, puis bascule des tables une fois la recopie terminée. Les écritures concurrentes sont recopiées
+ * par un trigger créé au début de la migration et supprimé à la bascule ; hors migration, il n'existe pas.
+ */
+@Slf4j
+@Service
+@UsePool(PoolProfile.BATCH)
+public class ReservationPartitionService {
+
+    private final ReservationPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int yearsAhead;
+    private final int chunkSize;
+
+    public ReservationPartitionService(
+            ReservationPartitionRepository partitionRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${reservation.partitioning.years-ahead:2}") int yearsAhead,
+            @Value("${reservation.partitioning.migration-chunk-size:5000}") int chunkSize
+    ) {
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.yearsAhead = yearsAhead;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Crée les partitions manquantes jusqu'à yearsAhead années ; retourne le nombre de partitions créées.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${reservation.partitioning.maintenance-cron:0 0 3 * * *}")
+    public int ensureFuturePartitions() {
+        Optional<String> parent = partitionRepository.findPartitionedParent();
+        if (parent.isEmpty()) {
+            return 0;
+        }
+        // Année UTC : toutes les instances créent les mêmes partitions, quel que soit leur fuseau
+        int current = Year.now(ZoneOffset.UTC).getValue();
+        int created = 0;
+        for (int year = current; year <= current + yearsAhead; year++) {
+            int target = year;
+            if (Boolean.TRUE.equals(transactionTemplate.execute(
+                    status -> partitionRepository.ensureYearPartition(parent.get(), target)))) {
+                log.info("Partition reservations_y{} créée", target);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Crée le trigger de recopie, recopie l'historique dans la table partitionnée puis bascule.
+     * Sans effet une fois la bascule faite ; relancée après une interruption, elle reprend avec le trigger en place.
+     *
+     * @return le nombre de réservations parcourues
+     */
+    @Scheduled(cron = "${reservation.partitioning.migration-cron:-}")
+    public long migrate() {
+        if (!partitionRepository.isShadowPending()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> partitionRepository.startSync());
+        long copied = backfill();
+        Integer reconciled = transactionTemplate.execute(status -> partitionRepository.swap());
+        log.info("Bascule vers la table reservations partitionnée terminée ({} réservations recopiées, "
+                + "{} corrigées au rapprochement)", copied, reconciled);
+        return copied;
+    }
+
+    /**
+     * Recopie par lots (clé id) ; idempotente, elle peut être interrompue et relancée.
+     */
+    long backfill() {
+        long copied = 0;
+        UUID afterId = null;
+        BackfillChunk chunk;
+        do {
+            UUID cursor = afterId;
+            chunk = transactionTemplate.execute(status -> partitionRepository.backfillChunk(cursor, chunkSize));
+            if (chunk == null || chunk.rows() == 0) {
+                break;
+            }
+            afterId = chunk.lastId();
+            copied += chunk.rows();
+            log.debug("Partitionnement : recopie jusqu'à {} ({} réservations parcourues)", afterId, copied);
+        } while (chunk.rows() == chunkSize);
+        return copied;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.PoolProfile;
+import com.example.reservation.config.UsePool;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.repository.ReservationDailyRollupRepository;
+import com.example.reservation.repository.ReservationDailyRollupRepository.DailyRollupRow;
+import com.example.reservation.repository.ReservationDailyRollupRepository.RollupDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintien de l'agrégat journalier reservation_daily_rollup.
+ * Chaque transition retire l'ancienne contribution d'une réservation puis ajoute la nouvelle,
+ * dans la transaction de la transition : l'agrégat reste cohérent avec reservations.
+ * Les contributions d'un lot de transitions sont collectées dans un {@link Batch} et appliquées ensemble.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReservationRollupService {
+
+    private static final List<String> OCCUPYING_STATUSES =
+            List.of(ReservationStatus.CONFIRMED.name(), ReservationStatus.COMPLETED.name());
+
+    private final ReservationDailyRollupRepository rollupRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Reservation reservation) {
+        Batch batch = new Batch();
+        batch.add(reservation);
+        apply(batch);
+    }
+
+    /**
+     * Applique les contributions collectées par un lot de transitions : un upsert (et une purge s'il y a des retraits)
+     * pour tout le lot.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Batch batch) {
+        rollupRepository.apply(batch.deltas);
+    }
+
+    /**
+     * Ajoute la contribution de réservations déjà écrites en base, en une instruction (imports en masse).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Collection<UUID> reservationIds) {
+        rollupRepository.addAll(reservationIds);
+    }
+
+    /** Ajoute la contribution des réservations fusionnées par un import en masse. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addImported(UUID importId) {
+        rollupRepository.addImported(importId);
+    }
+
+    /**
+     * Contributions retirées puis ajoutées au fil d'une ou plusieurs transitions ; l'état de la réservation
+     * est lu au moment de l'appel, un retrait se fait donc avant la modification.
+     */
+    public static final class Batch {
+
+        private final List<RollupDelta> deltas = new ArrayList<>();
+
+        public void add(Reservation reservation) {
+            collect(reservation, 1);
+        }
+
+        public void remove(Reservation reservation) {
+            collect(reservation, -1);
+        }
+
+        /**
+         * Déplace la contribution d'un séjour d'un statut à l'autre, sans entité chargée
+         * (transitions ensemblistes des tâches planifiées).
+         */
+        public void move(UUID propertyId, LocalDate startDate, LocalDate endDate, BigDecimal totalPrice,
+                         ReservationStatus from, ReservationStatus to) {
+            collect(propertyId, from, startDate, endDate, totalPrice, -1);
+            collect(propertyId, to, startDate, endDate, totalPrice, 1);
+        }
+
+        private void collect(Reservation reservation, int sign) {
+            collect(reservation.getProperty().getId(), reservation.getStatus(),
+                    reservation.getStartDate(), reservation.getEndDate(), reservation.getTotalPrice(), sign);
+        }
+
+        private void collect(UUID propertyId, ReservationStatus status, LocalDate startDate, LocalDate endDate,
+                             BigDecimal total, int sign) {
+            long nights = ChronoUnit.DAYS.between(startDate, endDate);
+            if (nights <= 0) {
+                return;
+            }
+            BigDecimal nightly = total.divide(BigDecimal.valueOf(nights), 2, RoundingMode.DOWN);
+            BigDecimal remainder = total.subtract(nightly.multiply(BigDecimal.valueOf(nights)));
+            deltas.add(new RollupDelta(propertyId, status.name(), startDate, endDate, nightly, remainder, sign));
+        }
+    }
+
+    /**
+     * Reconstruction complète depuis reservations (désactivée par défaut, cron "-").
+     */
+    @Scheduled(cron = "${reservation.rollup.rebuild-cron:-}")
+    @Transactional
+    @UsePool(PoolProfile.BATCH)
+    public int rebuild() {
+        int rows = rollupRepository.rebuild();
+        log.info("Agrégat journalier des réservations reconstruit : {} lignes", rows);
+        return rows;
+    }
+
+    /**
+     * Série journalière [from, to) des nuits occupées et du revenu des réservations confirmées ou terminées,
+     * lue dans l'agrégat (O(jours) au lieu de O(réservations)). Les jours sans réservation valent zéro.
+     */
+    public List<DailyStats> dailyStatsForOwner(String ownerSub, LocalDate from, LocalDate to) {
+        OwnerStatsService.validateWindow(from, to);
+
+        Map<LocalDate, DailyRollupRow> rows = rollupRepository
+                .findDailyByOwner(ownerSub, from, to, OCCUPYING_STATUSES).stream()
+                .collect(Collectors.toMap(DailyRollupRow::day, Function.identity()));
+
+        List<DailyStats> series = new ArrayList<>((int) ChronoUnit.DAYS.between(from, to));
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            DailyRollupRow row = rows.get(day);
+            series.add(row == null
+                    ? new DailyStats(day, 0, BigDecimal.ZERO.setScale(2))
+                    : new DailyStats(day, row.nightsBooked(), row.revenue().setScale(2, RoundingMode.HALF_UP)));
+        }
+        return series;
+    }
+
+    public record DailyStats(LocalDate day, long nightsBooked, BigDecimal revenue) {}
+}
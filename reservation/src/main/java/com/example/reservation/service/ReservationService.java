@@ -1,12 +1,18 @@
 package com.example.reservation.service;
 
+import com.example.reservation.config.PoolProfile;
+import com.example.reservation.config.UsePool;
+import com.example.reservation.domain.outbox.OutboxEventType;
 import com.example.reservation.domain.property.Property;
 import com.example.reservation.domain.reservation.PricingType;
 import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationAction;
 import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.repository.ImportRepository;
 import com.example.reservation.repository.ReservationRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -14,38 +20,88 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ReservationService {
 
+    static final int MAX_BATCH_SIZE = 100;
+
+    /** Réservations écrites entre deux flush + clear d'un import ; multiple de hibernate.jdbc.batch_size. */
+    static final int IMPORT_FLUSH_SIZE = 1000;
+
+    private static final Set<ReservationStatus> ACTIVE_STATUSES = EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+
+    private static final Map<ReservationAction, OutboxEventType> TRANSITION_EVENTS = Map.of(
+            ReservationAction.CONFIRM, OutboxEventType.RESERVATION_CONFIRMED,
+            ReservationAction.CANCEL, OutboxEventType.RESERVATION_CANCELLED,
+            ReservationAction.COMPLETE, OutboxEventType.RESERVATION_COMPLETED
+    );
+
     private final ReservationRepository reservationRepository;
+    private final ImportRepository importRepository;
     private final PropertyService propertyService;
+    private final ReservationRollupService rollupService;
+    private final ReservationChangePublisher changePublisher;
+    private final EntityManager entityManager;
+    private final Duration holdDuration;
+
+    public ReservationService(
+            ReservationRepository reservationRepository,
+            ImportRepository importRepository,
+            PropertyService propertyService,
+            ReservationRollupService rollupService,
+            ReservationChangePublisher changePublisher,
+            EntityManager entityManager,
+            @Value("${reservation.hold.duration:PT48H}") Duration holdDuration
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.importRepository = importRepository;
+        this.propertyService = propertyService;
+        this.rollupService = rollupService;
+        this.changePublisher = changePublisher;
+        this.entityManager = entityManager;
+        this.holdDuration = holdDuration;
+    }
 
     public Reservation findById(UUID id) {
         return reservationRepository.findByIdWithProperty(id)
                 .orElseThrow(() -> new EntityNotFoundException("Reservation not found: " + id));
     }
 
+    // ===== Unpaged exports (BATCH pool) =====
+
+    @UsePool(PoolProfile.BATCH)
     public List<Reservation> findByTenant(String tenantSub) {
         return reservationRepository.findByTenantSub(tenantSub);
     }
 
+    @UsePool(PoolProfile.BATCH)
     public List<Reservation> findByProperty(UUID propertyId) {
         return reservationRepository.findByPropertyId(propertyId);
     }
 
+    @UsePool(PoolProfile.BATCH)
     public List<Reservation> findByPropertyOwner(String ownerSub) {
         return reservationRepository.findByPropertyOwnerSub(ownerSub);
     }
 
+    @UsePool(PoolProfile.BATCH)
     public List<Reservation> findPendingByPropertyOwner(String ownerSub) {
         return reservationRepository.findByPropertyOwnerSubAndStatus(ownerSub, ReservationStatus.PENDING);
     }
@@ -62,6 +118,16 @@ public class ReservationService {
         return fetchWithProperty(idsPage);
     }
 
+    public Page<Reservation> findByTenantEndingFrom(String tenantSub, LocalDate from, Pageable pageable) {
+        Page<UUID> idsPage = reservationRepository.findIdsByTenantSubEndingFrom(tenantSub, from, pageable);
+        return fetchWithProperty(idsPage);
+    }
+
+    public Page<Reservation> findByPropertyOwnerEndingFrom(String ownerSub, LocalDate from, Pageable pageable) {
+        Page<UUID> idsPage = reservationRepository.findIdsByPropertyOwnerSubEndingFrom(ownerSub, from, pageable);
+        return fetchWithProperty(idsPage);
+    }
+
     public Page<Reservation> findPendingByPropertyOwner(String ownerSub, Pageable pageable) {
         Page<UUID> idsPage = reservationRepository.findIdsByPropertyOwnerSubAndStatus(ownerSub, ReservationStatus.PENDING, pageable);
         return fetchWithProperty(idsPage);
@@ -96,14 +162,19 @@ public class ReservationService {
             throw new IllegalStateException("Cette propriété n'est pas disponible à la réservation");
         }
 
-        // Vérifier les chevauchements
-        List<Reservation> overlapping = reservationRepository.findOverlappingReservations(propertyId, startDate, endDate);
+        if (ChronoUnit.DAYS.between(startDate, endDate) > Reservation.MAX_STAY_NIGHTS) {
+            throw new IllegalArgumentException("Un séjour ne peut pas dépasser " + Reservation.MAX_STAY_NIGHTS + " nuits");
+        }
+
+        // Vérifier les chevauchements (les options échues ne bloquent plus les dates)
+        Instant now = Instant.now();
+        List<Reservation> overlapping = reservationRepository.findOverlappingReservations(propertyId, startDate, endDate, now);
         if (!overlapping.isEmpty()) {
             throw new IllegalStateException("Les dates demandées chevauchent une réservation existante");
         }
 
         // Calculer le prix
-        long nights = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate);
+        long nights = ChronoUnit.DAYS.between(startDate, endDate);
         BigDecimal totalPrice = property.getPricePerNight().multiply(BigDecimal.valueOf(nights));
 
         Reservation reservation = Reservation.builder()
@@ -115,48 +186,213 @@ public class ReservationService {
                 .unitPriceApplied(property.getPricePerNight())
                 .totalPrice(totalPrice)
                 .pricingType(PricingType.NORMAL)
+                .holdExpiresAt(now.plus(holdDuration))
                 .build();
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        rollupService.add(saved);
+        publishChange(OutboxEventType.RESERVATION_CREATED, saved);
+        return saved;
     }
 
+    /**
+     * Reprise en masse de réservations (migration depuis un autre système) dans une seule transaction.
+     * Tout est validé avant la première écriture : propriétés chargées en une requête, durées de séjour,
+     * chevauchements des séjours actifs (PENDING / CONFIRMED) entre eux et avec l'existant.
+     * Les insertions partent ensuite en lots JDBC (hibernate.jdbc.batch_size, reWriteBatchedInserts) ;
+     * tous les IMPORT_FLUSH_SIZE, flush + clear et alimentation de l'agrégat journalier en une instruction.
+     * Une reprise n'émet ni événement outbox ni notification aux propriétaires.
+     * Sans prix total fourni, le séjour est valorisé au prix par nuit courant de la propriété.
+     *
+     * @return les identifiants créés, dans l'ordre des lignes
+     */
     @Transactional
-    public Reservation confirm(UUID id) {
-        Reservation reservation = findById(id);
+    @UsePool(PoolProfile.BATCH)
+    public List<UUID> importReservations(List<ReservationImport> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("L'import doit contenir au moins une réservation");
+        }
+        Map<UUID, Property> properties = propertyService.findByIds(
+                rows.stream().map(ReservationImport::propertyId).collect(Collectors.toSet()));
+        validateImport(rows);
+
+        Instant holdExpiresAt = Instant.now().plus(holdDuration);
+        List<UUID> ids = new ArrayList<>(rows.size());
+        List<Reservation> chunk = new ArrayList<>(IMPORT_FLUSH_SIZE);
+        for (ReservationImport row : rows) {
+            Property property = properties.get(row.propertyId());
+            BigDecimal nights = BigDecimal.valueOf(ChronoUnit.DAYS.between(row.startDate(), row.endDate()));
+            BigDecimal totalPrice = row.totalPrice() != null
+                    ? row.totalPrice()
+                    : property.getPricePerNight().multiply(nights);
+            chunk.add(Reservation.builder()
+                    .property(property)
+                    .propertyOwnerSub(property.getOwnerSub())
+                    .tenantSub(row.tenantSub())
+                    .startDate(row.startDate())
+                    .endDate(row.endDate())
+                    .status(row.status())
+                    .unitPriceApplied(totalPrice.divide(nights, 2, RoundingMode.HALF_UP))
+                    .totalPrice(totalPrice)
+                    .pricingType(PricingType.NORMAL)
+                    .holdExpiresAt(row.status() == ReservationStatus.PENDING ? holdExpiresAt : null)
+                    .build());
+            if (chunk.size() == IMPORT_FLUSH_SIZE) {
+                flushImportChunk(chunk, ids);
+            }
+        }
+        flushImportChunk(chunk, ids);
+        return ids;
+    }
 
-        if (reservation.getStatus() != ReservationStatus.PENDING) {
-            throw new IllegalStateException("Seule une réservation PENDING peut être confirmée");
+    /**
+     * Contrôles d'un import, sans écriture : le chevauchement avec l'existant est vérifié en une seule requête
+     * ensembliste pour tous les séjours actifs, avant toute insertion (un flush automatique avant requête
+     * casserait les lots JDBC).
+     */
+    private void validateImport(List<ReservationImport> rows) {
+        List<Integer> activeLines = new ArrayList<>();
+        Map<UUID, List<ReservationImport>> activeByProperty = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ReservationImport row = rows.get(i);
+            if (row.startDate() == null || row.endDate() == null || !row.endDate().isAfter(row.startDate())) {
+                throw new IllegalArgumentException("Ligne " + i + " : la date de fin doit être après la date de début");
+            }
+            if (ChronoUnit.DAYS.between(row.startDate(), row.endDate()) > Reservation.MAX_STAY_NIGHTS) {
+                throw new IllegalArgumentException("Ligne " + i + " : un séjour ne peut pas dépasser "
+                        + Reservation.MAX_STAY_NIGHTS + " nuits");
+            }
+            if (row.status() == null) {
+                throw new IllegalArgumentException("Ligne " + i + " : statut obligatoire");
+            }
+            if (ACTIVE_STATUSES.contains(row.status())) {
+                activeLines.add(i);
+                activeByProperty.computeIfAbsent(row.propertyId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        if (!activeLines.isEmpty()) {
+            List<ReservationImport> active = activeLines.stream().map(rows::get).toList();
+            importRepository.firstExistingOverlap(
+                    active.stream().map(ReservationImport::propertyId).toList(),
+                    active.stream().map(ReservationImport::startDate).toList(),
+                    active.stream().map(ReservationImport::endDate).toList(),
+                    Instant.now()
+            ).ifPresent(position -> {
+                throw new IllegalStateException("Ligne " + activeLines.get(position)
+                        + " : les dates chevauchent une réservation existante");
+            });
         }
 
-        reservation.setStatus(ReservationStatus.CONFIRMED);
-        return reservationRepository.save(reservation);
+        for (List<ReservationImport> stays : activeByProperty.values()) {
+            stays.sort(Comparator.comparing(ReservationImport::startDate));
+            for (int i = 1; i < stays.size(); i++) {
+                // Même règle que findOverlappingReservations : bornes incluses
+                if (!stays.get(i).startDate().isAfter(stays.get(i - 1).endDate())) {
+                    throw new IllegalStateException("Import : séjours actifs qui se chevauchent sur la propriété "
+                            + stays.get(i).propertyId());
+                }
+            }
+        }
+    }
+
+    private void flushImportChunk(List<Reservation> chunk, List<UUID> ids) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<UUID> chunkIds = reservationRepository.saveAll(chunk).stream().map(Reservation::getId).toList();
+        entityManager.flush();
+        rollupService.addAll(chunkIds);
+        entityManager.clear();
+        ids.addAll(chunkIds);
+        chunk.clear();
+    }
+
+    @Transactional
+    public Reservation confirm(UUID id) {
+        return transition(findById(id), ReservationAction.CONFIRM);
     }
 
     @Transactional
     public Reservation cancel(UUID id) {
-        Reservation reservation = findById(id);
+        return transition(findById(id), ReservationAction.CANCEL);
+    }
+
+    @Transactional
+    public Reservation complete(UUID id) {
+        return transition(findById(id), ReservationAction.COMPLETE);
+    }
 
-        if (reservation.getStatus() == ReservationStatus.CANCELLED) {
-            throw new IllegalStateException("La réservation est déjà annulée");
+    /**
+     * Applique plusieurs transitions pour un propriétaire dans une seule transaction :
+     * un seul chargement (IN + JOIN FETCH) sert à la fois au contrôle de propriété et aux transitions,
+     * les mises à jour sont envoyées en lot JDBC au flush (hibernate.jdbc.batch_size)
+     * et l'agrégat journalier est mis à jour en une instruction pour tout le lot.
+     * Un élément en échec n'empêche pas les autres ; le résultat est rendu élément par élément.
+     */
+    @Transactional
+    public List<BatchItemResult> applyBatch(String ownerSub, List<BatchItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Le lot doit contenir au moins une opération");
         }
-        if (reservation.getStatus() == ReservationStatus.COMPLETED) {
-            throw new IllegalStateException("Une réservation terminée ne peut pas être annulée");
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Le lot ne peut pas dépasser " + MAX_BATCH_SIZE + " opérations");
         }
 
-        reservation.setStatus(ReservationStatus.CANCELLED);
-        return reservationRepository.save(reservation);
+        List<UUID> ids = items.stream().map(BatchItem::id).distinct().toList();
+        Map<UUID, Reservation> reservations = reservationRepository.findByIdsWithProperty(ids).stream()
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+
+        ReservationRollupService.Batch rollup = new ReservationRollupService.Batch();
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (BatchItem item : items) {
+            Reservation reservation = reservations.get(item.id());
+            if (reservation == null) {
+                results.add(BatchItemResult.failure(item, BatchOutcome.NOT_FOUND, "Reservation not found: " + item.id()));
+            } else if (!reservation.getProperty().isOwnedBy(ownerSub)) {
+                results.add(BatchItemResult.failure(item, BatchOutcome.FORBIDDEN, "Accès refusé"));
+            } else {
+                try {
+                    Reservation updated = transition(reservation, item.action(), rollup);
+                    results.add(BatchItemResult.success(item, updated.getStatus()));
+                } catch (IllegalStateException e) {
+                    results.add(BatchItemResult.failure(item, BatchOutcome.CONFLICT, e.getMessage()));
+                }
+            }
+        }
+        rollupService.apply(rollup);
+        return results;
     }
 
-    @Transactional
-    public Reservation complete(UUID id) {
-        Reservation reservation = findById(id);
+    /**
+     * Transition de statut sur une réservation chargée : la règle est vérifiée avant toute modification,
+     * puis l'agrégat journalier, l'outbox et les écouteurs in-process sont mis à jour.
+     * Une demande dont l'option est échue ne peut plus être confirmée ; toute transition lève l'option.
+     */
+    private Reservation transition(Reservation reservation, ReservationAction action) {
+        ReservationRollupService.Batch rollup = new ReservationRollupService.Batch();
+        Reservation saved = transition(reservation, action, rollup);
+        rollupService.apply(rollup);
+        return saved;
+    }
 
-        if (reservation.getStatus() != ReservationStatus.CONFIRMED) {
-            throw new IllegalStateException("Seule une réservation CONFIRMED peut être complétée");
+    /**
+     * Variante d'un lot : les contributions à l'agrégat sont collectées dans rollup, appliquées par l'appelant.
+     */
+    private Reservation transition(Reservation reservation, ReservationAction action,
+                                   ReservationRollupService.Batch rollup) {
+        ReservationStatus target = action.targetStatus(reservation.getStatus());
+        if (action == ReservationAction.CONFIRM) {
+            requireActiveHold(reservation);
         }
 
-        reservation.setStatus(ReservationStatus.COMPLETED);
-        return reservationRepository.save(reservation);
+        rollup.remove(reservation);
+        reservation.setStatus(target);
+        reservation.setHoldExpiresAt(null);
+        Reservation saved = reservationRepository.save(reservation);
+        rollup.add(saved);
+        publishChange(TRANSITION_EVENTS.get(action), saved);
+        return saved;
     }
 
     @Transactional
@@ -166,7 +402,10 @@ public class ReservationService {
         if (reservation.getStatus() != ReservationStatus.PENDING) {
             throw new IllegalStateException("Le prix ne peut être modifié que sur une réservation PENDING");
         }
+        requireActiveHold(reservation);
 
+        ReservationRollupService.Batch rollup = new ReservationRollupService.Batch();
+        rollup.remove(reservation);
         BigDecimal totalPrice = discountedUnitPrice.multiply(BigDecimal.valueOf(reservation.getNights()));
 
         reservation.setUnitPriceApplied(discountedUnitPrice);
@@ -175,7 +414,10 @@ public class ReservationService {
         reservation.setPricingReason(reason);
         reservation.setPricedBySub(pricedBySub);
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        rollup.add(saved);
+        rollupService.apply(rollup);
+        return saved;
     }
 
     @Transactional
@@ -185,18 +427,34 @@ public class ReservationService {
         if (reservation.getStatus() != ReservationStatus.PENDING) {
             throw new IllegalStateException("Le prix ne peut être modifié que sur une réservation PENDING");
         }
+        requireActiveHold(reservation);
 
+        ReservationRollupService.Batch rollup = new ReservationRollupService.Batch();
+        rollup.remove(reservation);
         reservation.setUnitPriceApplied(BigDecimal.ZERO);
         reservation.setTotalPrice(BigDecimal.ZERO);
         reservation.setPricingType(PricingType.FREE);
         reservation.setPricingReason(reason);
         reservation.setPricedBySub(pricedBySub);
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        rollup.add(saved);
+        rollupService.apply(rollup);
+        return saved;
+    }
+
+    private static void requireActiveHold(Reservation reservation) {
+        if (reservation.isHoldExpired()) {
+            throw new IllegalStateException("L'option sur cette demande de réservation a expiré");
+        }
+    }
+
+    private void publishChange(OutboxEventType type, Reservation reservation) {
+        changePublisher.publish(ReservationChangedEvent.of(type, reservation));
     }
 
     public boolean hasOverlap(UUID propertyId, LocalDate startDate, LocalDate endDate) {
-        List<Reservation> overlapping = reservationRepository.findOverlappingReservations(propertyId, startDate, endDate);
+        List<Reservation> overlapping = reservationRepository.findOverlappingReservations(propertyId, startDate, endDate, Instant.now());
         return !overlapping.isEmpty();
     }
 
@@ -209,4 +467,28 @@ public class ReservationService {
         Reservation reservation = findById(reservationId);
         return reservation.getProperty().isOwnedBy(userSub);
     }
+
+    public record ReservationImport(UUID propertyId, String tenantSub, LocalDate startDate, LocalDate endDate,
+                                    ReservationStatus status, BigDecimal totalPrice) {}
+
+    public record BatchItem(UUID id, ReservationAction action) {}
+
+    public enum BatchOutcome {
+        SUCCESS,
+        NOT_FOUND,
+        FORBIDDEN,
+        CONFLICT
+    }
+
+    public record BatchItemResult(UUID id, ReservationAction action, BatchOutcome outcome,
+                                  ReservationStatus status, String message) {
+
+        static BatchItemResult success(BatchItem item, ReservationStatus status) {
+            return new BatchItemResult(item.id(), item.action(), BatchOutcome.SUCCESS, status, null);
+        }
+
+        static BatchItemResult failure(BatchItem item, BatchOutcome outcome, String message) {
+            return new BatchItemResult(item.id(), item.action(), outcome, null, message);
+        }
+    }
 }
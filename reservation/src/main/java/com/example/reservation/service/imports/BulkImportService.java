@@ -0,0 +1,237 @@
+package com.example.reservation.service.imports;
+
+import com.example.reservation.config.PoolProfile;
+import com.example.reservation.config.UsePool;
+import com.example.reservation.repository.ImportRepository;
+import com.example.reservation.service.ReservationRollupService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Imports en masse de propriétés et de réservations (CSV / NDJSON), en flux et à mémoire constante :
+ * <ol>
+ *     <li>lecture par lots de chunk-size enregistrements, validés en parallèle (format, valeurs) ;</li>
+ *     <li>chargement de chaque lot par COPY : lignes valides dans la table de transit, rejets dans import_errors ;</li>
+ *     <li>contrôles ensemblistes en SQL (propriété du propriétaire, chevauchements avec l'existant
+ *     et entre lignes du fichier), puis fusion dans properties / reservations et alimentation de l'agrégat
+ *     journalier, dans une seule transaction.</li>
+ * </ol>
+ * Le rapport par ligne (identifiant créé ou motif du rejet) est conservé report-retention.
+ * Une reprise n'émet ni événement outbox ni notification aux propriétaires.
+ */
+@Slf4j
+@Service
+@UsePool(PoolProfile.BATCH)
+public class BulkImportService {
+
+    private final ImportRepository importRepository;
+    private final ReservationRollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final int chunkSize;
+    private final Duration reportRetention;
+    private final Duration holdDuration;
+
+    public BulkImportService(
+            ImportRepository importRepository,
+            ReservationRollupService rollupService,
+            TransactionTemplate transactionTemplate,
+            JsonMapper jsonMapper,
+            @Value("${reservation.import.chunk-size:5000}") int chunkSize,
+            @Value("${reservation.import.report-retention:7d}") Duration reportRetention,
+            @Value("${reservation.hold.duration:PT48H}") Duration holdDuration
+    ) {
+        this.importRepository = importRepository;
+        this.rollupService = rollupService;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.chunkSize = chunkSize;
+        this.reportRetention = reportRetention;
+        this.holdDuration = holdDuration;
+    }
+
+    /**
+     * Importe le contenu du flux pour ownerSub. Les réservations ne peuvent viser que ses propriétés.
+     * En cas d'échec de lecture ou de chargement, l'import et ses lignes de transit sont supprimés.
+     */
+    public ImportSummary importStream(ImportKind kind, ImportFormat format, InputStream input, String ownerSub) {
+        importRepository.purgeCreatedBefore(Instant.now().minus(reportRetention));
+
+        UUID importId = UUID.randomUUID();
+        importRepository.create(importId, kind.name(), ownerSub);
+        try {
+            long received = stage(kind, format, input, importId);
+            ImportSummary summary = transactionTemplate.execute(status -> merge(kind, importId, ownerSub, received));
+            log.info("Import {} {} pour {} : {} ligne(s) reçue(s), {} importée(s), {} rejetée(s)",
+                    kind, importId, ownerSub, summary.received(), summary.imported(), summary.rejected());
+            return summary;
+        } catch (RuntimeException e) {
+            importRepository.delete(importId);
+            throw e;
+        }
+    }
+
+    /**
+     * Lecture, validation et chargement COPY, lot par lot.
+     *
+     * @return le nombre d'enregistrements lus
+     */
+    private long stage(ImportKind kind, ImportFormat format, InputStream input, UUID importId) {
+        long received = 0;
+        try (ImportRecordReader reader = ImportRecordReader.open(format, input, jsonMapper)) {
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            for (ImportRecord record = reader.next(); record != null; record = reader.next()) {
+                chunk.add(record);
+                received++;
+                if (chunk.size() == chunkSize) {
+                    stageChunk(kind, importId, chunk);
+                    chunk.clear();
+                }
+            }
+            stageChunk(kind, importId, chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du fichier d'import interrompue", e);
+        }
+        return received;
+    }
+
+    private void stageChunk(ImportKind kind, UUID importId, List<ImportRecord> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Validation sans accès à la base : en parallèle, ordre des lignes conservé
+        List<StagedRow> rows = chunk.parallelStream().map(record -> StagedRow.of(kind, record)).toList();
+
+        StringBuilder accepted = new StringBuilder();
+        StringBuilder rejected = new StringBuilder();
+        for (StagedRow row : rows) {
+            if (row.error() == null) {
+                List<Object> values = new ArrayList<>(row.values().size() + 3);
+                values.add(importId);
+                values.add(row.line());
+                values.add(uuidV7());
+                values.addAll(row.values());
+                appendCsv(accepted, values);
+            } else {
+                appendCsv(rejected, List.of(importId, row.line(), row.error()));
+            }
+        }
+        if (!accepted.isEmpty()) {
+            importRepository.copy(kind.stagingTable(), kind.copyColumns(), accepted.toString());
+        }
+        if (!rejected.isEmpty()) {
+            importRepository.copy("import_errors", List.of("import_id", "line_no", "message"), rejected.toString());
+        }
+    }
+
+    private ImportSummary merge(ImportKind kind, UUID importId, String ownerSub, long received) {
+        long imported = switch (kind) {
+            case PROPERTIES -> importRepository.mergeProperties(importId, ownerSub);
+            case RESERVATIONS -> {
+                importRepository.rejectUnknownProperties(importId, ownerSub);
+                importRepository.rejectOverlapsWithExisting(importId, Instant.now());
+                importRepository.rejectInternalOverlaps(importId);
+                int merged = importRepository.mergeReservations(importId, Instant.now().plus(holdDuration));
+                rollupService.addImported(importId);
+                yield merged;
+            }
+        };
+        long rejected = received - imported;
+        importRepository.complete(importId, received, imported, rejected);
+        return new ImportSummary(importId, kind, received, imported, rejected);
+    }
+
+    /**
+     * Écrit le rapport NDJSON d'un import, une ligne par enregistrement reçu :
+     * {"line":n,"id":"..."} si la ligne a été importée, {"line":n,"error":"..."} sinon.
+     * Lecture par curseur dans une transaction d'écriture : les tables de transit (UNLOGGED)
+     * n'existent que sur le primaire.
+     */
+    public void writeReport(UUID importId, ImportKind kind, OutputStream output) {
+        transactionTemplate.executeWithoutResult(status -> importRepository.streamReport(importId, kind.stagingTable(), rs -> {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("line", rs.getLong("line_no"));
+            UUID id = rs.getObject("id", UUID.class);
+            if (id != null) {
+                line.put("id", id);
+            } else {
+                line.put("error", rs.getString("message"));
+            }
+            try {
+                output.write(jsonMapper.writeValueAsBytes(line));
+                output.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    public ImportKind findKind(UUID importId) {
+        return importRepository.findKind(importId)
+                .map(ImportKind::valueOf)
+                .orElseThrow(() -> new EntityNotFoundException("Import not found: " + importId));
+    }
+
+    /** Ligne CSV au format COPY : NULL = champ vide sans guillemets, texte entre guillemets doublés. */
+    private static void appendCsv(StringBuilder csv, List<Object> values) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            Object value = values.get(i);
+            if (value instanceof String text) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value instanceof BigDecimal amount) {
+                csv.append(amount.toPlainString());
+            } else if (value != null) {
+                csv.append(value);
+            }
+        }
+        csv.append('\n');
+    }
+
+    /**
+     * Identifiant UUIDv7 (horodatage en millisecondes puis aléa), comme les entités :
+     * les lignes importées s'ajoutent en fin d'index de clé primaire.
+     */
+    private static UUID uuidV7() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private record StagedRow(long line, List<Object> values, String error) {
+
+        static StagedRow of(ImportKind kind, ImportRecord record) {
+            if (record.error() != null) {
+                return new StagedRow(record.line(), null, record.error());
+            }
+            try {
+                return new StagedRow(record.line(), kind.parse(record), null);
+            } catch (IllegalArgumentException e) {
+                return new StagedRow(record.line(), null, e.getMessage());
+            }
+        }
+    }
+
+    public record ImportSummary(UUID id, ImportKind kind, long received, long imported, long rejected) {}
+}
@@ -0,0 +1,26 @@
+package com.example.reservation.service.imports;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats acceptés par les imports en masse.
+ * CSV : une ligne d'en-tête (noms de champs de l'API), séparateur virgule, guillemets doubles (RFC 4180).
+ * NDJSON : un objet JSON par ligne.
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    public static ImportFormat of(MediaType contentType) {
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            return CSV;
+        }
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Format d'import non supporté : " + contentType);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.reservation.service.imports;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Nature d'un import : table de transit, colonnes chargées par COPY (après import_id, line_no, id)
+ * et conversion d'un enregistrement en valeurs de ces colonnes.
+ */
+public enum ImportKind {
+
+    PROPERTIES("import_properties_staging",
+            List.of("title", "description", "city", "price_per_night", "latitude", "longitude", "geohash"),
+            ImportRowParser::property),
+
+    RESERVATIONS("import_reservations_staging",
+            List.of("property_id", "tenant_sub", "start_date", "end_date", "status", "total_price"),
+            ImportRowParser::reservation);
+
+    private final String stagingTable;
+    private final List<String> columns;
+    private final Function<ImportRecord, List<Object>> parser;
+
+    ImportKind(String stagingTable, List<String> columns, Function<ImportRecord, List<Object>> parser) {
+        this.stagingTable = stagingTable;
+        this.columns = columns;
+        this.parser = parser;
+    }
+
+    public String stagingTable() {
+        return stagingTable;
+    }
+
+    /** Colonnes de la table de transit, dans l'ordre des lignes COPY. */
+    List<String> copyColumns() {
+        return Stream.concat(Stream.of("import_id", "line_no", "id"), columns.stream()).toList();
+    }
+
+    /**
+     * Valeurs validées d'un enregistrement.
+     *
+     * @throws IllegalArgumentException si l'enregistrement est invalide (message destiné au rapport)
+     */
+    List<Object> parse(ImportRecord record) {
+        return parser.apply(record);
+    }
+}
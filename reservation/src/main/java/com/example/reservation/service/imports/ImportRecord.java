@@ -0,0 +1,22 @@
+package com.example.reservation.service.imports;
+
+import java.util.Map;
+
+/**
+ * Enregistrement lu dans un fichier d'import : numéro de la ligne où il commence et valeurs par champ
+ * (null si absent ou vide), ou erreur de lecture si la ligne est illisible.
+ */
+record ImportRecord(long line, Map<String, String> fields, String error) {
+
+    static ImportRecord of(long line, Map<String, String> fields) {
+        return new ImportRecord(line, fields, null);
+    }
+
+    static ImportRecord unreadable(long line, String error) {
+        return new ImportRecord(line, Map.of(), error);
+    }
+
+    String get(String field) {
+        return fields.get(field);
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.reservation.service.imports;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lecture en flux d'un fichier d'import, un enregistrement à la fois : la mémoire utilisée ne dépend pas
+ * de la taille du fichier. Une ligne illisible produit un enregistrement en erreur au lieu d'interrompre la lecture.
+ */
+abstract class ImportRecordReader implements AutoCloseable {
+
+    /**
+     * Longueur maximale d'un enregistrement, en caractères : une ligne sans fin ou un champ entre guillemets
+     * jamais refermé est rejeté sans être chargé en mémoire.
+     */
+    static final int MAX_RECORD_LENGTH = 16 * 1024;
+
+    protected final BufferedReader reader;
+    protected long line;
+    /** Le dernier enregistrement lu dépassait MAX_RECORD_LENGTH : son contenu a été ignoré. */
+    protected boolean oversized;
+
+    private ImportRecordReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    static ImportRecordReader open(ImportFormat format, InputStream input, JsonMapper jsonMapper) {
+        return switch (format) {
+            case CSV -> new CsvReader(input);
+            case NDJSON -> new NdjsonReader(input, jsonMapper);
+        };
+    }
+
+    /**
+     * @return l'enregistrement suivant, ou null en fin de fichier
+     */
+    abstract ImportRecord next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static ImportRecord tooLong(long line) {
+        return ImportRecord.unreadable(line, "Enregistrement trop long : plus de " + MAX_RECORD_LENGTH + " caractères");
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static final class NdjsonReader extends ImportRecordReader {
+
+        private final JsonMapper jsonMapper;
+
+        private NdjsonReader(InputStream input, JsonMapper jsonMapper) {
+            super(input);
+            this.jsonMapper = jsonMapper;
+        }
+
+        @Override
+        ImportRecord next() throws IOException {
+            String text;
+            do {
+                text = readLine();
+                line++;
+            } while (text != null && !oversized && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            if (oversized) {
+                return tooLong(line);
+            }
+
+            Object value;
+            try {
+                value = jsonMapper.readValue(text, Map.class);
+            } catch (RuntimeException e) {
+                return ImportRecord.unreadable(line, "JSON invalide");
+            }
+            // "null" est lu sans erreur : seul un objet JSON est un enregistrement
+            if (!(value instanceof Map<?, ?> object)) {
+                return ImportRecord.unreadable(line, "JSON invalide");
+            }
+            Map<String, String> fields = new HashMap<>();
+            object.forEach((key, value) -> fields.put(String.valueOf(key),
+                    value == null ? null : blankToNull(String.valueOf(value))));
+            return ImportRecord.of(line, fields);
+        }
+
+        /**
+         * Ligne suivante sans son terminateur, ou null en fin de fichier ; au-delà de MAX_RECORD_LENGTH,
+         * la fin de la ligne est lue sans être conservée.
+         */
+        private String readLine() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            StringBuilder text = new StringBuilder();
+            oversized = false;
+            for (; c != -1 && c != '\n'; c = reader.read()) {
+                if (c == '\r') {
+                    continue;
+                }
+                if (text.length() < MAX_RECORD_LENGTH) {
+                    text.append((char) c);
+                } else {
+                    oversized = true;
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    private static final class CsvReader extends ImportRecordReader {
+
+        private List<String> header;
+
+        private CsvReader(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        ImportRecord next() throws IOException {
+            if (header == null) {
+                header = readFields();
+                if (header == null) {
+                    return null;
+                }
+                if (oversized) {
+                    throw new IllegalArgumentException("En-tête CSV trop long : plus de " + MAX_RECORD_LENGTH + " caractères");
+                }
+                header = header.stream().map(String::trim).toList();
+            }
+
+            List<String> values;
+            long start;
+            do {
+                start = line + 1;
+                values = readFields();
+            } while (values != null && !oversized && values.size() == 1 && values.getFirst().isBlank());
+            if (values == null) {
+                return null;
+            }
+            if (oversized) {
+                return tooLong(start);
+            }
+            if (values.size() != header.size()) {
+                return ImportRecord.unreadable(start, "Nombre de colonnes incorrect : " + values.size()
+                        + " au lieu de " + header.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                fields.put(header.get(i), blankToNull(values.get(i)));
+            }
+            return ImportRecord.of(start, fields);
+        }
+
+        /**
+         * Champs de l'enregistrement suivant (RFC 4180 : un champ entre guillemets peut contenir
+         * virgules, sauts de ligne et guillemets doublés), ou null en fin de fichier. Au-delà de
+         * MAX_RECORD_LENGTH, la fin de l'enregistrement est lue sans être conservée et la liste est vide.
+         */
+        private List<String> readFields() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            long length = 0;
+            oversized = false;
+            for (; c != -1; c = reader.read()) {
+                char ch = (char) c;
+                if (++length > MAX_RECORD_LENGTH) {
+                    // Guillemets et sauts de ligne restent suivis pour trouver la fin de l'enregistrement ;
+                    // un caractère suffit à savoir si le champ courant est commencé
+                    oversized = true;
+                    fields.clear();
+                    field.setLength(Math.min(field.length(), 1));
+                }
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            line++;
+                        }
+                        field.append(ch);
+                    }
+                } else if (ch == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (ch == ',') {
+                    if (!oversized) {
+                        fields.add(field.toString());
+                    }
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    line++;
+                    break;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                }
+            }
+            if (c == -1) {
+                line++;
+            }
+            if (oversized) {
+                return List.of();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
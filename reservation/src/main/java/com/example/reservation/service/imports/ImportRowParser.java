@@ -0,0 +1,135 @@
+package com.example.reservation.service.imports;
+
+import com.example.reservation.domain.property.GeoHash;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Validation ligne à ligne des imports, sans accès à la base (exécutée en parallèle).
+ * Mêmes règles que l'API (openapi.yml) et les contraintes des tables ; les contrôles qui demandent la base
+ * (propriété, chevauchements) sont faits ensuite en SQL sur la table de transit.
+ */
+final class ImportRowParser {
+
+    // DECIMAL(10, 2)
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+
+    private ImportRowParser() {
+    }
+
+    static List<Object> property(ImportRecord record) {
+        String title = text(record, "title", 120, true);
+        String description = text(record, "description", 2000, true);
+        String city = text(record, "city", 120, true);
+        BigDecimal pricePerNight = amount(record, "pricePerNight", true);
+        if (pricePerNight.signum() <= 0) {
+            throw new IllegalArgumentException("pricePerNight doit être strictement positif");
+        }
+        Double latitude = coordinate(record, "latitude", 90);
+        Double longitude = coordinate(record, "longitude", 180);
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("latitude et longitude doivent être fournies ensemble");
+        }
+        String geohash = latitude == null ? null : GeoHash.encode(latitude, longitude);
+        return Arrays.asList(title, description, city, pricePerNight, latitude, longitude, geohash);
+    }
+
+    static List<Object> reservation(ImportRecord record) {
+        UUID propertyId = uuid(record, "propertyId");
+        String tenantSub = text(record, "tenantSub", 64, true);
+        LocalDate startDate = date(record, "startDate");
+        LocalDate endDate = date(record, "endDate");
+        if (!endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("La date de fin doit être après la date de début");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > Reservation.MAX_STAY_NIGHTS) {
+            throw new IllegalArgumentException("Un séjour ne peut pas dépasser " + Reservation.MAX_STAY_NIGHTS + " nuits");
+        }
+        ReservationStatus status = status(record);
+        BigDecimal totalPrice = amount(record, "totalPrice", false);
+        return Arrays.asList(propertyId, tenantSub, startDate, endDate, status.name(), totalPrice);
+    }
+
+    private static String text(ImportRecord record, String field, int maxLength, boolean required) {
+        String value = record.get(field);
+        if (value == null || value.isBlank()) {
+            if (required) {
+                throw new IllegalArgumentException(field + " est obligatoire");
+            }
+            return null;
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " dépasse " + maxLength + " caractères");
+        }
+        return value;
+    }
+
+    private static BigDecimal amount(ImportRecord record, String field, boolean required) {
+        String value = text(record, field, 32, required);
+        if (value == null) {
+            return null;
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " n'est pas un montant : " + value);
+        }
+        if (amount.signum() < 0 || amount.scale() > 2 || amount.compareTo(MAX_AMOUNT) > 0) {
+            throw new IllegalArgumentException(field + " doit être un montant positif à deux décimales au plus");
+        }
+        return amount;
+    }
+
+    private static Double coordinate(ImportRecord record, String field, double bound) {
+        String value = text(record, field, 32, false);
+        if (value == null) {
+            return null;
+        }
+        double coordinate;
+        try {
+            coordinate = Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " n'est pas un nombre : " + value);
+        }
+        if (!(coordinate >= -bound && coordinate <= bound)) {
+            throw new IllegalArgumentException(field + " doit être compris entre -" + (int) bound + " et " + (int) bound);
+        }
+        return coordinate;
+    }
+
+    private static UUID uuid(ImportRecord record, String field) {
+        String value = text(record, field, 36, true);
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(field + " n'est pas un identifiant valide : " + value);
+        }
+    }
+
+    private static LocalDate date(ImportRecord record, String field) {
+        String value = text(record, field, 10, true);
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " n'est pas une date AAAA-MM-JJ : " + value);
+        }
+    }
+
+    private static ReservationStatus status(ImportRecord record) {
+        String value = text(record, "status", 16, true);
+        try {
+            return ReservationStatus.valueOf(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("status inconnu : " + value);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.reservation.service.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Puits in-process : chaque événement est republié comme {@link OutboxMessage}
+ * aux {@code @EventListener} de l'application.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.outbox.sink", havingValue = "in-process")
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
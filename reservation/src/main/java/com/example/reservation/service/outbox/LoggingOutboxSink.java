@@ -0,0 +1,24 @@
+package com.example.reservation.service.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Puits par défaut : une ligne par événement sur le logger "outbox".
+ * Tient lieu de broker en local ; un collecteur de logs peut acheminer ces lignes vers un vrai broker.
+ */
+@Slf4j(topic = "outbox")
+@Component
+@ConditionalOnProperty(name = "reservation.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            log.info("{} {} {} {}", message.id(), message.eventType(), message.aggregateId(), message.payload());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.reservation.service.outbox;
+
+import com.example.reservation.domain.outbox.OutboxEvent;
+import com.example.reservation.domain.outbox.OutboxEventType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Vue immuable d'un événement de l'outbox, transmise aux puits de publication.
+ * Le payload est le JSON tel qu'écrit dans outbox_events.
+ */
+public record OutboxMessage(
+        UUID id,
+        OutboxEventType eventType,
+        String aggregateType,
+        UUID aggregateId,
+        String payload,
+        Instant createdAt
+) {
+
+    public static OutboxMessage from(OutboxEvent event) {
+        return new OutboxMessage(
+                event.getId(),
+                event.getEventType(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getPayload(),
+                event.getCreatedAt()
+        );
+    }
+}
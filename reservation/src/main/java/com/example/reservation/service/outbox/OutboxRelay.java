@@ -0,0 +1,136 @@
+package com.example.reservation.service.outbox;
+
+import com.example.reservation.config.PoolProfile;
+import com.example.reservation.config.UsePool;
+import com.example.reservation.domain.outbox.OutboxEvent;
+import com.example.reservation.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Relais de l'outbox : publie par lots les événements échus vers le puits configuré.
+ * <ol>
+ *     <li>une transaction courte verrouille le lot (SKIP LOCKED) et le réserve pour reservation.outbox.lease
+ *     en repoussant son échéance : aucun verrou n'est tenu pendant l'appel au puits ;</li>
+ *     <li>le lot est publié ; en cas d'échec, ses événements sont republiés un par un pour isoler le fautif ;</li>
+ *     <li>une seconde transaction courte marque les événements publiés, ou replanifie les échecs avec un délai
+ *     exponentiel (reservation.outbox.retry-backoff, plafonné à reservation.outbox.retry-backoff-max) ;
+ *     après reservation.outbox.max-attempts tentatives, l'événement est écarté (dead_lettered_at).</li>
+ * </ol>
+ * Un relais arrêté entre publication et marquage laisse le lot repris à l'expiration du bail :
+ * la livraison reste au moins une fois. Un événement replanifié peut être dépassé par les suivants.
+ */
+@Slf4j
+@Component
+@UsePool(PoolProfile.BATCH)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration retryBackoffMax;
+    private final Duration lease;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxSink sink,
+            TransactionTemplate transactionTemplate,
+            @Value("${reservation.outbox.batch-size:100}") int batchSize,
+            @Value("${reservation.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${reservation.outbox.retry-backoff:5s}") Duration retryBackoff,
+            @Value("${reservation.outbox.retry-backoff-max:1h}") Duration retryBackoffMax,
+            @Value("${reservation.outbox.lease:5m}") Duration lease
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.retryBackoffMax = retryBackoffMax;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.outbox.relay-delay-ms:1000}")
+    public void relay() {
+        int published;
+        do {
+            published = publishNextBatch();
+        } while (published == batchSize);
+    }
+
+    /**
+     * Publie un lot ; retourne le nombre d'événements publiés (0 si la file est vide ou si tout le lot a échoué).
+     */
+    public int publishNextBatch() {
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize, now);
+            events.forEach(event -> event.lease(now.plus(lease)));
+            return events.stream().map(OutboxMessage::from).toList();
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, String> failures = publish(batch);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (OutboxEvent event : outboxEventRepository.findAllById(batch.stream().map(OutboxMessage::id).toList())) {
+                if (!failures.containsKey(event.getId())) {
+                    event.markPublished();
+                    continue;
+                }
+                event.markFailed(failures.get(event.getId()), maxAttempts, backoff(event.getAttempts()));
+                if (event.isDeadLettered()) {
+                    log.error("Événement {} ({}) écarté de l'outbox après {} tentative(s) : {}",
+                            event.getId(), event.getEventType(), event.getAttempts(), event.getLastError());
+                }
+            }
+        });
+        return batch.size() - failures.size();
+    }
+
+    /** Erreurs de publication par identifiant d'événement ; vide si tout le lot est publié. */
+    private Map<UUID, String> publish(List<OutboxMessage> batch) {
+        Map<UUID, String> failures = new HashMap<>();
+        try {
+            sink.publish(batch);
+            return failures;
+        } catch (Exception e) {
+            log.warn("Échec de publication de {} événement(s) de l'outbox : {}", batch.size(), e.getMessage());
+            if (batch.size() == 1) {
+                failures.put(batch.getFirst().id(), e.getMessage());
+                return failures;
+            }
+        }
+
+        for (OutboxMessage message : batch) {
+            try {
+                sink.publish(List.of(message));
+            } catch (Exception e) {
+                failures.put(message.id(), e.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    /** Délai avant la tentative suivante : retryBackoff doublé à chaque échec précédent, plafonné. */
+    Duration backoff(int previousAttempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(previousAttempts, 20));
+        return delay.compareTo(retryBackoffMax) > 0 ? retryBackoffMax : delay;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.reservation.service.outbox;
+
+import com.example.reservation.domain.outbox.OutboxEvent;
+import com.example.reservation.domain.outbox.OutboxEventType;
+import com.example.reservation.domain.property.PropertyAccessCode;
+import com.example.reservation.repository.OutboxEventRepository;
+import com.example.reservation.service.ReservationChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Écriture des événements métier dans l'outbox.
+ * Doit être appelé dans la transaction du changement d'état : l'événement n'existe que si le changement est validé.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JsonMapper jsonMapper;
+
+    public OutboxEvent recordReservationEvent(ReservationChangedEvent change) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("reservationId", change.reservationId());
+        payload.put("propertyId", change.propertyId());
+        payload.put("ownerSub", change.ownerSub());
+        payload.put("tenantSub", change.tenantSub());
+        payload.put("startDate", change.startDate().toString());
+        payload.put("endDate", change.endDate().toString());
+        payload.put("status", change.status().name());
+        payload.put("totalPrice", change.totalPrice());
+        payload.put("pricingType", change.pricingType().name());
+        return record(change.type(), change.reservationId(), payload);
+    }
+
+    /**
+     * Le code brut n'est jamais écrit dans l'outbox (seuls ses hachés sont persistés) :
+     * il n'est remis qu'au créateur dans la réponse HTTP.
+     */
+    public OutboxEvent recordAccessCodeEvent(OutboxEventType type, PropertyAccessCode accessCode) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("accessCodeId", accessCode.getId());
+        payload.put("propertyId", accessCode.getProperty().getId());
+        payload.put("issuedToEmail", accessCode.getIssuedToEmail());
+        payload.put("createdBySub", accessCode.getCreatedBySub());
+        payload.put("expiresAt", accessCode.getExpiresAt() == null ? null : accessCode.getExpiresAt().toString());
+        payload.put("redeemedBySub", accessCode.getRedeemedBySub());
+        payload.put("revokedBySub", accessCode.getRevokedBySub());
+        return record(type, accessCode.getId(), payload);
+    }
+
+    private OutboxEvent record(OutboxEventType type, UUID aggregateId, Map<String, Object> payload) {
+        OutboxEvent event = OutboxEvent.builder()
+                .aggregateType(type.getAggregateType())
+                .aggregateId(aggregateId)
+                .eventType(type)
+                .payload(jsonMapper.writeValueAsString(payload))
+                .build();
+        return outboxEventRepository.save(event);
+    }
+}
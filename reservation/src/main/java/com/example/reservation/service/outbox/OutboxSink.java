@@ -0,0 +1,15 @@
+package com.example.reservation.service.outbox;
+
+import java.util.List;
+
+/**
+ * Destination des événements publiés par {@link OutboxRelay}.
+ * Le puits actif est choisi par la propriété reservation.outbox.sink (log, in-process, webhook).
+ * Une exception laisse le lot non publié : le relais le republie événement par événement puis replanifie
+ * les échecs ; les consommateurs doivent donc être idempotents (clé : {@link OutboxMessage#id()}).
+ * L'appel a lieu hors transaction, sans verrou sur les lignes de l'outbox.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,66 @@
+package com.example.reservation.service.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Puits webhook : le lot est envoyé en un seul POST JSON (tableau d'événements) vers reservation.outbox.webhook.url.
+ * Toute réponse non 2xx lève une exception et le lot est retenté.
+ */
+@Component
+@ConditionalOnProperty(name = "reservation.outbox.sink", havingValue = "webhook")
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+    private final JsonMapper jsonMapper;
+
+    public WebhookOutboxSink(
+            JsonMapper jsonMapper,
+            @Value("${reservation.outbox.webhook.url}") String url,
+            @Value("${reservation.outbox.webhook.timeout:5s}") Duration timeout
+    ) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder()
+                .baseUrl(url)
+                .requestFactory(requestFactory)
+                .build();
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        ArrayNode body = jsonMapper.createArrayNode();
+        for (OutboxMessage message : messages) {
+            ObjectNode node = body.addObject();
+            node.put("id", message.id().toString());
+            node.put("eventType", message.eventType().name());
+            node.put("aggregateType", message.aggregateType());
+            node.put("aggregateId", message.aggregateId().toString());
+            node.put("createdAt", message.createdAt().toString());
+            node.set("payload", readPayload(message.payload()));
+        }
+
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonMapper.writeValueAsString(body))
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private JsonNode readPayload(String payload) {
+        return jsonMapper.readTree(payload);
+    }
+}
@@ -0,0 +1,17 @@
+-- Propriétaire dénormalisé sur les réservations : les listes et contrôles d'accès côté propriétaire
+-- deviennent des parcours d'index sur la seule table reservations, sans jointure sur properties.
+-- Une propriété ne change jamais de propriétaire : la valeur est fixée à la création de la réservation.
+ALTER TABLE reservations ADD COLUMN property_owner_sub VARCHAR(64);
+
+UPDATE reservations r
+SET property_owner_sub = p.owner_sub
+FROM properties p
+WHERE p.id = r.property_id;
+
+ALTER TABLE reservations ALTER COLUMN property_owner_sub SET NOT NULL;
+
+-- Listes propriétaire (toutes, par statut), triées par date de création
+CREATE INDEX idx_reservations_owner_status_created ON reservations(property_owner_sub, status, created_at);
+
+-- Remplacé par idx_reservations_owner_status_created
+DROP INDEX idx_reservations_property_pending;
@@ -0,0 +1,87 @@
+-- Partitionnement de reservations par année de start_date, en ligne.
+-- 1. Cette migration crée la table partitionnée fantôme reservations_partitioned (même colonnes,
+--    mêmes contraintes, index équivalents préfixés idx_rp_) et un trigger qui y recopie chaque
+--    écriture faite sur reservations.
+-- 2. ReservationPartitionService recopie l'historique par lots (clé id), puis bascule les tables
+--    dans une transaction courte : reservations devient reservations_legacy, la table partitionnée
+--    prend le nom reservations et ses index les noms définitifs.
+-- Les partitions s'appellent reservations_yAAAA / reservations_default quel que soit le nom du parent,
+-- ce qui permet à la tâche de maintenance de fonctionner avant comme après la bascule.
+
+CREATE TABLE reservations_partitioned (
+    LIKE reservations INCLUDING DEFAULTS INCLUDING CONSTRAINTS
+) PARTITION BY RANGE (start_date);
+
+-- La clé de partitionnement doit faire partie de la clé primaire
+ALTER TABLE reservations_partitioned ADD CONSTRAINT reservations_partitioned_pkey PRIMARY KEY (id, start_date);
+ALTER TABLE reservations_partitioned ADD CONSTRAINT reservations_partitioned_property_id_fkey
+    FOREIGN KEY (property_id) REFERENCES properties(id);
+
+CREATE INDEX idx_rp_tenant_sub ON reservations_partitioned(tenant_sub);
+CREATE INDEX idx_rp_property_id ON reservations_partitioned(property_id);
+CREATE INDEX idx_rp_pricing_type ON reservations_partitioned(pricing_type);
+CREATE INDEX idx_rp_status ON reservations_partitioned(status);
+CREATE INDEX idx_rp_pending_hold ON reservations_partitioned(hold_expires_at) WHERE status = 'PENDING';
+CREATE INDEX idx_rp_active_dates ON reservations_partitioned(property_id, start_date, end_date)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+CREATE INDEX idx_rp_tenant_active ON reservations_partitioned(tenant_sub, created_at)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+CREATE INDEX idx_rp_owner_status_created ON reservations_partitioned(property_owner_sub, status, created_at);
+
+-- Filet de sécurité pour les séjours au-delà des partitions créées
+CREATE TABLE reservations_default PARTITION OF reservations_partitioned DEFAULT;
+
+-- Crée la partition annuelle p_year du parent p_parent si elle n'existe pas.
+-- Les lignes déjà tombées dans la partition par défaut pour cette année y sont déplacées avant l'attachement.
+CREATE FUNCTION ensure_reservation_partition(p_parent TEXT, p_year INTEGER) RETURNS BOOLEAN AS $$
+DECLARE
+    v_partition TEXT := 'reservations_y' || p_year;
+    v_from DATE := make_date(p_year, 1, 1);
+    v_to DATE := make_date(p_year + 1, 1, 1);
+BEGIN
+    IF to_regclass(v_partition) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_partition, p_parent);
+    EXECUTE format('WITH moved AS (DELETE FROM reservations_default WHERE start_date >= $1 AND start_date < $2 RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', v_partition)
+        USING v_from, v_to;
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   p_parent, v_partition, v_from, v_to);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions couvrant l'historique existant et les deux années à venir
+DO $$
+DECLARE
+    v_first INTEGER := LEAST(
+            COALESCE((SELECT EXTRACT(YEAR FROM MIN(start_date))::INTEGER FROM reservations),
+                     EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER),
+            EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER);
+    v_last INTEGER := EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER + 2;
+BEGIN
+    FOR v_year IN v_first..v_last LOOP
+        PERFORM ensure_reservation_partition('reservations_partitioned', v_year);
+    END LOOP;
+END;
+$$;
+
+-- Recopie des écritures faites sur reservations pendant la migration.
+-- Une mise à jour est rejouée en suppression + insertion ; ON CONFLICT couvre la course avec la recopie par lots.
+CREATE FUNCTION sync_reservations_partitioned() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM reservations_partitioned WHERE id = OLD.id AND start_date = OLD.start_date;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO reservations_partitioned SELECT NEW.* ON CONFLICT (id, start_date) DO NOTHING;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_reservations_sync_partitioned
+    AFTER INSERT OR UPDATE OR DELETE ON reservations
+    FOR EACH ROW EXECUTE FUNCTION sync_reservations_partitioned();
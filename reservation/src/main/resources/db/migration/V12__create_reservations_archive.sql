@@ -0,0 +1,19 @@
+-- Archive froide des réservations terminées (COMPLETED / CANCELLED) au-delà de l'horizon
+-- reservation.archive.horizon. ReservationArchiveJob y déplace les lignes par lots ; les historiques
+-- (listes locataire / propriétaire avec from, statistiques, reconstruction de l'agrégat journalier)
+-- lisent l'union reservations + reservations_archive lorsque la période demandée dépasse l'horizon.
+-- Toute colonne ajoutée à reservations doit l'être aussi ici.
+
+CREATE TABLE reservations_archive (
+    LIKE reservations INCLUDING DEFAULTS INCLUDING CONSTRAINTS,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) WITH (fillfactor = 100);
+
+ALTER TABLE reservations_archive ADD CONSTRAINT reservations_archive_pkey PRIMARY KEY (id);
+ALTER TABLE reservations_archive ADD CONSTRAINT reservations_archive_property_id_fkey
+    FOREIGN KEY (property_id) REFERENCES properties(id);
+
+-- Lignes en lecture seule : index minimaux pour les historiques locataire / propriétaire et les statistiques
+CREATE INDEX idx_reservations_archive_tenant_end ON reservations_archive(tenant_sub, end_date);
+CREATE INDEX idx_reservations_archive_owner_end ON reservations_archive(property_owner_sub, end_date);
+CREATE INDEX idx_reservations_archive_property_dates ON reservations_archive(property_id, start_date);
@@ -0,0 +1,61 @@
+-- Imports en masse (CSV / NDJSON) : suivi des imports, tables de transit alimentées par COPY,
+-- rapport par ligne (identifiant créé ou motif du rejet).
+
+CREATE TABLE imports (
+    id          UUID PRIMARY KEY,
+    kind        VARCHAR(16) NOT NULL,
+    owner_sub   VARCHAR(64) NOT NULL,
+    received    BIGINT NOT NULL DEFAULT 0,
+    imported    BIGINT NOT NULL DEFAULT 0,
+    rejected    BIGINT NOT NULL DEFAULT 0,
+    created_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+
+    CONSTRAINT chk_imports_kind CHECK (kind IN ('PROPERTIES', 'RESERVATIONS'))
+);
+
+CREATE INDEX idx_imports_created_at ON imports(created_at);
+
+-- Lignes rejetées (format, valeurs, propriété inconnue, chevauchement)
+CREATE TABLE import_errors (
+    import_id   UUID NOT NULL REFERENCES imports(id) ON DELETE CASCADE,
+    line_no     BIGINT NOT NULL,
+    message     TEXT NOT NULL,
+
+    CONSTRAINT pk_import_errors PRIMARY KEY (import_id, line_no)
+);
+
+-- Tables de transit non journalisées : écriture COPY sans WAL, non répliquées, vidées après un arrêt brutal.
+-- Les lignes acceptées y restent jusqu'à la purge de l'import (rapport : ligne -> identifiant créé).
+CREATE UNLOGGED TABLE import_properties_staging (
+    import_id       UUID NOT NULL,
+    line_no         BIGINT NOT NULL,
+    id              UUID NOT NULL,
+    title           VARCHAR(120) NOT NULL,
+    description     VARCHAR(2000) NOT NULL,
+    city            VARCHAR(120) NOT NULL,
+    price_per_night DECIMAL(10, 2) NOT NULL,
+    latitude        DOUBLE PRECISION,
+    longitude       DOUBLE PRECISION,
+    geohash         VARCHAR(12),
+
+    CONSTRAINT pk_import_properties_staging PRIMARY KEY (import_id, line_no)
+);
+
+CREATE UNLOGGED TABLE import_reservations_staging (
+    import_id   UUID NOT NULL,
+    line_no     BIGINT NOT NULL,
+    id          UUID NOT NULL,
+    property_id UUID NOT NULL,
+    tenant_sub  VARCHAR(64) NOT NULL,
+    start_date  DATE NOT NULL,
+    end_date    DATE NOT NULL,
+    status      VARCHAR(16) NOT NULL,
+    total_price DECIMAL(10, 2),
+
+    CONSTRAINT pk_import_reservations_staging PRIMARY KEY (import_id, line_no)
+);
+
+-- Contrôle des chevauchements internes au fichier (même propriété, dates proches)
+CREATE INDEX idx_import_reservations_staging_property
+    ON import_reservations_staging(import_id, property_id, start_date);
@@ -0,0 +1,13 @@
+-- Reprises de l'outbox : un événement en échec est replanifié (next_attempt_at, délai exponentiel)
+-- au lieu d'être repris en tête de file à chaque passage ; au-delà du nombre maximal de tentatives,
+-- il est écarté (dead_lettered_at) et n'est plus relu par le relais.
+ALTER TABLE outbox_events
+    ADD COLUMN next_attempt_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD COLUMN dead_lettered_at TIMESTAMP;
+
+UPDATE outbox_events SET next_attempt_at = created_at;
+
+-- File d'attente du relais : événements non publiés et non écartés, par échéance
+DROP INDEX idx_outbox_events_unpublished;
+CREATE INDEX idx_outbox_events_due ON outbox_events(next_attempt_at)
+    WHERE published_at IS NULL AND dead_lettered_at IS NULL;
@@ -0,0 +1,8 @@
+-- Le trigger de recopie vers reservations_partitioned (V11) n'est utile que pendant une migration en ligne,
+-- désactivée par défaut (reservation.partitioning.migration-cron=-). Il est retiré ici et créé par
+-- ReservationPartitionService.migrate() au début de la recopie ; la bascule le supprime.
+-- Sans migration en cours, les écritures sur reservations ne paient plus une seconde écriture (et ses index).
+DROP TRIGGER IF EXISTS trg_reservations_sync_partitioned ON reservations;
+
+-- Le contenu recopié jusqu'ici n'est plus tenu à jour : la prochaine migration repart d'une table vide
+TRUNCATE reservations_partitioned;
@@ -0,0 +1,39 @@
+-- Durée maximale d'un séjour (Reservation.MAX_STAY_NIGHTS = 365 nuits). Les bornes
+-- start_date >= :from - 365 des contrôles de chevauchement et des statistiques propriétaire
+-- (ReservationRepository) supposent cette limite : un séjour plus long y deviendrait invisible.
+-- La limite n'était vérifiée que par ReservationService ; elle est désormais garantie par la base.
+
+-- Les séjours existants trop longs font échouer la migration : ils doivent être corrigés au préalable
+DO $$
+DECLARE
+    long_stays BIGINT;
+BEGIN
+    SELECT COUNT(*) INTO long_stays FROM (
+        SELECT id FROM reservations WHERE end_date - start_date > 365
+        UNION ALL
+        SELECT id FROM reservations_archive WHERE end_date - start_date > 365
+    ) s;
+    IF long_stays > 0 THEN
+        RAISE EXCEPTION '% réservation(s) dépassent 365 nuits : à raccourcir ou scinder avant la migration', long_stays;
+    END IF;
+END $$;
+
+-- Contrainte ajoutée sans vérification (verrou bref) puis validée ; la table partitionnée (V11),
+-- vide hors migration, la reçoit directement et la transmet à ses partitions et à la bascule.
+DO $$
+DECLARE
+    target TEXT;
+    kind "char";
+BEGIN
+    FOREACH target IN ARRAY ARRAY['reservations', 'reservations_archive', 'reservations_partitioned'] LOOP
+        SELECT c.relkind INTO kind FROM pg_class c WHERE c.oid = to_regclass(target);
+        IF kind = 'r' THEN
+            EXECUTE format('ALTER TABLE %I ADD CONSTRAINT chk_reservations_max_stay '
+                           'CHECK (end_date - start_date <= 365) NOT VALID', target);
+            EXECUTE format('ALTER TABLE %I VALIDATE CONSTRAINT chk_reservations_max_stay', target);
+        ELSIF kind = 'p' THEN
+            EXECUTE format('ALTER TABLE %I ADD CONSTRAINT chk_reservations_max_stay '
+                           'CHECK (end_date - start_date <= 365)', target);
+        END IF;
+    END LOOP;
+END $$;
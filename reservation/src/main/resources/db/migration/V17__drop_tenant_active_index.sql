@@ -0,0 +1,6 @@
+-- Aucune requête ne filtre les réservations d'un locataire par statut : la liste paginée
+-- (findIdsByTenantSub) ne filtre que sur tenant_sub et passe par idx_reservations_tenant_sub.
+-- L'index partiel de V9 et son équivalent sur la table partitionnée (V11) ne servaient
+-- qu'à alourdir les écritures.
+DROP INDEX IF EXISTS idx_reservations_tenant_active;
+DROP INDEX IF EXISTS idx_rp_tenant_active;
@@ -0,0 +1,8 @@
+-- Index partiels pour la recherche publique de propriétés (GET /api/properties)
+-- Seules les propriétés ACTIVE sont listées : on n'indexe que celles-ci.
+
+-- Filtre ville + plage de prix, tri par prix
+CREATE INDEX idx_properties_active_city_price ON properties(LOWER(city), price_per_night) WHERE status = 'ACTIVE';
+
+-- Filtre plage de prix sans ville, tri par prix
+CREATE INDEX idx_properties_active_price ON properties(price_per_night) WHERE status = 'ACTIVE';
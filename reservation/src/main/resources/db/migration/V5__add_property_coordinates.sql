@@ -0,0 +1,16 @@
+-- Coordonnées géographiques des propriétés (recherche "autour de moi")
+-- PostGIS n'étant pas disponible sur l'image postgres:16, l'index spatial repose
+-- sur un geohash : les cellules voisines d'un point partagent un préfixe,
+-- ce qui permet des parcours d'intervalles sur un index B-tree.
+ALTER TABLE properties ADD COLUMN latitude  DOUBLE PRECISION;
+ALTER TABLE properties ADD COLUMN longitude DOUBLE PRECISION;
+ALTER TABLE properties ADD COLUMN geohash   VARCHAR(12);
+
+ALTER TABLE properties ADD CONSTRAINT chk_properties_coordinates CHECK (
+    (latitude IS NULL AND longitude IS NULL)
+    OR (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180)
+);
+
+-- text_pattern_ops : permet LIKE 'prefix%' quelle que soit la collation de la base
+CREATE INDEX idx_properties_active_geohash ON properties(geohash text_pattern_ops)
+    WHERE status = 'ACTIVE' AND geohash IS NOT NULL;
@@ -0,0 +1,29 @@
+-- Agrégat journalier des réservations (nuits réservées et revenu par propriété, jour et statut)
+-- Maintenu de manière incrémentale par ReservationService à chaque transition,
+-- et reconstructible intégralement à partir de la table reservations.
+-- Le revenu d'un séjour est réparti par nuit ; le reliquat d'arrondi est porté par la première nuit.
+CREATE TABLE reservation_daily_rollup (
+    property_id     UUID NOT NULL REFERENCES properties(id) ON DELETE CASCADE,
+    day             DATE NOT NULL,
+    status          VARCHAR(16) NOT NULL,
+    nights_booked   INTEGER NOT NULL DEFAULT 0,
+    revenue         DECIMAL(12, 2) NOT NULL DEFAULT 0,
+
+    -- La clé primaire sert aussi les lectures par propriété sur une plage de jours
+    CONSTRAINT pk_reservation_daily_rollup PRIMARY KEY (property_id, day, status),
+    CONSTRAINT chk_reservation_daily_rollup_status CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED'))
+);
+
+-- Alimentation initiale à partir des réservations existantes
+INSERT INTO reservation_daily_rollup (property_id, day, status, nights_booked, revenue)
+SELECT r.property_id,
+       gs.day::date,
+       r.status,
+       COUNT(*),
+       SUM(TRUNC(r.total_price / (r.end_date - r.start_date), 2)
+           + CASE WHEN gs.day::date = r.start_date
+                  THEN r.total_price - TRUNC(r.total_price / (r.end_date - r.start_date), 2) * (r.end_date - r.start_date)
+                  ELSE 0 END)
+FROM reservations r
+CROSS JOIN LATERAL generate_series(r.start_date, r.end_date - 1, INTERVAL '1 day') AS gs(day)
+GROUP BY r.property_id, gs.day::date, r.status;
@@ -0,0 +1,18 @@
+-- Outbox transactionnelle : événements métier écrits dans la même transaction que le changement d'état,
+-- puis publiés par lots par le relais (OutboxRelay) vers le puits configuré.
+CREATE TABLE outbox_events (
+    id              UUID PRIMARY KEY,
+    aggregate_type  VARCHAR(32) NOT NULL,
+    aggregate_id    UUID NOT NULL,
+    event_type      VARCHAR(64) NOT NULL,
+    payload         TEXT NOT NULL,
+
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at    TIMESTAMP,
+    attempts        INTEGER NOT NULL DEFAULT 0,
+    last_error      VARCHAR(500)
+);
+
+-- File d'attente du relais : seuls les événements non publiés sont indexés
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(created_at) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_events_aggregate ON outbox_events(aggregate_id);
@@ -0,0 +1,15 @@
+-- Option temporaire des demandes en attente : une réservation PENDING ne bloque ses dates
+-- que jusqu'à hold_expires_at. Au-delà, elle est ignorée par les contrôles de chevauchement
+-- puis annulée par lots par la tâche d'expiration (ReservationLifecycleJob).
+ALTER TABLE reservations ADD COLUMN hold_expires_at TIMESTAMP;
+
+-- Les demandes existantes reçoivent une option complète à partir de la migration
+UPDATE reservations
+SET hold_expires_at = CURRENT_TIMESTAMP + INTERVAL '48 hours'
+WHERE status = 'PENDING';
+
+ALTER TABLE reservations ADD CONSTRAINT chk_reservations_pending_hold
+    CHECK (status <> 'PENDING' OR hold_expires_at IS NOT NULL);
+
+-- File de la tâche d'expiration : seules les demandes en attente sont indexées
+CREATE INDEX idx_reservations_pending_hold ON reservations(hold_expires_at) WHERE status = 'PENDING';
@@ -0,0 +1,18 @@
+-- Index partiels sur les réservations actives (PENDING, CONFIRMED).
+-- L'historique (COMPLETED, CANCELLED) représente l'essentiel de la table mais n'intervient
+-- ni dans les contrôles de chevauchement ni dans les listes de demandes en cours.
+
+-- Contrôle de chevauchement (findOverlappingReservations, existsOverlappingReservation)
+CREATE INDEX idx_reservations_active_dates ON reservations(property_id, start_date, end_date)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+-- Réservations en cours d'un locataire, les plus récentes d'abord
+CREATE INDEX idx_reservations_tenant_active ON reservations(tenant_sub, created_at)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+-- Demandes en attente sur les propriétés d'un propriétaire
+CREATE INDEX idx_reservations_property_pending ON reservations(property_id, created_at)
+    WHERE status = 'PENDING';
+
+-- Remplacé par idx_reservations_active_dates
+DROP INDEX idx_reservations_dates;
@@ -0,0 +1,81 @@
+package com.example.reservation;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistrar;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Primaire + réplica PostgreSQL en réplication en flux (pg_basebackup puis standby).
+ * Le réplica est déclaré via reservation.datasource.replicas.* ; le routage s'active avec
+ * reservation.datasource.replicas.enabled=true.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class ReplicaTestcontainersConfiguration {
+
+	private static final DockerImageName IMAGE = DockerImageName.parse("postgres:latest");
+
+	// Autorise les connexions de réplication depuis le réseau des conteneurs
+	private static final String PRIMARY_INIT = """
+			#!/bin/bash
+			set -e
+			echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+			""";
+
+	// Copie physique du primaire (-R : standby.signal et primary_conninfo) puis démarrage en lecture seule
+	private static final String REPLICA_ENTRYPOINT = """
+			#!/bin/bash
+			set -e
+			until pg_isready -h primary -p 5432 -U "$PRIMARY_USER"; do sleep 1; done
+			rm -rf "$PGDATA" && mkdir -p "$PGDATA"
+			pg_basebackup -h primary -p 5432 -U "$PRIMARY_USER" -D "$PGDATA" -X stream -R
+			chown -R postgres:postgres "$PGDATA" && chmod 700 "$PGDATA"
+			exec docker-entrypoint.sh postgres
+			""";
+
+	@Bean
+	Network replicationNetwork() {
+		return Network.newNetwork();
+	}
+
+	@Bean
+	@ServiceConnection
+	PostgreSQLContainer<?> postgresContainer(Network replicationNetwork) {
+		return new PostgreSQLContainer<>(IMAGE)
+				.withNetwork(replicationNetwork)
+				.withNetworkAliases("primary")
+				.withCopyToContainer(Transferable.of(PRIMARY_INIT, 0755), "/docker-entrypoint-initdb.d/replication.sh");
+	}
+
+	@Bean
+	GenericContainer<?> replicaContainer(Network replicationNetwork, PostgreSQLContainer<?> postgresContainer) {
+		return new GenericContainer<>(IMAGE)
+				.withNetwork(replicationNetwork)
+				.dependsOn(postgresContainer)
+				.withEnv("PRIMARY_USER", postgresContainer.getUsername())
+				.withEnv("PGPASSWORD", postgresContainer.getPassword())
+				.withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+				.withCopyToContainer(Transferable.of(REPLICA_ENTRYPOINT, 0755), "/replica-entrypoint.sh")
+				.withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint("/replica-entrypoint.sh"))
+				.waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*\\s", 1));
+	}
+
+	@Bean
+	DynamicPropertyRegistrar replicaProperties(PostgreSQLContainer<?> postgresContainer, GenericContainer<?> replicaContainer) {
+		return registry -> {
+			registry.add("reservation.datasource.replicas.urls", () -> "jdbc:postgresql://%s:%d/%s".formatted(
+					replicaContainer.getHost(),
+					replicaContainer.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+					postgresContainer.getDatabaseName()));
+			registry.add("reservation.datasource.replicas.username", postgresContainer::getUsername);
+			registry.add("reservation.datasource.replicas.password", postgresContainer::getPassword);
+		};
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.example.reservation.api;
+
+import com.example.reservation.dto.generated.PageResponsePropertyListResponse;
+import com.example.reservation.dto.generated.PropertyListResponse;
+import com.example.reservation.dto.generated.PropertyResponse;
+import com.example.reservation.dto.generated.PropertyStatus;
+import com.example.reservation.mapper.ListResponseJsonModule;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coût CPU de gzip par niveau face aux octets économisés, sur une fiche propriété (description de 2000 caractères)
+ * et sur une liste non paginée de 1000 propriétés. Les tailles compressées sont journalisées au démarrage de chaque essai.
+ * Une fiche servie depuis PropertyResponseCache ne paie ce coût qu'une fois par version (niveau 9).
+ *
+ * Lancement :
+ * <pre>
+ * ./mvnw -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.example.reservation.api.CompressionBenchmark"
+ * </pre>
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    private static final String[] WORDS = {
+            "appartement", "lumineux", "terrasse", "vue", "mer", "centre", "historique", "calme", "cuisine",
+            "équipée", "chambre", "lit", "double", "salle", "de", "bains", "proche", "gare", "plage", "parking",
+            "balcon", "jardin", "wifi", "rénové", "étage", "ascenseur", "commerces", "marché", "à", "pied"
+    };
+
+    @Param({"property", "page1000"})
+    public String payload;
+
+    @Param({"1", "6", "9"})
+    public int level;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonMapper jsonMapper = JsonMapper.builder().addModule(new ListResponseJsonModule()).build();
+        Random random = new Random(42);
+        Instant now = Instant.now();
+        if (payload.equals("property")) {
+            PropertyResponse property = new PropertyResponse(UUID.randomUUID(), "owner-sub", "Appartement Vieux-Port",
+                    description(random), "Marseille", new BigDecimal("95.00"), PropertyStatus.ACTIVE, now, now);
+            json = jsonMapper.writeValueAsBytes(property);
+        } else {
+            List<PropertyListResponse> content = new ArrayList<>(1000);
+            for (int i = 0; i < 1000; i++) {
+                PropertyListResponse item = new PropertyListResponse(UUID.randomUUID(), "Appartement " + i,
+                        "Marseille", BigDecimal.valueOf(5000 + random.nextInt(20000), 2), PropertyStatus.ACTIVE);
+                item.setLatitude(43.29 + random.nextDouble() / 10);
+                item.setLongitude(5.37 + random.nextDouble() / 10);
+                content.add(item);
+            }
+            json = jsonMapper.writeValueAsBytes(new PageResponsePropertyListResponse(content, 0, 1000, 1000L, 1, true, true));
+        }
+        log.info("{}, gzip {} : {} -> {} octets", payload, level, json.length, gzip().length);
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            out.write(json);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String description(Random random) {
+        StringBuilder description = new StringBuilder(2000);
+        while (description.length() < 1990) {
+            description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return description.toString().trim();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CompressionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
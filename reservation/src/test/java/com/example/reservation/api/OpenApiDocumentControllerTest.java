@@ -0,0 +1,70 @@
+package com.example.reservation.api;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Profil prod : contrat OpenAPI pré-rendu servi sans springdoc, Swagger UI désactivée.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("prod")
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class OpenApiDocumentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    @DisplayName("Pre-rendered OpenAPI JSON is served publicly with a strong ETag")
+    void servesPreRenderedJson() throws Exception {
+        String etag = mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(jsonPath("$.openapi", startsWith("3.")))
+                .andExpect(jsonPath("$.paths['/api/imports/properties']").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v3/api-docs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("The YAML contract is served as bundled")
+    void servesYamlContract() throws Exception {
+        mockMvc.perform(get("/v3/api-docs.yaml"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/yaml"))
+                .andExpect(content().string(startsWith("openapi: 3.0.3")));
+    }
+
+    @Test
+    @DisplayName("Springdoc is not initialized: no parsed OpenAPI model and no Swagger UI")
+    void skipsSpringdoc() throws Exception {
+        assertThat(applicationContext.getBeanNamesForType(OpenAPI.class)).isEmpty();
+
+        mockMvc.perform(get("/swagger-ui.html"))
+                .andExpect(status().isNotFound());
+    }
+}
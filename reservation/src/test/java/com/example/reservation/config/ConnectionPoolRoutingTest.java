@@ -0,0 +1,189 @@
+package com.example.reservation.config;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.service.ReservationService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pools par profil : choix du pool selon @UsePool et la nature de la transaction,
+ * isolation (un pool BATCH épuisé ne bloque pas les écritures) et métriques par pool.
+ */
+@SpringBootTest
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class, ConnectionPoolRoutingTest.ProbeConfig.class})
+class ConnectionPoolRoutingTest {
+
+    private static final String APPLICATION_NAME = "SELECT current_setting('application_name')";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PoolProbe poolProbe;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Connection> held = new ArrayList<>();
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        property = propertyRepository.save(Property.builder()
+                .ownerSub("owner-user-sub")
+                .title("Pooled flat")
+                .description("A beautiful test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        held.forEach(connection -> {
+            try {
+                connection.close();
+            } catch (Exception ignored) {
+                // connexion déjà rendue
+            }
+        });
+        held.clear();
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+    }
+
+    private HikariDataSource pool(PoolProfile profile) throws Exception {
+        return dataSource.unwrap(PoolRoutingDataSource.class).pool(profile);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions use the interactive-read pool, writes the write pool")
+    void routesByTransactionType() {
+        assertThat(applicationName(true)).isEqualTo("reservation-interactive-read");
+        assertThat(applicationName(false)).isEqualTo("reservation-write");
+        assertThat(jdbcTemplate.queryForObject(APPLICATION_NAME, String.class)).isEqualTo("reservation-write");
+    }
+
+    @Test
+    @DisplayName("@UsePool overrides the default pool for the whole call")
+    void annotationSelectsPool() {
+        assertThat(poolProbe.batchRead()).isEqualTo("reservation-batch");
+        assertThat(poolProbe.batchWrite()).isEqualTo("reservation-batch");
+    }
+
+    @Test
+    @DisplayName("An exhausted batch pool does not block reservation creation")
+    void saturatedBatchPoolDoesNotStarveWrites() throws Exception {
+        HikariDataSource batch = pool(PoolProfile.BATCH);
+        for (int i = 0; i < batch.getMaximumPoolSize(); i++) {
+            held.add(batch.getConnection());
+        }
+        assertThat(batch.getHikariPoolMXBean().getIdleConnections()).isZero();
+
+        LocalDate start = LocalDate.now().plusDays(10);
+        Reservation reservation = reservationService.create(property.getId(), "tenant-user-sub", start, start.plusDays(2));
+
+        assertThat(reservation.getId()).isNotNull();
+        assertThat(meterRegistry.get("reservation.datasource.pool.saturation").tag("pool", "batch").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Each pool is sized and monitored separately")
+    void poolsAreSizedAndMonitoredSeparately() throws Exception {
+        assertThat(pool(PoolProfile.WRITE).getMaximumPoolSize()).isEqualTo(10);
+        assertThat(pool(PoolProfile.INTERACTIVE_READ).getMaximumPoolSize()).isEqualTo(16);
+        assertThat(pool(PoolProfile.BATCH).getMaximumPoolSize()).isEqualTo(4);
+        assertThat(pool(PoolProfile.BATCH).getLeakDetectionThreshold()).isEqualTo(600_000);
+        // Peu de connexions inactives conservées hors production
+        assertThat(pool(PoolProfile.WRITE).getMinimumIdle()).isEqualTo(2);
+        assertThat(pool(PoolProfile.INTERACTIVE_READ).getMinimumIdle()).isEqualTo(2);
+        assertThat(pool(PoolProfile.BATCH).getMinimumIdle()).isEqualTo(1);
+        applicationName(true);
+        poolProbe.batchRead();
+
+        for (PoolProfile profile : PoolProfile.values()) {
+            assertThat(meterRegistry.find("reservation.datasource.pool.saturation").tag("pool", profile.poolName()).gauge())
+                    .as(profile.poolName()).isNotNull();
+        }
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "batch").timer()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").tag("pool", "interactive-read").gauge()).isNotNull();
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+
+        @Bean
+        PoolProbe poolProbe(JdbcTemplate jdbcTemplate) {
+            return new PoolProbe(jdbcTemplate);
+        }
+    }
+
+    @UsePool(PoolProfile.BATCH)
+    static class PoolProbe {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        PoolProbe(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Transactional(readOnly = true)
+        public String batchRead() {
+            return jdbcTemplate.queryForObject(APPLICATION_NAME, String.class);
+        }
+
+        @Transactional
+        public String batchWrite() {
+            return jdbcTemplate.queryForObject(APPLICATION_NAME, String.class);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.reservation.config;
+
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.dto.generated.ImportSummaryResponse;
+import com.example.reservation.dto.generated.PageResponseReservationListResponse;
+import com.example.reservation.dto.generated.ReservationListResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Indications de l'image native : DTOs générés, types du domaine et openapi.yml.
+ */
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTest() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Generated DTOs and their nested types are registered for JSON binding")
+    void registersGeneratedDtos() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(ImportSummaryResponse.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PageResponseReservationListResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ReservationListResponse.class)).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Domain entities, Lombok builders and enums are registered")
+    void registersDomainTypes() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Property.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Property.PropertyBuilder.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ReservationStatus.class)).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("The OpenAPI contract is bundled as a resource")
+    void registersOpenApiResource() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("openapi.yml")).accepts(hints);
+    }
+}
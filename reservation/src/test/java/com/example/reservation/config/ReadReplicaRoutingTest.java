@@ -0,0 +1,217 @@
+package com.example.reservation.config;
+
+import com.example.reservation.ReplicaTestcontainersConfiguration;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.service.PropertyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routage primaire / réplica sur deux conteneurs PostgreSQL en réplication en flux :
+ * transactions en lecture seule sur le réplica, écarté lorsqu'il prend du retard ou perd le flux de WAL,
+ * lecture de ses propres écritures sur le primaire pendant la fenêtre de rétention.
+ */
+@SpringBootTest(properties = {
+        "reservation.datasource.replicas.enabled=true",
+        "reservation.datasource.replicas.max-lag=500ms",
+        "reservation.datasource.replicas.sticky-window=2s",
+        // Contrôle du retard déclenché explicitement par les tests
+        "reservation.datasource.replicas.lag-check-ms=3600000"
+})
+@Import({ReplicaTestcontainersConfiguration.class, TestSecurityConfig.class})
+class ReadReplicaRoutingTest {
+
+    private static final String IN_RECOVERY = "SELECT pg_is_in_recovery()";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadReplicaRouter router;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PostgreSQLContainer<?> primary;
+
+    @Autowired
+    private GenericContainer<?> replica;
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        SecurityContextHolder.clearContext();
+        replicaSql("SELECT pg_wal_replay_resume()");
+        allowReplication(true);
+        jdbcTemplate.update("DELETE FROM properties");
+        awaitReplica();
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    /** true si la transaction (lecture seule ou non) est servie par le réplica. */
+    private boolean servedByReplica(boolean readOnly) {
+        return Boolean.TRUE.equals(transaction(readOnly).execute(
+                status -> jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class)));
+    }
+
+    private Property saveProperty(String ownerSub) {
+        return transaction(false).execute(status -> propertyRepository.save(Property.builder()
+                .ownerSub(ownerSub)
+                .title("Replicated flat")
+                .description("A beautiful test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build()));
+    }
+
+    private void replicaSql(String sql) throws Exception {
+        replica.execInContainer("psql", "-U", primary.getUsername(), "-d", primary.getDatabaseName(), "-c", sql);
+    }
+
+    /**
+     * Autorise ou refuse les connexions de réplication sur le primaire ; un refus coupe aussi le flux en cours,
+     * le récepteur du réplica échouant ensuite à se reconnecter.
+     */
+    private void allowReplication(boolean allowed) throws Exception {
+        String from = allowed ? "reject" : "scram-sha-256";
+        String to = allowed ? "scram-sha-256" : "reject";
+        primary.execInContainer("bash", "-c",
+                "sed -i 's/^host replication all all %s$/host replication all all %s/' \"$PGDATA/pg_hba.conf\""
+                        .formatted(from, to));
+        primarySql("SELECT pg_reload_conf()");
+        if (!allowed) {
+            primarySql("SELECT pg_terminate_backend(pid) FROM pg_stat_replication");
+        }
+    }
+
+    private void primarySql(String sql) throws Exception {
+        primary.execInContainer("psql", "-U", primary.getUsername(), "-d", primary.getDatabaseName(), "-c", sql);
+    }
+
+    /** Attend que le réplica ait rejoué tout le WAL reçu et soit réintégré. */
+    private void awaitReplica() throws InterruptedException {
+        await(() -> {
+            router.checkReplicas();
+            return router.hasHealthyReplica();
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("délai d'attente dépassé").isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to the replica, writes and non-transactional access to the primary")
+    void routesReadOnlyTransactionsToReplica() throws InterruptedException {
+        awaitReplica();
+
+        assertThat(servedByReplica(true)).isTrue();
+        assertThat(servedByReplica(false)).isFalse();
+        assertThat(jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Read-only service methods see rows written on the primary once replicated")
+    void serviceReadsReplicatedRows() throws InterruptedException {
+        UUID id = saveProperty("owner-user-sub").getId();
+
+        await(() -> {
+            router.checkReplicas();
+            return propertyService.findByOwner("owner-user-sub").stream().anyMatch(property -> property.getId().equals(id));
+        });
+        assertThat(servedByReplica(true)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A lagging replica is skipped until it catches up")
+    void fallsBackToPrimaryWhenReplicaLags() throws Exception {
+        awaitReplica();
+        replicaSql("SELECT pg_wal_replay_pause()");
+        saveProperty("owner-user-sub");
+        Thread.sleep(1000);
+
+        router.checkReplicas();
+        assertThat(router.hasHealthyReplica()).isFalse();
+        assertThat(servedByReplica(true)).isFalse();
+
+        replicaSql("SELECT pg_wal_replay_resume()");
+        awaitReplica();
+        assertThat(servedByReplica(true)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reads stay on the primary for the writer during the sticky window only")
+    void readYourWritesStickiness() throws InterruptedException {
+        awaitReplica();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer-sub", null, "ROLE_USER"));
+        saveProperty("writer-sub");
+
+        assertThat(servedByReplica(true)).isFalse();
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other-sub", null, "ROLE_USER"));
+        assertThat(servedByReplica(true)).isTrue();
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer-sub", null, "ROLE_USER"));
+        Thread.sleep(2100);
+        assertThat(servedByReplica(true)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A replica whose WAL receiver is disconnected is skipped although it replayed everything it received")
+    void skipsReplicaWithDisconnectedWalReceiver() throws Exception {
+        awaitReplica();
+        allowReplication(false);
+        saveProperty("owner-user-sub");
+
+        await(() -> {
+            router.checkReplicas();
+            return !router.hasHealthyReplica();
+        });
+        assertThat(replicaValue("SELECT pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()")).isEqualTo("t");
+        assertThat(servedByReplica(true)).isFalse();
+
+        allowReplication(true);
+        awaitReplica();
+        assertThat(servedByReplica(true)).isTrue();
+    }
+
+    private String replicaValue(String sql) throws Exception {
+        return replica.execInContainer("psql", "-U", primary.getUsername(), "-d", primary.getDatabaseName(),
+                "-tAc", sql).getStdout().trim();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.reservation.config;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.repository.ReservationRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Préchauffage au démarrage : terminé avant l'état ACCEPTING_TRAFFIC, pools ouverts, métriques publiées.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class, StartupWarmupTest.ReadinessConfig.class})
+class StartupWarmupTest {
+
+    @Autowired
+    private StartupWarmup startupWarmup;
+
+    @Autowired
+    private ReadinessRecorder readinessRecorder;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Readiness switches to ACCEPTING_TRAFFIC only after the warmup has completed")
+    void gatesReadinessOnWarmup() {
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(readinessRecorder.warmupCompletedWhenReady).isTrue();
+        assertThat(startupWarmup.completedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Warmup opens every primary pool to its minimum size")
+    void opensPoolsToMinimumSize() throws Exception {
+        PoolRoutingDataSource routing = dataSource.unwrap(PoolRoutingDataSource.class);
+
+        for (HikariDataSource pool : routing.pools().values()) {
+            assertThat(pool.getHikariPoolMXBean().getTotalConnections())
+                    .as(pool.getPoolName())
+                    .isGreaterThanOrEqualTo(pool.getMinimumIdle());
+        }
+    }
+
+    @Test
+    @DisplayName("Warmup publishes its duration, time to a stable p99 and synthetic request latencies")
+    void publishesWarmupMetrics() {
+        double duration = meterRegistry.get("reservation.warmup.duration").timeGauge().value(TimeUnit.MILLISECONDS);
+        double timeToStableP99 = meterRegistry.get("reservation.warmup.time.to.stable.p99").timeGauge()
+                .value(TimeUnit.MILLISECONDS);
+
+        assertThat(duration).isGreaterThanOrEqualTo(0);
+        assertThat(timeToStableP99).isGreaterThanOrEqualTo(duration);
+        assertThat(meterRegistry.get("reservation.warmup.p99").timeGauge().value(TimeUnit.NANOSECONDS)).isPositive();
+        // Au moins deux tours : 3 endpoints publics et les méthodes @PreAuthorize des contrôleurs
+        assertThat(meterRegistry.get("reservation.warmup.request").timer().count()).isGreaterThanOrEqualTo(2L * 20 * 3);
+    }
+
+    @Test
+    @DisplayName("Repository queries bound by a page, an id or a sub are executed, status-only finders are skipped")
+    void skipsUnboundedRepositoryQueries() throws Exception {
+        assertThat(StartupWarmup.isBounded(PropertyRepository.class.getMethod("findByStatus", PropertyStatus.class)))
+                .isFalse();
+        assertThat(StartupWarmup.isBounded(PropertyRepository.class.getMethod("findByStatus", PropertyStatus.class, Pageable.class)))
+                .isTrue();
+        assertThat(StartupWarmup.isBounded(ReservationRepository.class.getMethod("findByIdWithProperty", UUID.class)))
+                .isTrue();
+        assertThat(StartupWarmup.isBounded(ReservationRepository.class.getMethod("existsOverlappingReservation",
+                UUID.class, LocalDate.class, LocalDate.class, LocalDate.class, Instant.class)))
+                .isTrue();
+    }
+
+    @TestConfiguration
+    static class ReadinessConfig {
+
+        @Bean
+        ReadinessRecorder readinessRecorder(ObjectProvider<StartupWarmup> startupWarmup) {
+            return new ReadinessRecorder(startupWarmup);
+        }
+    }
+
+    static class ReadinessRecorder {
+
+        private final ObjectProvider<StartupWarmup> startupWarmup;
+        private volatile boolean warmupCompletedWhenReady;
+
+        ReadinessRecorder(ObjectProvider<StartupWarmup> startupWarmup) {
+            this.startupWarmup = startupWarmup;
+        }
+
+        @EventListener
+        void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                warmupCompletedWhenReady = startupWarmup.getObject().completedAt() != null;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.reservation.controller;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.dto.generated.PageResponsePropertyListResponse;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.repository.ReservationRepository;
+import com.example.reservation.security.WithJwt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Négociation CBOR sur les endpoints de lecture ; JSON reste le format par défaut.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class CborNegotiationTest {
+
+    private static final MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
+    private static final String TENANT_SUB = "tenant-user-sub";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private CBORMapper cborMapper;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        propertyRepository.deleteAll();
+
+        for (int i = 0; i < 10; i++) {
+            Property property = propertyRepository.save(Property.builder()
+                    .ownerSub("owner-user-sub")
+                    .title("Appartement " + i)
+                    .description("Deux pièces lumineux")
+                    .city("Lyon")
+                    .pricePerNight(new BigDecimal("80.00"))
+                    .status(PropertyStatus.ACTIVE)
+                    .latitude(45.76 + i / 100.0)
+                    .longitude(4.83)
+                    .build());
+            reservationRepository.save(Reservation.builder()
+                    .property(property)
+                    .tenantSub(TENANT_SUB)
+                    .startDate(LocalDate.now().plusDays(10 + i))
+                    .endDate(LocalDate.now().plusDays(12 + i))
+                    .status(ReservationStatus.CONFIRMED)
+                    .unitPriceApplied(property.getPricePerNight())
+                    .totalPrice(new BigDecimal("160.00"))
+                    .pricingType(PricingType.NORMAL)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/properties returns CBOR when requested, with the same content as JSON in fewer bytes")
+    void propertiesAsCbor() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/properties").accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get("/api/properties").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        PageResponsePropertyListResponse decoded = cborMapper.readValue(cbor, PageResponsePropertyListResponse.class);
+        assertThat(decoded.getContent()).hasSize(10);
+        assertThat(decoded).usingRecursiveComparison()
+                .isEqualTo(jsonMapper.readValue(json, PageResponsePropertyListResponse.class));
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    @Test
+    @WithJwt(subject = TENANT_SUB)
+    @DisplayName("GET /api/reservations/mine returns CBOR when requested")
+    void reservationsAsCbor() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/reservations/mine").accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode decoded = cborMapper.readTree(cbor);
+        assertThat(decoded.get("content")).hasSize(10);
+        assertThat(decoded.get("content").get(0).get("status").asString()).isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    @DisplayName("JSON stays the default without Accept or with a wildcard")
+    void jsonIsDefault() throws Exception {
+        mockMvc.perform(get("/api/properties"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/api/properties").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.reservation.controller;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.repository.ReservationRepository;
+import com.example.reservation.security.WithJwt;
+import com.example.reservation.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class OwnerControllerTest {
+
+    @Value("${reservation.hold.duration}")
+    private Duration holdDuration;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private static final String OWNER_SUB = "owner-user-sub";
+    private static final String TENANT_SUB = "tenant-user-sub";
+    private static final String OTHER_USER_SUB = "other-user-sub";
+
+    private static final LocalDate FROM = LocalDate.of(2030, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2030, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        propertyRepository.deleteAll();
+    }
+
+    private Property createProperty(String ownerSub, String title) {
+        return propertyRepository.save(Property.builder()
+                .ownerSub(ownerSub)
+                .title(title)
+                .description("A beautiful test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build());
+    }
+
+    private Reservation createReservation(Property property, ReservationStatus status, PricingType pricingType,
+                                          LocalDate startDate, LocalDate endDate) {
+        long nights = ChronoUnit.DAYS.between(startDate, endDate);
+        BigDecimal total = pricingType == PricingType.FREE
+                ? BigDecimal.ZERO
+                : property.getPricePerNight().multiply(BigDecimal.valueOf(nights));
+        return reservationRepository.save(Reservation.builder()
+                .property(property)
+                .tenantSub(TENANT_SUB)
+                .startDate(startDate)
+                .endDate(endDate)
+                .status(status)
+                .holdExpiresAt(status == ReservationStatus.PENDING ? Instant.now().plus(holdDuration) : null)
+                .unitPriceApplied(property.getPricePerNight())
+                .totalPrice(total)
+                .pricingType(pricingType)
+                .build());
+    }
+
+    // ===== GET /api/owners/me/stats =====
+
+    @Nested
+    @DisplayName("GET /api/owners/me/stats - Owner dashboard")
+    class GetMyStats {
+
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Aggregates occupancy, revenue and status counts per property")
+        void aggregatesStatsPerProperty() throws Exception {
+            Property seaView = createProperty(OWNER_SUB, "A - Sea view");
+            createProperty(OWNER_SUB, "B - Empty loft");
+            Property foreign = createProperty(OTHER_USER_SUB, "Other owner");
+
+            createReservation(seaView, ReservationStatus.CONFIRMED, PricingType.NORMAL,
+                    LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 10));
+            // Séjour à cheval sur le début de la période : 2 nuits sur 5 comptées
+            createReservation(seaView, ReservationStatus.COMPLETED, PricingType.NORMAL,
+                    LocalDate.of(2029, 12, 29), LocalDate.of(2030, 1, 3));
+            createReservation(seaView, ReservationStatus.CONFIRMED, PricingType.FREE,
+                    LocalDate.of(2030, 1, 20), LocalDate.of(2030, 1, 22));
+            createReservation(seaView, ReservationStatus.PENDING, PricingType.NORMAL,
+                    LocalDate.of(2030, 1, 12), LocalDate.of(2030, 1, 14));
+            createReservation(seaView, ReservationStatus.CANCELLED, PricingType.NORMAL,
+                    LocalDate.of(2030, 1, 15), LocalDate.of(2030, 1, 17));
+            // Hors période
+            createReservation(seaView, ReservationStatus.CONFIRMED, PricingType.NORMAL,
+                    LocalDate.of(2030, 2, 5), LocalDate.of(2030, 2, 10));
+            createReservation(foreign, ReservationStatus.CONFIRMED, PricingType.NORMAL,
+                    LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 10));
+
+            mockMvc.perform(get("/api/owners/me/stats")
+                            .param("from", FROM.toString())
+                            .param("to", TO.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.days", is(30)))
+                    .andExpect(jsonPath("$.properties", hasSize(2)))
+                    .andExpect(jsonPath("$.properties[0].propertyTitle", is("A - Sea view")))
+                    .andExpect(jsonPath("$.properties[0].stats.occupiedNights", is(9)))
+                    .andExpect(jsonPath("$.properties[0].stats.occupancyRate", is(0.3)))
+                    .andExpect(jsonPath("$.properties[0].stats.revenue", is(700.0)))
+                    .andExpect(jsonPath("$.properties[0].stats.revenueByPricingType[?(@.pricingType == 'NORMAL')].revenue",
+                            contains(700.0)))
+                    .andExpect(jsonPath("$.properties[0].stats.revenueByPricingType[?(@.pricingType == 'FREE')].revenue",
+                            contains(0.0)))
+                    .andExpect(jsonPath("$.properties[0].stats.reservationsByStatus[?(@.status == 'CONFIRMED')].count",
+                            contains(2)))
+                    .andExpect(jsonPath("$.properties[0].stats.reservationsByStatus[?(@.status == 'PENDING')].count",
+                            contains(1)))
+                    .andExpect(jsonPath("$.properties[0].stats.reservationsByStatus[?(@.status == 'CANCELLED')].count",
+                            contains(1)))
+                    .andExpect(jsonPath("$.properties[0].stats.reservationsByStatus[?(@.status == 'COMPLETED')].count",
+                            contains(1)))
+                    .andExpect(jsonPath("$.properties[1].propertyTitle", is("B - Empty loft")))
+                    .andExpect(jsonPath("$.properties[1].stats.occupiedNights", is(0)))
+                    .andExpect(jsonPath("$.totals.occupiedNights", is(9)))
+                    .andExpect(jsonPath("$.totals.occupancyRate", is(0.15)))
+                    .andExpect(jsonPath("$.totals.revenue", is(700.0)));
+        }
+
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Returns 400 when from is not before to")
+        void returns400WhenRangeInverted() throws Exception {
+            mockMvc.perform(get("/api/owners/me/stats")
+                            .param("from", TO.toString())
+                            .param("to", FROM.toString()))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Returns 400 when dates are missing")
+        void returns400WhenDatesMissing() throws Exception {
+            mockMvc.perform(get("/api/owners/me/stats"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Returns 401 without authentication")
+        void returns401WithoutAuth() throws Exception {
+            mockMvc.perform(get("/api/owners/me/stats")
+                            .param("from", FROM.toString())
+                            .param("to", TO.toString()))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    // ===== GET /api/owners/me/stats/daily =====
+
+    @Nested
+    @DisplayName("GET /api/owners/me/stats/daily - Owner daily series from the rollup")
+    class GetMyDailyStats {
+
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Returns one entry per day reflecting reservation transitions")
+        void returnsDailySeries() throws Exception {
+            Property property = createProperty(OWNER_SUB, "Rollup flat");
+            Property foreign = createProperty(OTHER_USER_SUB, "Other owner");
+
+            Reservation confirmed = reservationService.create(property.getId(), TENANT_SUB,
+                    LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 4));
+            reservationService.confirm(confirmed.getId());
+
+            Reservation discounted = reservationService.create(property.getId(), TENANT_SUB,
+                    LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 6));
+            reservationService.applyDiscount(discounted.getId(), new BigDecimal("40.00"), "Fidélité", OWNER_SUB);
+            reservationService.confirm(discounted.getId());
+
+            // Annulée puis remplacée par une demande en attente : hors série
+            Reservation cancelled = reservationService.create(property.getId(), TENANT_SUB,
+                    LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 8));
+            reservationService.cancel(cancelled.getId());
+            reservationService.create(property.getId(), TENANT_SUB,
+                    LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 8));
+
+            Reservation foreignStay = reservationService.create(foreign.getId(), TENANT_SUB,
+                    LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 3));
+            reservationService.confirm(foreignStay.getId());
+
+            mockMvc.perform(get("/api/owners/me/stats/daily")
+                            .param("from", "2030-01-01")
+                            .param("to", "2030-01-08"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.days", hasSize(7)))
+                    .andExpect(jsonPath("$.days[0].day", is("2030-01-01")))
+                    .andExpect(jsonPath("$.days[0].nightsBooked", is(0)))
+                    .andExpect(jsonPath("$.days[1].nightsBooked", is(1)))
+                    .andExpect(jsonPath("$.days[1].revenue", is(100.0)))
+                    .andExpect(jsonPath("$.days[2].revenue", is(100.0)))
+                    .andExpect(jsonPath("$.days[3].nightsBooked", is(0)))
+                    .andExpect(jsonPath("$.days[4].nightsBooked", is(1)))
+                    .andExpect(jsonPath("$.days[4].revenue", is(40.0)))
+                    .andExpect(jsonPath("$.days[5].nightsBooked", is(0)))
+                    .andExpect(jsonPath("$.days[6].nightsBooked", is(0)));
+        }
+
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Returns 400 when from is not before to")
+        void returns400WhenRangeInverted() throws Exception {
+            mockMvc.perform(get("/api/owners/me/stats/daily")
+                            .param("from", TO.toString())
+                            .param("to", FROM.toString()))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Returns 401 without authentication")
+        void returns401WithoutAuth() throws Exception {
+            mockMvc.perform(get("/api/owners/me/stats/daily")
+                            .param("from", FROM.toString())
+                            .param("to", TO.toString()))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+}
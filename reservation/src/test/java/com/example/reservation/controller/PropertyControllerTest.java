@@ -61,6 +61,32 @@ class PropertyControllerTest {
         return propertyRepository.save(property);
     }
 
+    private Property createProperty(String ownerSub, PropertyStatus status, String city, String pricePerNight) {
+        Property property = Property.builder()
+                .ownerSub(ownerSub)
+                .title("Property in " + city)
+                .description("A test property in " + city)
+                .city(city)
+                .pricePerNight(new BigDecimal(pricePerNight))
+                .status(status)
+                .build();
+        return propertyRepository.save(property);
+    }
+
+    private Property createPropertyAt(String title, double latitude, double longitude) {
+        Property property = Property.builder()
+                .ownerSub(OWNER_SUB)
+                .title(title)
+                .description("A located test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .latitude(latitude)
+                .longitude(longitude)
+                .status(PropertyStatus.ACTIVE)
+                .build();
+        return propertyRepository.save(property);
+    }
+
     // ===== GET /api/properties =====
 
     @Nested
@@ -100,6 +126,119 @@ class PropertyControllerTest {
                     .andExpect(jsonPath("$.content[0].city", is("Paris")));
         }
 
+        @Test
+        @DisplayName("Filters by price range")
+        void filtersByPriceRange() throws Exception {
+            createProperty(OWNER_SUB, PropertyStatus.ACTIVE, "Paris", "50.00");
+            createProperty(OWNER_SUB, PropertyStatus.ACTIVE, "Paris", "120.00");
+            createProperty(OWNER_SUB, PropertyStatus.ACTIVE, "Lyon", "150.00");
+            createProperty(OWNER_SUB, PropertyStatus.ACTIVE, "Paris", "300.00");
+
+            mockMvc.perform(get("/api/properties")
+                            .param("minPrice", "100")
+                            .param("maxPrice", "200"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.totalElements", is(2)));
+
+            mockMvc.perform(get("/api/properties")
+                            .param("city", "paris")
+                            .param("minPrice", "100"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.content[*].city", everyItem(is("Paris"))));
+        }
+
+        @Test
+        @DisplayName("Sorts by price with sort=price alias")
+        void sortsByPrice() throws Exception {
+            createProperty(OWNER_SUB, PropertyStatus.ACTIVE, "Paris", "120.00");
+            createProperty(OWNER_SUB, PropertyStatus.ACTIVE, "Paris", "50.00");
+            createProperty(OWNER_SUB, PropertyStatus.ACTIVE, "Paris", "300.00");
+
+            mockMvc.perform(get("/api/properties").param("sort", "price,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].pricePerNight", is(300.00)))
+                    .andExpect(jsonPath("$.content[1].pricePerNight", is(120.00)))
+                    .andExpect(jsonPath("$.content[2].pricePerNight", is(50.00)));
+        }
+
+        @Test
+        @DisplayName("Returns 400 when minPrice is greater than maxPrice")
+        void returns400WhenMinPriceGreaterThanMaxPrice() throws Exception {
+            mockMvc.perform(get("/api/properties")
+                            .param("minPrice", "200")
+                            .param("maxPrice", "100"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.title", is("Paramètre invalide")));
+        }
+
+        @Test
+        @DisplayName("Searches within a radius sorted by distance")
+        void searchesWithinRadiusSortedByDistance() throws Exception {
+            createPropertyAt("Louvre", 48.8606, 2.3376);
+            createPropertyAt("Tour Eiffel", 48.8584, 2.2945);
+            createPropertyAt("Versailles", 48.8049, 2.1204);
+            createPropertyAt("Lyon", 45.7640, 4.8357);
+            createProperty(OWNER_SUB, PropertyStatus.ACTIVE);
+
+            mockMvc.perform(get("/api/properties")
+                            .param("lat", "48.8566")
+                            .param("lon", "2.3522")
+                            .param("radiusKm", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.totalElements", is(2)))
+                    .andExpect(jsonPath("$.content[0].title", is("Louvre")))
+                    .andExpect(jsonPath("$.content[1].title", is("Tour Eiffel")))
+                    .andExpect(jsonPath("$.content[0].distanceKm", lessThan(2.0)));
+
+            mockMvc.perform(get("/api/properties")
+                            .param("lat", "48.8566")
+                            .param("lon", "2.3522")
+                            .param("radiusKm", "25")
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.totalElements", is(3)))
+                    .andExpect(jsonPath("$.totalPages", is(2)));
+        }
+
+        @Test
+        @DisplayName("Measures distances across the antimeridian")
+        void searchesAcrossAntimeridian() throws Exception {
+            createPropertyAt("Taveuni est", -16.85, 179.95);
+            createPropertyAt("Taveuni ouest", -16.85, -179.97);
+            createPropertyAt("Suva", -18.14, 178.44);
+
+            mockMvc.perform(get("/api/properties")
+                            .param("lat", "-16.85")
+                            .param("lon", "-179.99")
+                            .param("radiusKm", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.content[0].title", is("Taveuni ouest")))
+                    .andExpect(jsonPath("$.content[1].title", is("Taveuni est")));
+        }
+
+        @Test
+        @DisplayName("Returns 400 when sort is combined with a location")
+        void returns400WhenSortWithLocation() throws Exception {
+            mockMvc.perform(get("/api/properties")
+                            .param("lat", "48.8566")
+                            .param("lon", "2.3522")
+                            .param("sort", "price,desc"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.title", is("Paramètre invalide")));
+        }
+
+        @Test
+        @DisplayName("Returns 400 when lat is given without lon")
+        void returns400WhenLatWithoutLon() throws Exception {
+            mockMvc.perform(get("/api/properties").param("lat", "48.8566"))
+                    .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("Returns empty list when no active properties")
         void returnsEmptyList() throws Exception {
@@ -196,6 +335,33 @@ class PropertyControllerTest {
             assertThat(propertyRepository.findAll()).hasSize(1);
         }
 
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Creates property with coordinates")
+        void createsPropertyWithCoordinates() throws Exception {
+            Map<String, Object> request = Map.of(
+                    "title", "New Property",
+                    "description", "A new test property",
+                    "city", "Paris",
+                    "pricePerNight", 150.00,
+                    "latitude", 48.8566,
+                    "longitude", 2.3522
+            );
+
+            mockMvc.perform(post("/api/properties")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.latitude", is(48.8566)))
+                    .andExpect(jsonPath("$.longitude", is(2.3522)));
+
+            assertThat(propertyRepository.findAll())
+                    .singleElement()
+                    .extracting(Property::getGeohash)
+                    .asString()
+                    .startsWith("u09tvw");
+        }
+
         @Test
         @DisplayName("Returns 401 without authentication")
         void returns401WithoutAuth() throws Exception {
@@ -0,0 +1,150 @@
+package com.example.reservation.controller;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * GET /api/properties/{id} : corps JSON mis en cache par version et variante gzip précalculée.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class PropertyResponseCompressionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        propertyRepository.deleteAll();
+
+        property = propertyRepository.save(Property.builder()
+                .ownerSub("owner-user-sub")
+                .title("Maison de village")
+                .description("Maison en pierre avec jardin, proche du marché. ".repeat(40))
+                .city("Uzès")
+                .pricePerNight(new BigDecimal("120.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Clients accepting gzip receive the precompressed variant with its own ETag")
+    void servesPrecompressedGzip() throws Exception {
+        MockHttpServletResponse identity = mockMvc.perform(get("/api/properties/{id}", property.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(jsonPath("$.title").value("Maison de village"))
+                .andReturn().getResponse();
+
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/api/properties/{id}", property.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        byte[] compressed = gzipped.getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(identity.getContentAsByteArray());
+        }
+        assertThat(compressed.length).isLessThan(identity.getContentAsByteArray().length / 4);
+        assertThat(gzipped.getHeader(HttpHeaders.ETAG)).isNotEqualTo(identity.getHeader(HttpHeaders.ETAG));
+
+        mockMvc.perform(get("/api/properties/{id}", property.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipped.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/properties/{id}", property.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("A property update produces a new cached body")
+    void refreshesAfterUpdate() throws Exception {
+        String etag = mockMvc.perform(get("/api/properties/{id}", property.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        property.setTitle("Maison de village rénovée");
+        propertyRepository.saveAndFlush(property);
+
+        mockMvc.perform(get("/api/properties/{id}", property.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Maison de village rénovée"));
+    }
+
+    @Test
+    @DisplayName("Non-JSON representations still go through content negotiation")
+    void cborBypassesCache() throws Exception {
+        mockMvc.perform(get("/api/properties/{id}", property.getId()).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("The cache serves JSON only when it is the best match of the Accept header")
+    void cacheFollowsAcceptQuality() throws Exception {
+        mockMvc.perform(get("/api/properties/{id}", property.getId())
+                        .header(HttpHeaders.ACCEPT, "application/cbor, */*;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        mockMvc.perform(get("/api/properties/{id}", property.getId())
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+
+        mockMvc.perform(get("/api/properties/{id}", property.getId())
+                        .header(HttpHeaders.ACCEPT, "text/html, */*;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Unknown properties still return 404")
+    void unknownPropertyIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/properties/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+}
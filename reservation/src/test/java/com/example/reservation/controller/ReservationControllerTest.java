@@ -10,20 +10,26 @@ import com.example.reservation.domain.reservation.ReservationStatus;
 import com.example.reservation.repository.PropertyRepository;
 import com.example.reservation.repository.ReservationRepository;
 import com.example.reservation.security.WithJwt;
+import com.example.reservation.service.ReservationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -37,6 +43,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
 class ReservationControllerTest {
 
+    @Value("${reservation.hold.duration}")
+    private Duration holdDuration;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -49,6 +58,9 @@ class ReservationControllerTest {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private ReservationService reservationService;
+
     private static final String OWNER_SUB = "owner-user-sub";
     private static final String TENANT_SUB = "tenant-user-sub";
     private static final String OTHER_USER_SUB = "other-user-sub";
@@ -79,6 +91,7 @@ class ReservationControllerTest {
                 .startDate(startDate)
                 .endDate(endDate)
                 .status(status)
+                .holdExpiresAt(status == ReservationStatus.PENDING ? Instant.now().plus(holdDuration) : null)
                 .unitPriceApplied(testProperty.getPricePerNight())
                 .totalPrice(testProperty.getPricePerNight().multiply(BigDecimal.valueOf(nights)))
                 .pricingType(PricingType.NORMAL)
@@ -106,6 +119,26 @@ class ReservationControllerTest {
                     .andExpect(jsonPath("$.totalElements", is(2)));
         }
 
+        @Test
+        @WithJwt(subject = TENANT_SUB)
+        @DisplayName("Returns only stays ending on or after the from date")
+        void filtersHistoryFromDate() throws Exception {
+            LocalDate today = LocalDate.now();
+            createReservation(TENANT_SUB, ReservationStatus.COMPLETED, today.minusDays(40), today.minusDays(30));
+            createReservation(TENANT_SUB, ReservationStatus.CONFIRMED, today.plusDays(10), today.plusDays(15));
+
+            mockMvc.perform(get("/api/reservations/mine").param("from", today.minusDays(10).toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].status", is("CONFIRMED")));
+
+            mockMvc.perform(get("/api/reservations/mine")
+                            .param("from", today.minusDays(30).toString())
+                            .param("unpaged", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements", is(2)));
+        }
+
         @Test
         @DisplayName("Returns 401 without authentication")
         void returns401WithoutAuth() throws Exception {
@@ -168,6 +201,164 @@ class ReservationControllerTest {
         }
     }
 
+    // ===== GET /api/reservations/owner/pending/stream =====
+
+    @Nested
+    @DisplayName("GET /api/reservations/owner/pending/stream - Stream pending reservation changes")
+    class StreamPendingReservations {
+
+        private String awaitContent(MvcResult result, String expected) throws Exception {
+            long deadline = System.currentTimeMillis() + 5_000;
+            String content = result.getResponse().getContentAsString();
+            while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                content = result.getResponse().getContentAsString();
+            }
+            return content;
+        }
+
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Pushes changes on my properties committed after subscribing")
+        void pushesLiveEvents() throws Exception {
+            Reservation reservation = reservationService.create(testProperty.getId(), TENANT_SUB,
+                    LocalDate.now().plusDays(40), LocalDate.now().plusDays(42));
+
+            MvcResult result = mockMvc.perform(get("/api/reservations/owner/pending/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            reservationService.confirm(reservation.getId());
+
+            String content = awaitContent(result, "event:RESERVATION_CONFIRMED");
+            assertThat(content).contains("event:RESERVATION_CONFIRMED");
+            assertThat(content).contains(reservation.getId().toString());
+            assertThat(content).doesNotContain("event:RESERVATION_CREATED");
+        }
+
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Replays recent events after Last-Event-ID and ignores other owners")
+        void replaysAfterLastEventId() throws Exception {
+            Property otherProperty = propertyRepository.save(Property.builder()
+                    .ownerSub(OTHER_USER_SUB)
+                    .title("Other Property")
+                    .description("Not mine")
+                    .city("Lyon")
+                    .pricePerNight(new BigDecimal("80.00"))
+                    .status(PropertyStatus.ACTIVE)
+                    .build());
+            Reservation mine = reservationService.create(testProperty.getId(), TENANT_SUB,
+                    LocalDate.now().plusDays(50), LocalDate.now().plusDays(52));
+            Reservation notMine = reservationService.create(otherProperty.getId(), TENANT_SUB,
+                    LocalDate.now().plusDays(50), LocalDate.now().plusDays(52));
+
+            MvcResult result = mockMvc.perform(get("/api/reservations/owner/pending/stream")
+                            .header("Last-Event-ID", "0"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String content = awaitContent(result, mine.getId().toString());
+            assertThat(content).contains("event:RESERVATION_CREATED");
+            assertThat(content).contains(mine.getId().toString());
+            assertThat(content).doesNotContain(notMine.getId().toString());
+        }
+
+        @Test
+        @DisplayName("Returns 401 without authentication")
+        void returns401WithoutAuth() throws Exception {
+            mockMvc.perform(get("/api/reservations/owner/pending/stream"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    // ===== POST /api/reservations/batch =====
+
+    @Nested
+    @DisplayName("POST /api/reservations/batch - Apply transitions in batch")
+    class ApplyBatch {
+
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Applies each transition and reports the outcome per item")
+        void appliesTransitionsPerItem() throws Exception {
+            Reservation pending1 = createReservation(TENANT_SUB, ReservationStatus.PENDING, LocalDate.now().plusDays(10), LocalDate.now().plusDays(12));
+            Reservation pending2 = createReservation(TENANT_SUB, ReservationStatus.PENDING, LocalDate.now().plusDays(12), LocalDate.now().plusDays(14));
+            Reservation confirmed = createReservation(TENANT_SUB, ReservationStatus.CONFIRMED, LocalDate.now().minusDays(3), LocalDate.now());
+            Reservation cancelled = createReservation(TENANT_SUB, ReservationStatus.CANCELLED, LocalDate.now().plusDays(20), LocalDate.now().plusDays(22));
+
+            Property otherProperty = propertyRepository.save(Property.builder()
+                    .ownerSub(OTHER_USER_SUB)
+                    .title("Other Property")
+                    .description("Not mine")
+                    .city("Lyon")
+                    .pricePerNight(new BigDecimal("80.00"))
+                    .status(PropertyStatus.ACTIVE)
+                    .build());
+            Reservation foreign = reservationRepository.save(Reservation.builder()
+                    .property(otherProperty)
+                    .tenantSub(TENANT_SUB)
+                    .startDate(LocalDate.now().plusDays(10))
+                    .endDate(LocalDate.now().plusDays(12))
+                    .status(ReservationStatus.PENDING)
+                    .holdExpiresAt(Instant.now().plus(holdDuration))
+                    .unitPriceApplied(otherProperty.getPricePerNight())
+                    .totalPrice(new BigDecimal("160.00"))
+                    .pricingType(PricingType.NORMAL)
+                    .build());
+            UUID unknown = UUID.randomUUID();
+
+            Map<String, Object> request = Map.of("items", List.of(
+                    Map.of("id", pending1.getId(), "action", "CONFIRM"),
+                    Map.of("id", pending2.getId(), "action", "CONFIRM"),
+                    Map.of("id", confirmed.getId(), "action", "COMPLETE"),
+                    Map.of("id", cancelled.getId(), "action", "CANCEL"),
+                    Map.of("id", foreign.getId(), "action", "CONFIRM"),
+                    Map.of("id", unknown, "action", "CONFIRM")
+            ));
+
+            mockMvc.perform(post("/api/reservations/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded", is(3)))
+                    .andExpect(jsonPath("$.failed", is(3)))
+                    .andExpect(jsonPath("$.results", hasSize(6)))
+                    .andExpect(jsonPath("$.results[0].outcome", is("SUCCESS")))
+                    .andExpect(jsonPath("$.results[0].status", is("CONFIRMED")))
+                    .andExpect(jsonPath("$.results[1].outcome", is("SUCCESS")))
+                    .andExpect(jsonPath("$.results[2].outcome", is("SUCCESS")))
+                    .andExpect(jsonPath("$.results[2].status", is("COMPLETED")))
+                    .andExpect(jsonPath("$.results[3].outcome", is("CONFLICT")))
+                    .andExpect(jsonPath("$.results[4].outcome", is("FORBIDDEN")))
+                    .andExpect(jsonPath("$.results[5].outcome", is("NOT_FOUND")));
+
+            assertThat(reservationRepository.findById(pending1.getId()).orElseThrow().getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+            assertThat(reservationRepository.findById(pending2.getId()).orElseThrow().getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+            assertThat(reservationRepository.findById(confirmed.getId()).orElseThrow().getStatus()).isEqualTo(ReservationStatus.COMPLETED);
+            assertThat(reservationRepository.findById(foreign.getId()).orElseThrow().getStatus()).isEqualTo(ReservationStatus.PENDING);
+        }
+
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Returns 400 for an empty batch")
+        void returns400ForEmptyBatch() throws Exception {
+            mockMvc.perform(post("/api/reservations/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"items\": []}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Returns 401 without authentication")
+        void returns401WithoutAuth() throws Exception {
+            mockMvc.perform(post("/api/reservations/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"items\": []}"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
     // ===== GET /api/reservations/{id} =====
 
     @Nested
@@ -276,6 +467,22 @@ class ReservationControllerTest {
                     .andExpect(status().isBadRequest());
         }
 
+        @Test
+        @WithJwt(subject = TENANT_SUB)
+        @DisplayName("Returns 400 for a stay longer than the maximum")
+        void returns400ForTooLongStay() throws Exception {
+            Map<String, Object> request = Map.of(
+                    "propertyId", testProperty.getId().toString(),
+                    "startDate", LocalDate.now().plusDays(10).toString(),
+                    "endDate", LocalDate.now().plusDays(10 + Reservation.MAX_STAY_NIGHTS + 1).toString()
+            );
+
+            mockMvc.perform(post("/api/reservations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+        }
+
         @Test
         @WithJwt(subject = TENANT_SUB)
         @DisplayName("Returns 409 for overlapping dates")
@@ -295,6 +502,28 @@ class ReservationControllerTest {
                     .andExpect(jsonPath("$.detail", containsString("chevauchent")));
         }
 
+        @Test
+        @WithJwt(subject = TENANT_SUB)
+        @DisplayName("Ignores pending requests whose hold has expired")
+        void ignoresExpiredHolds() throws Exception {
+            Reservation expired = createReservation(OTHER_USER_SUB, ReservationStatus.PENDING, LocalDate.now().plusDays(10), LocalDate.now().plusDays(15));
+            expired.setHoldExpiresAt(Instant.now().minusSeconds(60));
+            reservationRepository.save(expired);
+
+            Map<String, Object> request = Map.of(
+                    "propertyId", testProperty.getId().toString(),
+                    "startDate", LocalDate.now().plusDays(12).toString(),
+                    "endDate", LocalDate.now().plusDays(18).toString()
+            );
+
+            mockMvc.perform(post("/api/reservations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.status", is("PENDING")))
+                    .andExpect(jsonPath("$.holdExpiresAt", notNullValue()));
+        }
+
         @Test
         @WithJwt(subject = TENANT_SUB)
         @DisplayName("Returns 409 for inactive property")
@@ -359,6 +588,19 @@ class ReservationControllerTest {
                     .andExpect(status().isConflict());
         }
 
+        @Test
+        @WithJwt(subject = OWNER_SUB)
+        @DisplayName("Returns 409 when the hold has expired")
+        void returns409WhenHoldExpired() throws Exception {
+            Reservation reservation = createReservation(TENANT_SUB, ReservationStatus.PENDING, LocalDate.now().plusDays(10), LocalDate.now().plusDays(15));
+            reservation.setHoldExpiresAt(Instant.now().minusSeconds(60));
+            reservationRepository.save(reservation);
+
+            mockMvc.perform(post("/api/reservations/{id}/confirm", reservation.getId()))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.detail", containsString("expiré")));
+        }
+
         @Test
         @WithJwt(subject = TENANT_SUB)
         @DisplayName("Returns 403 for tenant (only owner can confirm)")
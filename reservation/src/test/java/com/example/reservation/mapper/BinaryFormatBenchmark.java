@@ -0,0 +1,95 @@
+package com.example.reservation.mapper;
+
+import com.example.reservation.dto.generated.PageResponseReservationListResponse;
+import com.example.reservation.dto.generated.ReservationListResponse;
+import com.example.reservation.dto.generated.ReservationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON et CBOR sur une page de réservations, avec les mêmes modules que l'application :
+ * temps d'encodage et de décodage, taille des charges utiles journalisée au démarrage de chaque essai.
+ *
+ * Lancement :
+ * <pre>
+ * ./mvnw -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.example.reservation.mapper.BinaryFormatBenchmark"
+ * </pre>
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private PageResponseReservationListResponse page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        mapper = format.equals("cbor")
+                ? CBORMapper.builder().addModule(new BlackbirdModule()).addModule(new ListResponseJsonModule()).build()
+                : JsonMapper.builder().addModule(new BlackbirdModule()).addModule(new ListResponseJsonModule()).build();
+
+        List<ReservationListResponse> reservations = new ArrayList<>(pageSize);
+        ReservationStatus[] statuses = ReservationStatus.values();
+        LocalDate start = LocalDate.of(2026, 6, 1);
+        for (int i = 0; i < pageSize; i++) {
+            reservations.add(new ReservationListResponse(
+                    UUID.randomUUID(),
+                    UUID.randomUUID(),
+                    "Appartement " + i,
+                    start.plusDays(i),
+                    start.plusDays(i + 3),
+                    statuses[i % statuses.length],
+                    BigDecimal.valueOf(28550 + i, 2)));
+        }
+        page = new PageResponseReservationListResponse(reservations, 0, pageSize, (long) pageSize, 1, true, true);
+        encoded = mapper.writeValueAsBytes(page);
+        log.info("{}, {} éléments : {} octets", format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageResponseReservationListResponse decode() {
+        return mapper.readValue(encoded, PageResponseReservationListResponse.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BinaryFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.reservation.mapper;
+
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.dto.generated.PageResponseReservationListResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation du mappage entité → DTO sur une page de 100 réservations.
+ * legacyConversions reproduit l'ancien chemin (fromValue(name()) et OffsetDateTime par horodatage),
+ * cachedConversions le chemin actuel (EnumMappings, Instant transmis tel quel) : comparer gc.alloc.rate.norm (octets/op).
+ *
+ * Lancement (JMH forke une JVM, d'où exec:exec plutôt qu'exec:java) :
+ * <pre>
+ * ./mvnw -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.example.reservation.mapper.DtoMapperBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private List<Reservation> reservations;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Property property = Property.builder()
+                .id(UUID.randomUUID())
+                .ownerSub("owner-sub")
+                .title("Appartement Vieux-Port")
+                .description("Deux pièces avec vue")
+                .city("Marseille")
+                .pricePerNight(new BigDecimal("95.00"))
+                .status(PropertyStatus.ACTIVE)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        ReservationStatus[] statuses = ReservationStatus.values();
+        PricingType[] pricingTypes = PricingType.values();
+        LocalDate start = LocalDate.of(2026, 6, 1);
+        reservations = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            reservations.add(Reservation.builder()
+                    .id(UUID.randomUUID())
+                    .property(property)
+                    .tenantSub("tenant-" + i)
+                    .propertyOwnerSub(property.getOwnerSub())
+                    .startDate(start.plusDays(i))
+                    .endDate(start.plusDays(i + 3))
+                    .status(statuses[i % statuses.length])
+                    .holdExpiresAt(now.plus(2, ChronoUnit.DAYS))
+                    .unitPriceApplied(property.getPricePerNight())
+                    .totalPrice(property.getPricePerNight().multiply(BigDecimal.valueOf(3)))
+                    .pricingType(pricingTypes[i % pricingTypes.length])
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void legacyConversions(Blackhole blackhole) {
+        for (Reservation reservation : reservations) {
+            blackhole.consume(com.example.reservation.dto.generated.ReservationStatus.fromValue(reservation.getStatus().name()));
+            blackhole.consume(com.example.reservation.dto.generated.PricingType.fromValue(reservation.getPricingType().name()));
+            blackhole.consume(OffsetDateTime.ofInstant(reservation.getCreatedAt(), ZoneOffset.UTC));
+            blackhole.consume(OffsetDateTime.ofInstant(reservation.getUpdatedAt(), ZoneOffset.UTC));
+            blackhole.consume(OffsetDateTime.ofInstant(reservation.getHoldExpiresAt(), ZoneOffset.UTC));
+        }
+    }
+
+    @Benchmark
+    public void cachedConversions(Blackhole blackhole) {
+        for (Reservation reservation : reservations) {
+            blackhole.consume(EnumMappings.RESERVATION_STATUS.get(reservation.getStatus()));
+            blackhole.consume(EnumMappings.PRICING_TYPE.get(reservation.getPricingType()));
+            blackhole.consume(reservation.getCreatedAt());
+            blackhole.consume(reservation.getUpdatedAt());
+            blackhole.consume(reservation.getHoldExpiresAt());
+        }
+    }
+
+    @Benchmark
+    public PageResponseReservationListResponse reservationListPage() {
+        return DtoMapper.toReservationListPage(reservations);
+    }
+
+    @Benchmark
+    public void reservationResponses(Blackhole blackhole) {
+        for (Reservation reservation : reservations) {
+            blackhole.consume(DtoMapper.toReservationResponse(reservation));
+        }
+    }
+
+    @Benchmark
+    public byte[] reservationResponsesJson() {
+        return jsonMapper.writeValueAsBytes(reservations.stream().map(DtoMapper::toReservationResponse).toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DtoMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.reservation.mapper;
+
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.ReservationAction;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.service.ReservationService;
+import com.example.reservation.service.imports.ImportKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Les correspondances sont construites au premier usage de EnumMappings : ce test les charge toutes,
+ * un contrat désynchronisé du domaine échoue ici plutôt qu'à la première réponse concernée.
+ */
+class EnumMappingsTest {
+
+    @Test
+    @DisplayName("Every domain constant has a generated counterpart with the same name")
+    void everyMappingIsComplete() {
+        assertComplete(EnumMappings.PROPERTY_STATUS, PropertyStatus.class);
+        assertComplete(EnumMappings.RESERVATION_STATUS, ReservationStatus.class);
+        assertComplete(EnumMappings.PRICING_TYPE, PricingType.class);
+        assertComplete(EnumMappings.BATCH_ACTION, ReservationAction.class);
+        assertComplete(EnumMappings.RESERVATION_ACTION, com.example.reservation.dto.generated.ReservationBatchAction.class);
+        assertComplete(EnumMappings.BATCH_OUTCOME, ReservationService.BatchOutcome.class);
+        assertComplete(EnumMappings.IMPORT_KIND, ImportKind.class);
+    }
+
+    @Test
+    @DisplayName("A source constant missing from the target enum is rejected")
+    void missingConstantIsRejected() {
+        assertThatThrownBy(() -> EnumMappings.byName(TimeUnit.class, ReservationStatus.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static <S extends Enum<S>> void assertComplete(EnumMap<S, ?> mapping, Class<S> source) {
+        assertThat(mapping.keySet()).containsExactly(source.getEnumConstants());
+        mapping.forEach((constant, target) -> assertThat(((Enum<?>) target).name()).isEqualTo(constant.name()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.reservation.mapper;
+
+import com.example.reservation.dto.generated.PageResponsePropertyListResponse;
+import com.example.reservation.dto.generated.PageResponseReservationListResponse;
+import com.example.reservation.dto.generated.PropertyListResponse;
+import com.example.reservation.dto.generated.PropertyStatus;
+import com.example.reservation.dto.generated.ReservationListResponse;
+import com.example.reservation.dto.generated.ReservationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Les sérialiseurs des pages de liste produisent le même JSON que les sérialiseurs de beans.
+ */
+class ListResponseJsonModuleTest {
+
+    private final JsonMapper beanMapper = JsonMapper.builder().build();
+    private final JsonMapper fastMapper = JsonMapper.builder()
+            .addModule(new BlackbirdModule())
+            .addModule(new ListResponseJsonModule())
+            .build();
+
+    @Test
+    @DisplayName("Reservation list pages serialize to the same JSON as the bean serializers")
+    void reservationPageMatchesBeanSerialization() {
+        ReservationListResponse reservation = new ReservationListResponse(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                "Studio \"Canut\" à Lyon",
+                LocalDate.of(2026, 6, 1),
+                LocalDate.of(2026, 6, 4),
+                ReservationStatus.CONFIRMED,
+                new BigDecimal("285.50")
+        );
+        PageResponseReservationListResponse page = new PageResponseReservationListResponse(
+                List.of(reservation), 0, 20, 1L, 1, true, true);
+
+        String json = fastMapper.writeValueAsString(page);
+
+        assertThat(fastMapper.readTree(json)).isEqualTo(beanMapper.readTree(beanMapper.writeValueAsString(page)));
+        assertThat(fastMapper.writeValueAsString(reservation)).startsWith("{\"id\":\"" + reservation.getId() + "\",\"propertyId\":");
+    }
+
+    @Test
+    @DisplayName("Property list items write null coordinates and distance like the bean serializers")
+    void propertyPageMatchesBeanSerialization() {
+        PropertyListResponse located = new PropertyListResponse(
+                UUID.randomUUID(), "Appartement Paris 8ème", "Paris", new BigDecimal("150.00"), PropertyStatus.ACTIVE);
+        located.setLatitude(48.8738);
+        located.setLongitude(2.295);
+        located.setDistanceKm(2.35);
+        PropertyListResponse unlocated = new PropertyListResponse(
+                UUID.randomUUID(), "Maison Bordeaux", "Bordeaux", new BigDecimal("90"), PropertyStatus.INACTIVE);
+        PageResponsePropertyListResponse page = new PageResponsePropertyListResponse(
+                List.of(located, unlocated), 0, 20, 2L, 1, true, true);
+
+        String json = fastMapper.writeValueAsString(page);
+
+        assertThat(fastMapper.readTree(json)).isEqualTo(beanMapper.readTree(beanMapper.writeValueAsString(page)));
+        assertThat(fastMapper.readTree(json).get("content").get(1).has("distanceKm")).isTrue();
+        assertThat(fastMapper.readTree(json).get("content").get(1).get("distanceKm").isNull()).isTrue();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.reservation.mapper;
+
+import com.example.reservation.dto.generated.PageResponsePropertyListResponse;
+import com.example.reservation.dto.generated.PageResponseReservationListResponse;
+import com.example.reservation.dto.generated.PropertyListResponse;
+import com.example.reservation.dto.generated.PropertyStatus;
+import com.example.reservation.dto.generated.ReservationListResponse;
+import com.example.reservation.dto.generated.ReservationStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation des pages de liste vers un flux, comme le convertisseur HTTP (aucun tampon intermédiaire) :
+ * sérialiseurs de beans par réflexion, Blackbird seul, puis Blackbird avec ListResponseJsonModule.
+ *
+ * Lancement :
+ * <pre>
+ * ./mvnw -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.example.reservation.mapper.PageSerializationBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    @Param({"reflection", "blackbird", "streaming"})
+    public String mode;
+
+    /** Puits réutilisable : writeValue ferme le flux, ce qu'OutputStream.nullOutputStream() refuserait ensuite. */
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private JsonMapper jsonMapper;
+    private PageResponseReservationListResponse reservationPage;
+    private PageResponsePropertyListResponse propertyPage;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder();
+        if (!mode.equals("reflection")) {
+            builder.addModule(new BlackbirdModule());
+        }
+        if (mode.equals("streaming")) {
+            builder.addModule(new ListResponseJsonModule());
+        }
+        jsonMapper = builder.build();
+
+        List<ReservationListResponse> reservations = new ArrayList<>(pageSize);
+        List<PropertyListResponse> properties = new ArrayList<>(pageSize);
+        ReservationStatus[] statuses = ReservationStatus.values();
+        LocalDate start = LocalDate.of(2026, 6, 1);
+        for (int i = 0; i < pageSize; i++) {
+            reservations.add(new ReservationListResponse(
+                    UUID.randomUUID(),
+                    UUID.randomUUID(),
+                    "Appartement " + i,
+                    start.plusDays(i),
+                    start.plusDays(i + 3),
+                    statuses[i % statuses.length],
+                    BigDecimal.valueOf(28550 + i, 2)));
+
+            PropertyListResponse property = new PropertyListResponse(
+                    UUID.randomUUID(), "Appartement " + i, "Paris", BigDecimal.valueOf(15000 + i, 2), PropertyStatus.ACTIVE);
+            if (i % 2 == 0) {
+                property.setLatitude(48.8738 + i / 10_000.0);
+                property.setLongitude(2.295 + i / 10_000.0);
+            }
+            properties.add(property);
+        }
+        reservationPage = new PageResponseReservationListResponse(reservations, 0, pageSize, (long) pageSize, 1, true, true);
+        propertyPage = new PageResponsePropertyListResponse(properties, 0, pageSize, (long) pageSize, 1, true, true);
+    }
+
+    @Benchmark
+    public void reservationPage() {
+        jsonMapper.writeValue(sink, reservationPage);
+    }
+
+    @Benchmark
+    public void propertyPage() {
+        jsonMapper.writeValue(sink, propertyPage);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PageSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.reservation.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StatementInspector de test : retient le SQL généré par Hibernate, pour l'expliquer ensuite avec les paramètres
+ * de l'appel. Activé par {@link #PROPERTY} dans les propriétés du test.
+ */
+public class CapturedStatements implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.example.reservation.repository.CapturedStatements";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /** Dernière requête capturée qui satisfait le filtre (les tâches planifiées s'exécutent en parallèle). */
+    public static String last(Predicate<String> filter) {
+        List<String> matching = STATEMENTS.stream().filter(filter).toList();
+        assertThat(matching).as("requête capturée parmi %s", STATEMENTS).isNotEmpty();
+        return matching.getLast();
+    }
+
+    /**
+     * Plan PostgreSQL de la requête, les paramètres étant liés dans l'ordre des '?' du SQL généré :
+     * le planificateur voit les mêmes valeurs que lors de l'appel (plan personnalisé).
+     */
+    public static String explain(JdbcTemplate jdbcTemplate, String options, String sql, Object... parameters) {
+        assertThat(sql.chars().filter(c -> c == '?').count())
+                .as("paramètres de %s", sql)
+                .isEqualTo(parameters.length);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + options + " " + sql, String.class, parameters));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.service.PropertyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie via EXPLAIN que la recherche publique de propriétés (filtres ville / prix, tri par prix)
+ * est servie par les index partiels de V4 et non par un parcours séquentiel. Le SQL expliqué est celui généré
+ * par Hibernate pour PropertyService, avec les paramètres de l'appel, sur un jeu de données assez grand
+ * pour que le planificateur écarte de lui-même le parcours séquentiel.
+ */
+@SpringBootTest(properties = CapturedStatements.PROPERTY)
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class PropertySearchIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        jdbcTemplate.execute("""
+                INSERT INTO properties (id, owner_sub, title, description, city, price_per_night, status, created_at, updated_at)
+                SELECT gen_random_uuid(),
+                       'owner-' || (i % 50),
+                       'Property ' || i,
+                       'Description ' || i,
+                       (ARRAY['Paris', 'Lyon', 'Marseille', 'Bordeaux', 'Nantes', 'Lille', 'Nice', 'Toulouse'])[1 + i % 8],
+                       20 + (i % 480),
+                       CASE WHEN i % 10 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END,
+                       now(),
+                       now()
+                FROM generate_series(1, 50000) AS i
+                """);
+        jdbcTemplate.execute("ANALYZE properties");
+        CapturedStatements.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM property_access_codes");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    @Test
+    @DisplayName("City + price range filter sorted by price uses idx_properties_active_city_price")
+    void cityAndPriceRangeUsesCompositePartialIndex() {
+        propertyService.searchActiveProperties(
+                new PropertyService.PropertySearchCriteria("Paris", new BigDecimal("100"), new BigDecimal("200")),
+                PageRequest.of(0, 20, Sort.by("price")));
+
+        String plan = CapturedStatements.explain(jdbcTemplate, "", searchSql(),
+                "ACTIVE", "paris", new BigDecimal("100"), new BigDecimal("200"), 20);
+
+        assertThat(plan).contains("idx_properties_active_city_price");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Price range filter sorted by price uses idx_properties_active_price")
+    void priceRangeUsesPricePartialIndex() {
+        propertyService.searchActiveProperties(
+                new PropertyService.PropertySearchCriteria(null, new BigDecimal("450"), null),
+                PageRequest.of(0, 20, Sort.by("price")));
+
+        String plan = CapturedStatements.explain(jdbcTemplate, "", searchSql(), "ACTIVE", new BigDecimal("450"), 20);
+
+        assertThat(plan).contains("idx_properties_active_price");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    /** Requête de page (et non de comptage) générée par Hibernate pour la dernière recherche. */
+    private static String searchSql() {
+        return CapturedStatements.last(sql -> sql.contains("from properties") && sql.contains("order by"));
+    }
+}
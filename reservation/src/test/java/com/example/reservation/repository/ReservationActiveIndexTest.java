@@ -0,0 +1,206 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Index des réservations (V9, V10, V17) sur un jeu de données dominé par l'historique (95 % COMPLETED / CANCELLED) :
+ * plans EXPLAIN des requêtes JPQL de ReservationRepository sur réservations actives (SQL généré par Hibernate,
+ * paramètres de l'appel), taille et coût de lecture comparés à l'ancien index complet idx_reservations_dates.
+ */
+@Slf4j
+@SpringBootTest(properties = CapturedStatements.PROPERTY)
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class ReservationActiveIndexTest {
+
+    private static final int PROPERTIES = 100;
+    private static final int RESERVATIONS = 60_000;
+
+    private static final Pattern SHARED_HIT = Pattern.compile("shared hit=(\\d+)");
+    private static final Pattern EXECUTION_TIME = Pattern.compile("Execution Time: ([\\d.]+) ms");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private UUID propertyId;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        jdbcTemplate.update("""
+                INSERT INTO properties (id, owner_sub, title, description, city, price_per_night, status, created_at, updated_at)
+                SELECT gen_random_uuid(), 'owner-' || (i % 10), 'Property ' || i, 'Description ' || i,
+                       'Paris', 100, 'ACTIVE', now(), now()
+                FROM generate_series(0, ? - 1) AS i
+                """, PROPERTIES);
+        // Séjours de 2 nuits tous les 3 jours par propriété ; 1 séjour sur 20 confirmé, 1 sur 20 en attente
+        jdbcTemplate.update("""
+                INSERT INTO reservations (id, property_id, property_owner_sub, tenant_sub, start_date, end_date, status,
+                                          hold_expires_at, unit_price_applied, total_price, pricing_type,
+                                          created_at, updated_at)
+                SELECT gen_random_uuid(), p.id, p.owner_sub, 'tenant-' || (i % 500),
+                       DATE '2020-01-01' + seq.k * 3, DATE '2020-01-01' + seq.k * 3 + 2,
+                       s.status,
+                       CASE WHEN s.status = 'PENDING' THEN now() + INTERVAL '2 days' END,
+                       100, 200, 'NORMAL', now() - (i || ' minutes')::interval, now()
+                FROM generate_series(0, ? - 1) AS i
+                JOIN (SELECT id, owner_sub, row_number() OVER (ORDER BY id) - 1 AS n FROM properties) p ON p.n = i % ?
+                CROSS JOIN LATERAL (SELECT i / ? AS k) seq
+                CROSS JOIN LATERAL (SELECT CASE
+                        WHEN seq.k % 20 = 0 THEN 'CONFIRMED'
+                        WHEN seq.k % 20 = 1 THEN 'PENDING'
+                        WHEN seq.k % 20 < 5 THEN 'CANCELLED'
+                        ELSE 'COMPLETED' END AS status) s
+                """, RESERVATIONS, PROPERTIES, PROPERTIES);
+        jdbcTemplate.execute("ANALYZE properties");
+        jdbcTemplate.execute("ANALYZE reservations");
+        propertyId = jdbcTemplate.queryForObject("SELECT id FROM properties ORDER BY id LIMIT 1", UUID.class);
+        CapturedStatements.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM property_access_codes");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    @Test
+    @DisplayName("Overlap lookup uses idx_reservations_active_dates")
+    void overlapLookupUsesActivePartialIndex() {
+        String plan = explainOverlap("");
+
+        assertThat(plan).contains("idx_reservations_active_dates");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Database rejects stays longer than MAX_STAY_NIGHTS, which bound the overlap lookup")
+    void databaseEnforcesMaximumStay() {
+        String insert = """
+                INSERT INTO reservations (id, property_id, property_owner_sub, tenant_sub, start_date, end_date, status,
+                                          unit_price_applied, total_price, pricing_type, created_at, updated_at)
+                VALUES (gen_random_uuid(), ?, 'owner-0', 'tenant-long', ?, ?, 'CONFIRMED', 100, 100, 'NORMAL', now(), now())
+                """;
+        LocalDate start = LocalDate.of(2030, 1, 1);
+
+        jdbcTemplate.update(insert, propertyId, start, start.plusDays(Reservation.MAX_STAY_NIGHTS));
+        assertThatThrownBy(() -> jdbcTemplate.update(insert, propertyId, start, start.plusDays(Reservation.MAX_STAY_NIGHTS + 1)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("chk_reservations_max_stay");
+    }
+
+    @Test
+    @DisplayName("Tenant page, filtered on tenant only, uses idx_reservations_tenant_sub; the status-filtered index is gone")
+    void tenantListingUsesTenantIndex() {
+        reservationRepository.findIdsByTenantSub("tenant-42", PageRequest.of(0, 20, Sort.by("createdAt")));
+
+        String plan = CapturedStatements.explain(jdbcTemplate, "",
+                CapturedStatements.last(sql -> sql.contains("tenant_sub=?") && sql.contains("order by")),
+                "tenant-42", 20);
+
+        assertThat(plan).contains("idx_reservations_tenant_sub");
+        assertThat(plan).doesNotContain("Seq Scan on reservations");
+        assertThat(indexExists("idx_reservations_tenant_active")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Owner pending page is a single-table scan of idx_reservations_owner_status_created")
+    void ownerPendingListingUsesDenormalizedOwnerIndex() {
+        reservationRepository.findIdsByPropertyOwnerSubAndStatus("owner-3", ReservationStatus.PENDING,
+                PageRequest.of(0, 20, Sort.by("createdAt")));
+
+        String plan = CapturedStatements.explain(jdbcTemplate, "",
+                CapturedStatements.last(sql -> sql.contains("property_owner_sub=?") && sql.contains("order by")),
+                "owner-3", "PENDING", 20);
+
+        assertThat(plan).contains("idx_reservations_owner_status_created");
+        assertThat(plan).doesNotContain("Seq Scan").doesNotContain("properties");
+    }
+
+    @Test
+    @DisplayName("Partial overlap index is a fraction of the full index and reads fewer pages")
+    void partialIndexIsSmallerAndCheaperThanFullIndex() {
+        transactionTemplate.executeWithoutResult(status -> {
+            long partialSize = indexSize("idx_reservations_active_dates");
+            String partialPlan = explainOverlap("(ANALYZE, BUFFERS)");
+
+            // Ancien index complet recréé le temps de la mesure ; la transaction est annulée ensuite
+            jdbcTemplate.execute("CREATE INDEX idx_reservations_dates ON reservations(property_id, start_date, end_date)");
+            jdbcTemplate.execute("DROP INDEX idx_reservations_active_dates");
+            jdbcTemplate.execute("ANALYZE reservations");
+            long fullSize = indexSize("idx_reservations_dates");
+            String fullPlan = explainOverlap("(ANALYZE, BUFFERS)");
+            status.setRollbackOnly();
+
+            log.info("Index de chevauchement sur {} réservations : partiel {} octets / {} ms, complet {} octets / {} ms",
+                    RESERVATIONS, partialSize, extract(EXECUTION_TIME, partialPlan),
+                    fullSize, extract(EXECUTION_TIME, fullPlan));
+
+            assertThat(partialSize * 5).isLessThan(fullSize);
+            assertThat(Double.parseDouble(extract(SHARED_HIT, partialPlan)))
+                    .isLessThan(Double.parseDouble(extract(SHARED_HIT, fullPlan)));
+        });
+    }
+
+    /**
+     * Plan de ReservationRepository.existsOverlappingReservation sur toute la période du jeu de données :
+     * SQL généré par Hibernate, paramètres dans l'ordre du SQL (propriété, instant, bornes de dates).
+     */
+    private String explainOverlap(String options) {
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        LocalDate end = LocalDate.of(2025, 12, 31);
+        Instant now = Instant.now();
+        CapturedStatements.clear();
+        reservationRepository.existsOverlappingReservation(propertyId, start, end, now);
+
+        return CapturedStatements.explain(jdbcTemplate, options,
+                CapturedStatements.last(sql -> sql.contains("from reservations") && sql.contains("hold_expires_at>?")),
+                propertyId, Timestamp.from(now), start.minusDays(Reservation.MAX_STAY_NIGHTS), end, start);
+    }
+
+    private long indexSize(String indexName) {
+        return jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, indexName);
+    }
+
+    private boolean indexExists(String indexName) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, indexName));
+    }
+
+    private static String extract(Pattern pattern, String plan) {
+        Matcher matcher = pattern.matcher(plan);
+        assertThat(matcher.find()).as("%s dans le plan :%n%s", pattern, plan).isTrue();
+        return matcher.group(1);
+    }
+}
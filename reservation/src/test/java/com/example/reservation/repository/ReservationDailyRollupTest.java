@@ -0,0 +1,169 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationAction;
+import com.example.reservation.service.ReservationRollupService;
+import com.example.reservation.service.ReservationService;
+import com.example.reservation.service.ReservationService.BatchOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que l'agrégat journalier maintenu à chaque transition est identique
+ * à celui reconstruit intégralement depuis la table reservations.
+ */
+@SpringBootTest
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class ReservationDailyRollupTest {
+
+    private static final String OWNER_SUB = "owner-user-sub";
+    private static final String TENANT_SUB = "tenant-user-sub";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRollupService rollupService;
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        property = propertyRepository.save(Property.builder()
+                .ownerSub(OWNER_SUB)
+                .title("Rollup flat")
+                .description("A beautiful test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM property_access_codes");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    @Test
+    @DisplayName("Incremental maintenance matches a full rebuild after every kind of transition")
+    void incrementalMatchesRebuild() {
+        Reservation completed = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 3, 1), LocalDate.of(2030, 3, 4));
+        reservationService.confirm(completed.getId());
+        reservationService.complete(completed.getId());
+
+        Reservation discounted = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 3, 5), LocalDate.of(2030, 3, 8));
+        reservationService.applyDiscount(discounted.getId(), new BigDecimal("33.33"), "Fidélité", OWNER_SUB);
+        reservationService.confirm(discounted.getId());
+
+        Reservation free = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 3, 10), LocalDate.of(2030, 3, 12));
+        reservationService.applyFreeStay(free.getId(), "Geste commercial", OWNER_SUB);
+
+        Reservation cancelled = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 3, 13), LocalDate.of(2030, 3, 15));
+        reservationService.cancel(cancelled.getId());
+
+        List<Map<String, Object>> incremental = snapshot();
+        assertThat(incremental).isNotEmpty();
+
+        rollupService.rebuild();
+
+        assertThat(snapshot()).isEqualTo(incremental);
+    }
+
+    @Test
+    @DisplayName("A batch applied in one statement matches a full rebuild, several stays sharing the same days")
+    void batchMatchesRebuild() {
+        // Deux demandes aux options échues sur les mêmes nuits : même clé (propriété, jour, statut) dans un lot
+        UUID first = insertExpiredPending(LocalDate.of(2030, 5, 1), LocalDate.of(2030, 5, 4));
+        UUID second = insertExpiredPending(LocalDate.of(2030, 5, 1), LocalDate.of(2030, 5, 4));
+        rollupService.rebuild();
+
+        Reservation confirmed = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 5, 10), LocalDate.of(2030, 5, 13));
+
+        List<ReservationService.BatchItemResult> results = reservationService.applyBatch(OWNER_SUB, List.of(
+                new ReservationService.BatchItem(first, ReservationAction.CANCEL),
+                new ReservationService.BatchItem(second, ReservationAction.CANCEL),
+                new ReservationService.BatchItem(confirmed.getId(), ReservationAction.CONFIRM),
+                new ReservationService.BatchItem(confirmed.getId(), ReservationAction.COMPLETE),
+                new ReservationService.BatchItem(first, ReservationAction.CONFIRM)));
+        assertThat(results).extracting(ReservationService.BatchItemResult::outcome).containsExactly(
+                BatchOutcome.SUCCESS, BatchOutcome.SUCCESS, BatchOutcome.SUCCESS, BatchOutcome.SUCCESS,
+                BatchOutcome.CONFLICT);
+
+        List<Map<String, Object>> incremental = snapshot();
+        assertThat(incremental).noneSatisfy(row -> assertThat(row.get("status")).isEqualTo("PENDING"));
+
+        rollupService.rebuild();
+
+        assertThat(snapshot()).isEqualTo(incremental);
+    }
+
+    @Test
+    @DisplayName("Nightly revenue split keeps the exact total, remainder on the first night")
+    void revenueSplitKeepsExactTotal() {
+        jdbcTemplate.update("""
+                INSERT INTO reservations (id, property_id, property_owner_sub, tenant_sub, start_date, end_date, status,
+                                          unit_price_applied, total_price, pricing_type, created_at, updated_at)
+                VALUES (gen_random_uuid(), ?, ?, ?, DATE '2030-04-01', DATE '2030-04-04', 'CONFIRMED',
+                        33.34, 100.00, 'NORMAL', now(), now())
+                """, property.getId(), OWNER_SUB, TENANT_SUB);
+
+        rollupService.rebuild();
+
+        List<BigDecimal> revenues = jdbcTemplate.queryForList(
+                "SELECT revenue FROM reservation_daily_rollup WHERE property_id = ? ORDER BY day",
+                BigDecimal.class, property.getId());
+        assertThat(revenues).containsExactly(
+                new BigDecimal("33.34"), new BigDecimal("33.33"), new BigDecimal("33.33"));
+    }
+
+    private UUID insertExpiredPending(LocalDate startDate, LocalDate endDate) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO reservations (id, property_id, property_owner_sub, tenant_sub, start_date, end_date, status,
+                                          unit_price_applied, total_price, pricing_type, hold_expires_at,
+                                          created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, 'PENDING', 33.34, 100.00, 'NORMAL', now() - INTERVAL '1 day', now(), now())
+                """, id, property.getId(), OWNER_SUB, TENANT_SUB, startDate, endDate);
+        return id;
+    }
+
+    private List<Map<String, Object>> snapshot() {
+        return jdbcTemplate.queryForList("""
+                SELECT property_id, day, status, nights_booked, revenue
+                FROM reservation_daily_rollup
+                ORDER BY property_id, day, status
+                """);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.service.PropertyService;
+import com.example.reservation.service.ReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Clés primaires UUIDv7 : identifiants horodatés et croissants pour les nouvelles lignes, cohabitation avec les v4.
+ * Le banc d'insertion (v4 contre v7 sur une table volumineuse) ne s'exécute qu'avec -Dreservation.benchmark=true ;
+ * volume préchargé : -Dreservation.benchmark.rows (50 millions par défaut). Les identifiants sont générés en Java
+ * et liés en paramètres, v7 par la stratégie Hibernate de l'application (@UuidGenerator Style.VERSION_7).
+ */
+@Slf4j
+@SpringBootTest
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class UuidV7PrimaryKeyTest {
+
+    private static final int PRELOAD_CHUNK = 100_000;
+    private static final int INSERT_BATCH = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM properties");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_bench_v4, uuid_bench_v7");
+    }
+
+    @Test
+    @DisplayName("New rows get time-ordered version 7 ids alongside existing version 4 ids")
+    void newRowsGetTimeOrderedV7Ids() {
+        UUID legacyId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO properties (id, owner_sub, title, description, city, price_per_night, status, created_at, updated_at)
+                VALUES (?, 'owner-user-sub', 'Legacy flat', 'Created before UUIDv7', 'Paris', 100, 'ACTIVE', now(), now())
+                """, legacyId);
+
+        Property property = propertyService.create("owner-user-sub", "New flat", "A beautiful test property", "Paris",
+                new BigDecimal("100.00"), null, null);
+        List<UUID> reservationIds = new ArrayList<>();
+        LocalDate start = LocalDate.now().plusDays(10);
+        for (int i = 0; i < 5; i++) {
+            Reservation reservation = reservationService.create(legacyId, "tenant-user-sub",
+                    start.plusDays(3L * i), start.plusDays(3L * i + 2));
+            reservationIds.add(reservation.getId());
+        }
+
+        assertThat(property.getId().version()).isEqualTo(7);
+        assertThat(reservationIds).allSatisfy(id -> assertThat(id.version()).isEqualTo(7));
+        // Ordre des chaînes = ordre des octets, celui des index PostgreSQL
+        assertThat(reservationIds.stream().map(UUID::toString).toList()).isSorted();
+        assertThat(propertyRepository.findById(legacyId)).isPresent();
+        assertThat(reservationRepository.findAllById(reservationIds)).hasSize(5)
+                .allSatisfy(reservation -> assertThat(reservation.getProperty().getId()).isEqualTo(legacyId));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "reservation.benchmark", matches = "true")
+    @DisplayName("Benchmark: v7 inserts append to the primary key instead of splitting random pages")
+    void v7InsertThroughputOnLargeTable() {
+        long rows = Long.getLong("reservation.benchmark.rows", 50_000_000L);
+        int inserts = (int) Math.max(100_000, rows / 100);
+
+        BenchResult v4 = bench("v4", UUID::randomUUID, rows, inserts);
+        BenchResult v7 = bench("v7", () -> UuidVersion7Strategy.INSTANCE.generateUuid(null), rows, inserts);
+
+        log.info("Insertion de {} réservations sur {} existantes : v4 {} lignes/s (index PK {} octets), "
+                        + "v7 {} lignes/s (index PK {} octets)",
+                inserts, rows, v4.rowsPerSecond(), v4.primaryKeySize(), v7.rowsPerSecond(), v7.primaryKeySize());
+
+        assertThat(v7.primaryKeySize()).isLessThan(v4.primaryKeySize());
+        assertThat(v7.rowsPerSecond()).isGreaterThan(v4.rowsPerSecond());
+    }
+
+    /**
+     * Précharge une copie simplifiée de reservations (clé primaire, index property_id), puis mesure
+     * des insertions par lots de INSERT_BATCH lignes, comme le fait Hibernate en écriture groupée.
+     */
+    private BenchResult bench(String version, Supplier<UUID> ids, long rows, int inserts) {
+        String table = "uuid_bench_" + version;
+        jdbcTemplate.execute("""
+                CREATE TABLE %s (
+                    id          UUID PRIMARY KEY,
+                    property_id UUID         NOT NULL,
+                    tenant_sub  VARCHAR(255) NOT NULL,
+                    start_date  DATE         NOT NULL,
+                    end_date    DATE         NOT NULL,
+                    status      VARCHAR(20)  NOT NULL,
+                    created_at  TIMESTAMP    NOT NULL
+                )
+                """.formatted(table));
+        jdbcTemplate.execute("CREATE INDEX idx_%s_property_id ON %s(property_id)".formatted(table, table));
+
+        String preload = """
+                INSERT INTO %s
+                SELECT t.id, ('00000000-0000-0000-0000-' || lpad(to_hex(i %% 1000), 12, '0'))::uuid,
+                       'tenant-' || (i %% 50000), DATE '2020-01-01' + (i %% 2000)::int, DATE '2020-01-03' + (i %% 2000)::int,
+                       'COMPLETED', now()
+                FROM unnest(CAST(? AS uuid[])) WITH ORDINALITY AS t(id, n)
+                CROSS JOIN LATERAL (SELECT CAST(? AS bigint) + t.n - 1 AS i) AS r
+                """.formatted(table);
+        for (long from = 0; from < rows; from += PRELOAD_CHUNK) {
+            String[] chunk = new String[(int) Math.min(PRELOAD_CHUNK, rows - from)];
+            for (int i = 0; i < chunk.length; i++) {
+                chunk[i] = ids.get().toString();
+            }
+            jdbcTemplate.update(preload, chunk, from);
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE " + table);
+        jdbcTemplate.execute("CHECKPOINT");
+
+        String insert = """
+                INSERT INTO %s (id, property_id, tenant_sub, start_date, end_date, status, created_at)
+                VALUES (?, ?, ?, ?, ?, 'PENDING', now())
+                """.formatted(table);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < inserts; i++) {
+            LocalDate start = LocalDate.of(2026, 1, 1).plusDays(i % 365);
+            batch.add(new Object[]{ids.get(), new UUID(0, i % 1000), "tenant-" + (i % 50_000), start, start.plusDays(2)});
+            if (batch.size() == INSERT_BATCH || i == inserts - 1) {
+                jdbcTemplate.batchUpdate(insert, batch);
+                batch.clear();
+            }
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        long primaryKeySize = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class,
+                table + "_pkey");
+        return new BenchResult(Math.round(inserts / seconds), primaryKeySize);
+    }
+
+    private record BenchResult(long rowsPerSecond, long primaryKeySize) {
+    }
+}
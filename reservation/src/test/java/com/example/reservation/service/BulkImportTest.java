@@ -0,0 +1,159 @@
+package com.example.reservation.service;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.service.PropertyService.PropertyImport;
+import com.example.reservation.service.ReservationService.ReservationImport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Imports en masse sous le profil prod (lots JDBC) : contenu écrit, agrégat journalier, atomicité,
+ * et débit comparé à la création ligne à ligne (mesure activée par -Dreservation.benchmark=true).
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("prod")
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class BulkImportTest {
+
+    private static final String OWNER_SUB = "owner-user-sub";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        property = propertyService.create(OWNER_SUB, "Imported flat", "A beautiful test property", "Paris",
+                new BigDecimal("100.00"), null, null);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM reservation_daily_rollup");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    private static List<PropertyImport> propertyRows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new PropertyImport("Flat " + i, "Imported property " + i, "Lyon",
+                        new BigDecimal("80.00"), null, null))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Property import writes every row across several flush chunks")
+    void importsPropertiesAcrossChunks() {
+        int count = PropertyService.IMPORT_FLUSH_SIZE + 250;
+
+        List<UUID> ids = propertyService.importProperties(OWNER_SUB, propertyRows(count));
+
+        assertThat(ids).hasSize(count).doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM properties WHERE city = 'Lyon'", Long.class))
+                .isEqualTo(count);
+        assertThat(propertyService.findById(ids.getLast()).getTitle()).isEqualTo("Flat " + (count - 1));
+    }
+
+    @Test
+    @DisplayName("Reservation import prices stays and feeds the daily rollup")
+    void importsReservationsAndRollup() {
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        List<ReservationImport> rows = new ArrayList<>();
+        // Séjours terminés de 2 nuits tous les 3 jours, puis un séjour confirmé à venir au prix imposé
+        for (int i = 0; i < 1200; i++) {
+            rows.add(new ReservationImport(property.getId(), "tenant-" + (i % 50),
+                    start.plusDays(3L * i), start.plusDays(3L * i + 2), ReservationStatus.COMPLETED, null));
+        }
+        LocalDate upcoming = LocalDate.now().plusDays(30);
+        rows.add(new ReservationImport(property.getId(), "tenant-upcoming", upcoming, upcoming.plusDays(4),
+                ReservationStatus.CONFIRMED, new BigDecimal("350.00")));
+
+        List<UUID> ids = reservationService.importReservations(rows);
+
+        assertThat(ids).hasSize(rows.size());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(total_price) FROM reservations WHERE status = 'COMPLETED'", BigDecimal.class))
+                .isEqualByComparingTo("240000.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(nights_booked) FROM reservation_daily_rollup WHERE status = 'COMPLETED'", Long.class))
+                .isEqualTo(2400L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(revenue) FROM reservation_daily_rollup WHERE status = 'CONFIRMED'", BigDecimal.class))
+                .isEqualByComparingTo("350.00");
+        assertThat(reservationService.hasOverlap(property.getId(), upcoming.plusDays(1), upcoming.plusDays(2))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reservation import is rejected as a whole when active stays overlap")
+    void rejectsOverlappingActiveStays() {
+        LocalDate start = LocalDate.now().plusDays(10);
+        reservationService.create(property.getId(), "tenant-user-sub", start, start.plusDays(3));
+        List<ReservationImport> rows = List.of(
+                new ReservationImport(property.getId(), "tenant-a", start.minusDays(30), start.minusDays(28),
+                        ReservationStatus.COMPLETED, null),
+                new ReservationImport(property.getId(), "tenant-b", start.plusDays(2), start.plusDays(5),
+                        ReservationStatus.CONFIRMED, null));
+
+        assertThatThrownBy(() -> reservationService.importReservations(rows))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Ligne 1");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "reservation.benchmark", matches = "true")
+    @DisplayName("Benchmark: batched import is an order of magnitude faster than row-by-row creation")
+    void batchedImportOutpacesRowByRowCreation() {
+        int count = 2000;
+        // Préchauffage : chargement des classes, plans et caches de requêtes préparées
+        propertyService.importProperties(OWNER_SUB, propertyRows(200));
+        propertyRows(200).forEach(row -> propertyService.create(OWNER_SUB, row.title(), row.description(),
+                row.city(), row.pricePerNight(), null, null));
+
+        long startedAt = System.nanoTime();
+        propertyRows(count).forEach(row -> propertyService.create(OWNER_SUB, row.title(), row.description(),
+                row.city(), row.pricePerNight(), null, null));
+        long rowByRowNanos = System.nanoTime() - startedAt;
+
+        startedAt = System.nanoTime();
+        propertyService.importProperties(OWNER_SUB, propertyRows(count));
+        long batchedNanos = System.nanoTime() - startedAt;
+
+        double speedup = (double) rowByRowNanos / batchedNanos;
+        log.info("Import de {} propriétés : ligne à ligne {} ms, par lots {} ms (x{})", count,
+                rowByRowNanos / 1_000_000, batchedNanos / 1_000_000, String.format("%.1f", speedup));
+        assertThat(speedup).isGreaterThan(10.0);
+    }
+}
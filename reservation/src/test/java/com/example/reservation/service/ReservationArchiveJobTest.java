@@ -0,0 +1,185 @@
+package com.example.reservation.service;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationHistory;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Archivage froid (horizon 2 ans, chunk-size=2 pour forcer plusieurs lots) et lectures d'historique
+ * qui n'incluent reservations_archive que lorsque la période le demande.
+ */
+@SpringBootTest(properties = {
+        "reservation.archive.horizon=2y",
+        "reservation.archive.chunk-size=2",
+        "reservation.archive.cron=-"
+})
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class ReservationArchiveJobTest {
+
+    private static final String OWNER_SUB = "owner-user-sub";
+    private static final String TENANT_SUB = "tenant-user-sub";
+
+    @Value("${reservation.hold.duration}")
+    private Duration holdDuration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationArchiveJob archiveJob;
+
+    @Autowired
+    private ReservationHistoryService historyService;
+
+    @Autowired
+    private OwnerStatsService ownerStatsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        property = propertyRepository.save(Property.builder()
+                .ownerSub(OWNER_SUB)
+                .title("Archived flat")
+                .description("A beautiful test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM property_access_codes");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM reservations_archive");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    private Reservation createReservation(ReservationStatus status, LocalDate startDate, LocalDate endDate) {
+        long nights = ChronoUnit.DAYS.between(startDate, endDate);
+        return reservationRepository.save(Reservation.builder()
+                .property(property)
+                .tenantSub(TENANT_SUB)
+                .startDate(startDate)
+                .endDate(endDate)
+                .status(status)
+                .holdExpiresAt(status == ReservationStatus.PENDING ? Instant.now().plus(holdDuration) : null)
+                .unitPriceApplied(property.getPricePerNight())
+                .totalPrice(property.getPricePerNight().multiply(BigDecimal.valueOf(nights)))
+                .pricingType(PricingType.NORMAL)
+                .build());
+    }
+
+    private List<UUID> archivedIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM reservations_archive", UUID.class);
+    }
+
+    @Test
+    @DisplayName("Moves ended stays older than the horizon into the archive, in several chunks")
+    void archivesOldEndedReservations() {
+        LocalDate old = LocalDate.now().minusYears(3);
+        Reservation completed1 = createReservation(ReservationStatus.COMPLETED, old, old.plusDays(2));
+        Reservation completed2 = createReservation(ReservationStatus.COMPLETED, old.plusDays(5), old.plusDays(7));
+        Reservation cancelled = createReservation(ReservationStatus.CANCELLED, old.plusDays(10), old.plusDays(12));
+        Reservation stillConfirmed = createReservation(ReservationStatus.CONFIRMED, old.plusDays(20), old.plusDays(22));
+        LocalDate recent = LocalDate.now().minusYears(1);
+        Reservation recentCompleted = createReservation(ReservationStatus.COMPLETED, recent, recent.plusDays(2));
+        double before = meterRegistry.counter("reservation.archive.moved").count();
+
+        int archived = archiveJob.archiveEndedReservations();
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(archivedIds()).containsExactlyInAnyOrder(completed1.getId(), completed2.getId(), cancelled.getId());
+        assertThat(reservationRepository.findAll()).extracting(Reservation::getId)
+                .containsExactlyInAnyOrder(stillConfirmed.getId(), recentCompleted.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations_archive WHERE archived_at IS NOT NULL",
+                Long.class)).isEqualTo(3);
+        assertThat(meterRegistry.counter("reservation.archive.moved").count() - before).isEqualTo(3.0);
+
+        assertThat(archiveJob.archiveEndedReservations()).isZero();
+    }
+
+    @Test
+    @DisplayName("History reads the archive only when the requested range goes beyond the horizon")
+    void historyUnionsArchiveOnlyWhenNeeded() {
+        LocalDate old = LocalDate.now().minusYears(3);
+        Reservation archivedStay = createReservation(ReservationStatus.COMPLETED, old, old.plusDays(2));
+        LocalDate recent = LocalDate.now().minusYears(1);
+        Reservation recentStay = createReservation(ReservationStatus.COMPLETED, recent, recent.plusDays(2));
+        archiveJob.archiveEndedReservations();
+        PageRequest page = PageRequest.of(0, 20, Sort.by("createdAt"));
+
+        assertThat(historyService.includesArchive(old)).isTrue();
+        assertThat(historyService.findByTenant(TENANT_SUB, old.minusDays(1), page).getContent())
+                .extracting(ReservationHistory::getId, ReservationHistory::isArchived)
+                .containsExactly(
+                        tuple(archivedStay.getId(), true),
+                        tuple(recentStay.getId(), false));
+        assertThat(historyService.findByPropertyOwner(OWNER_SUB, old.minusDays(1), page).getTotalElements())
+                .isEqualTo(2);
+
+        assertThat(historyService.includesArchive(recent)).isFalse();
+        assertThat(historyService.findByTenant(TENANT_SUB, recent.minusDays(1), page).getContent())
+                .extracting(ReservationHistory::getId)
+                .containsExactly(recentStay.getId());
+    }
+
+    @Test
+    @DisplayName("Owner stats over a window beyond the horizon still count archived stays")
+    void statsCountArchivedStays() {
+        LocalDate old = LocalDate.now().minusYears(3).withDayOfMonth(1);
+        createReservation(ReservationStatus.COMPLETED, old.plusDays(2), old.plusDays(5));
+        createReservation(ReservationStatus.CANCELLED, old.plusDays(10), old.plusDays(12));
+        archiveJob.archiveEndedReservations();
+        assertThat(archivedIds()).hasSize(2);
+
+        OwnerStatsService.OwnerStats stats = ownerStatsService.computeStats(OWNER_SUB, old, old.plusDays(30));
+
+        assertThat(stats.totals().occupiedNights()).isEqualTo(3);
+        assertThat(stats.totals().revenue()).isEqualByComparingTo("300.00");
+        assertThat(stats.totals().reservationsByStatus())
+                .containsEntry(ReservationStatus.COMPLETED, 1L)
+                .containsEntry(ReservationStatus.CANCELLED, 1L);
+    }
+}
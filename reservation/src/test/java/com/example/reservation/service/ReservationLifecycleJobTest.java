@@ -0,0 +1,154 @@
+package com.example.reservation.service;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.PricingType;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tâches de transition automatiques : traitement par lots (chunk-size=2 pour forcer plusieurs lots),
+ * mise à jour de l'agrégat journalier et de l'outbox, métriques.
+ */
+@SpringBootTest(properties = {
+        "reservation.lifecycle.chunk-size=2",
+        "reservation.lifecycle.auto-complete-cron=-",
+        "reservation.lifecycle.auto-cancel-cron=-"
+})
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class ReservationLifecycleJobTest {
+
+    private static final String OWNER_SUB = "owner-user-sub";
+    private static final String TENANT_SUB = "tenant-user-sub";
+
+    @Value("${reservation.hold.duration}")
+    private Duration holdDuration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationLifecycleJob lifecycleJob;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        property = propertyRepository.save(Property.builder()
+                .ownerSub(OWNER_SUB)
+                .title("Lifecycle flat")
+                .description("A beautiful test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM property_access_codes");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    private Reservation createReservation(ReservationStatus status, LocalDate startDate, LocalDate endDate) {
+        long nights = ChronoUnit.DAYS.between(startDate, endDate);
+        return reservationRepository.save(Reservation.builder()
+                .property(property)
+                .tenantSub(TENANT_SUB)
+                .startDate(startDate)
+                .endDate(endDate)
+                .status(status)
+                .holdExpiresAt(status == ReservationStatus.PENDING ? Instant.now().plus(holdDuration) : null)
+                .unitPriceApplied(property.getPricePerNight())
+                .totalPrice(property.getPricePerNight().multiply(BigDecimal.valueOf(nights)))
+                .pricingType(PricingType.NORMAL)
+                .build());
+    }
+
+    private ReservationStatus statusOf(Reservation reservation) {
+        return reservationRepository.findById(reservation.getId()).orElseThrow().getStatus();
+    }
+
+    private double processed(String job) {
+        return meterRegistry.counter("reservation.lifecycle.processed", "job", job).count();
+    }
+
+    @Test
+    @DisplayName("Completes every confirmed stay that ended before today, in several chunks")
+    void completesPastStays() {
+        LocalDate today = LocalDate.now();
+        Reservation past1 = createReservation(ReservationStatus.CONFIRMED, today.minusDays(10), today.minusDays(8));
+        Reservation past2 = createReservation(ReservationStatus.CONFIRMED, today.minusDays(8), today.minusDays(5));
+        Reservation past3 = createReservation(ReservationStatus.CONFIRMED, today.minusDays(5), today.minusDays(1));
+        Reservation endingToday = createReservation(ReservationStatus.CONFIRMED, today.minusDays(1), today);
+        Reservation pastPending = createReservation(ReservationStatus.PENDING, today.minusDays(20), today.minusDays(18));
+        double before = processed(ReservationLifecycleJob.AUTO_COMPLETE);
+
+        int completed = lifecycleJob.completePastStays();
+
+        assertThat(completed).isEqualTo(3);
+        assertThat(statusOf(past1)).isEqualTo(ReservationStatus.COMPLETED);
+        assertThat(statusOf(past2)).isEqualTo(ReservationStatus.COMPLETED);
+        assertThat(statusOf(past3)).isEqualTo(ReservationStatus.COMPLETED);
+        assertThat(statusOf(endingToday)).isEqualTo(ReservationStatus.CONFIRMED);
+        assertThat(statusOf(pastPending)).isEqualTo(ReservationStatus.PENDING);
+        assertThat(processed(ReservationLifecycleJob.AUTO_COMPLETE) - before).isEqualTo(3.0);
+
+        Integer completedEvents = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE event_type = 'RESERVATION_COMPLETED'", Integer.class);
+        assertThat(completedEvents).isEqualTo(3);
+        assertThat(lifecycleJob.completePastStays()).isZero();
+    }
+
+    @Test
+    @DisplayName("Cancels pending reservations whose hold has expired and releases the hold")
+    void cancelsExpiredHolds() {
+        LocalDate start = LocalDate.now().plusDays(30);
+        Reservation expired = createReservation(ReservationStatus.PENDING, start, start.plusDays(2));
+        Reservation held = createReservation(ReservationStatus.PENDING, start.plusDays(3), start.plusDays(5));
+        jdbcTemplate.update("UPDATE reservations SET hold_expires_at = CURRENT_TIMESTAMP - INTERVAL '1 hour' WHERE id = ?",
+                expired.getId());
+
+        int cancelled = lifecycleJob.cancelExpiredHolds();
+
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(statusOf(expired)).isEqualTo(ReservationStatus.CANCELLED);
+        assertThat(statusOf(held)).isEqualTo(ReservationStatus.PENDING);
+        assertThat(reservationRepository.findById(expired.getId()).orElseThrow().getHoldExpiresAt()).isNull();
+        assertThat(lifecycleJob.cancelExpiredHolds()).isZero();
+    }
+}
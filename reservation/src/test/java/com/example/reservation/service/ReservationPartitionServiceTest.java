@@ -0,0 +1,165 @@
+package com.example.reservation.service;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.repository.ReservationPartitionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migration vers la table partitionnée (V11, V15) : recopie par trigger et par lots, création des partitions
+ * annuelles et élagage. La bascule est testée à part, sur son propre conteneur
+ * ({@link ReservationPartitionSwapTest}).
+ */
+@SpringBootTest(properties = "reservation.partitioning.migration-chunk-size=2")
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class ReservationPartitionServiceTest {
+
+    private static final String TENANT_SUB = "tenant-user-sub";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationPartitionService partitionService;
+
+    @Autowired
+    private ReservationPartitionRepository partitionRepository;
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        property = propertyRepository.save(Property.builder()
+                .ownerSub("owner-user-sub")
+                .title("Partitioned flat")
+                .description("A beautiful test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_reservations_sync_partitioned ON reservations");
+        jdbcTemplate.update("DELETE FROM property_access_codes");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM reservations_partitioned");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    private List<String> shadowStatuses() {
+        return jdbcTemplate.queryForList("SELECT status FROM reservations_partitioned ORDER BY start_date", String.class);
+    }
+
+    @Test
+    @DisplayName("Writes on reservations are mirrored into the partitioned table once the migration has started")
+    void mirrorsWrites() {
+        LocalDate start = LocalDate.now().plusDays(10);
+        reservationService.create(property.getId(), TENANT_SUB, start.minusDays(5), start.minusDays(3));
+        assertThat(shadowStatuses()).isEmpty();
+        jdbcTemplate.update("DELETE FROM reservations");
+
+        partitionRepository.startSync();
+        Reservation first = reservationService.create(property.getId(), TENANT_SUB, start, start.plusDays(2));
+        reservationService.create(property.getId(), TENANT_SUB, start.plusDays(5), start.plusDays(7));
+        assertThat(shadowStatuses()).containsExactly("PENDING", "PENDING");
+
+        reservationService.cancel(first.getId());
+        assertThat(shadowStatuses()).containsExactly("CANCELLED", "PENDING");
+
+        jdbcTemplate.update("DELETE FROM reservations WHERE id = ?", first.getId());
+        assertThat(shadowStatuses()).containsExactly("PENDING");
+    }
+
+    @Test
+    @DisplayName("Batched backfill copies every missing row and can be re-run")
+    void backfillCopiesMissingRows() {
+        LocalDate start = LocalDate.now().plusDays(10);
+        for (int i = 0; i < 5; i++) {
+            reservationService.create(property.getId(), TENANT_SUB, start.plusDays(i * 3L), start.plusDays(i * 3L + 1));
+        }
+        jdbcTemplate.update("DELETE FROM reservations_partitioned");
+
+        assertThat(partitionService.backfill()).isEqualTo(5);
+        assertThat(partitionRepository.count("reservations_partitioned")).isEqualTo(5);
+
+        assertThat(partitionService.backfill()).isEqualTo(5);
+        assertThat(partitionRepository.count("reservations_partitioned")).isEqualTo(5);
+        assertThat(partitionRepository.isShadowPending()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Creating a partition moves the rows already stored in the default partition")
+    void newPartitionTakesRowsFromDefault() {
+        int farYear = Year.now().getValue() + 20;
+        LocalDate start = LocalDate.of(farYear, 6, 1);
+        jdbcTemplate.update("DROP TABLE IF EXISTS reservations_y" + farYear);
+        reservationService.create(property.getId(), TENANT_SUB, start, start.plusDays(3));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations_default", Long.class)).isEqualTo(1);
+
+        assertThat(partitionRepository.ensureYearPartition("reservations_partitioned", farYear)).isTrue();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations_default", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations_y" + farYear, Long.class)).isEqualTo(1);
+        assertThat(partitionRepository.ensureYearPartition("reservations_partitioned", farYear)).isFalse();
+        jdbcTemplate.update("DROP TABLE reservations_y" + farYear);
+    }
+
+    @Test
+    @DisplayName("Maintenance keeps the partitions of the coming years")
+    void maintenanceCreatesFuturePartitions() {
+        partitionService.ensureFuturePartitions();
+
+        int current = Year.now(ZoneOffset.UTC).getValue();
+        for (int year = current; year <= current + 2; year++) {
+            assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                    "reservations_y" + year)).isTrue();
+        }
+        assertThat(partitionService.ensureFuturePartitions()).isZero();
+    }
+
+    @Test
+    @DisplayName("Overlap lookup bounded by the maximum stay only scans the matching yearly partitions")
+    void overlapLookupPrunesPartitions() {
+        int next = Year.now().getValue() + 1;
+        LocalDate startDate = LocalDate.of(next, 7, 1);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN SELECT r.id FROM reservations_partitioned r
+                WHERE r.property_id = ?
+                  AND r.status IN ('PENDING', 'CONFIRMED')
+                  AND r.start_date >= ? AND r.start_date <= ? AND r.end_date >= ?
+                """, String.class, property.getId(), startDate.minusDays(Reservation.MAX_STAY_NIGHTS),
+                startDate.plusDays(7), startDate));
+
+        assertThat(plan).contains("reservations_y" + (next - 1), "reservations_y" + next);
+        assertThat(plan).doesNotContain("reservations_y" + (next + 1), "reservations_default");
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.reservation.service;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.domain.reservation.ReservationStatus;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.repository.ReservationPartitionRepository;
+import com.example.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bascule vers la table partitionnée (V11). Elle renomme reservations : ce test a son propre contexte,
+ * donc son propre conteneur PostgreSQL (propriétés distinctes), fermé après la classe par @DirtiesContext.
+ */
+@SpringBootTest(properties = {
+        "reservation.partitioning.maintenance-cron=-",
+        "reservation.partitioning.migration-chunk-size=2"
+})
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+@DirtiesContext
+class ReservationPartitionSwapTest {
+
+    private static final String TENANT_SUB = "tenant-user-sub";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationPartitionService partitionService;
+
+    @Autowired
+    private ReservationPartitionRepository partitionRepository;
+
+    @Test
+    @DisplayName("Swap reconciles deleted, stale and missing shadow rows, then renames tables, indexes and drops the trigger")
+    void swapsToPartitionedTable() {
+        Property property = propertyRepository.save(Property.builder()
+                .ownerSub("owner-user-sub")
+                .title("Swapped flat")
+                .description("A beautiful test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build());
+        assertThat(triggerExists()).isFalse();
+        partitionRepository.startSync();
+        LocalDate start = LocalDate.now().plusDays(10);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(reservationService.create(property.getId(), TENANT_SUB,
+                    start.plusDays(i * 3L), start.plusDays(i * 3L + 1)).getId());
+        }
+
+        // Course recopie / archivage : la ligne supprimée de reservations reste dans la table fantôme
+        jdbcTemplate.execute("ALTER TABLE reservations DISABLE TRIGGER trg_reservations_sync_partitioned");
+        jdbcTemplate.update("DELETE FROM reservations WHERE id = ?", ids.get(0));
+        jdbcTemplate.execute("ALTER TABLE reservations ENABLE TRIGGER trg_reservations_sync_partitioned");
+        // Version périmée (retirée puis recopiée) et ligne manquante
+        jdbcTemplate.update("UPDATE reservations_partitioned SET status = 'CANCELLED' WHERE id = ?", ids.get(1));
+        jdbcTemplate.update("DELETE FROM reservations_partitioned WHERE id = ?", ids.get(2));
+
+        assertThat(transactionTemplate.execute(status -> partitionRepository.swap())).isEqualTo(4);
+
+        assertThat(partitionRepository.findPartitionedParent()).contains("reservations");
+        assertThat(partitionRepository.isShadowPending()).isFalse();
+        assertThat(relationExists("reservations_partitioned")).isFalse();
+        assertThat(relationExists("reservations_legacy")).isTrue();
+        assertThat(triggerExists()).isFalse();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'reservations' ORDER BY indexname", String.class))
+                .contains("reservations_pkey",
+                        "idx_reservations_active_dates",
+                        "idx_reservations_owner_status_created",
+                        "idx_reservations_pending_hold")
+                .doesNotContain("idx_reservations_tenant_active")
+                .noneMatch(index -> index.startsWith("idx_rp_"));
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = 'reservations'::regclass ORDER BY conname", String.class))
+                .contains("reservations_pkey", "reservations_property_id_fkey", "chk_reservations_max_stay");
+        assertThat(partitionRepository.count("reservations")).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM (
+                    (TABLE reservations EXCEPT ALL TABLE reservations_legacy)
+                    UNION ALL
+                    (TABLE reservations_legacy EXCEPT ALL TABLE reservations)
+                ) d
+                """, Long.class)).isZero();
+
+        // L'application écrit et lit désormais dans la table partitionnée
+        Reservation after = reservationService.create(property.getId(), TENANT_SUB,
+                start.plusDays(30), start.plusDays(32));
+        reservationService.confirm(after.getId());
+        assertThat(reservationRepository.findById(after.getId()).orElseThrow().getStatus())
+                .isEqualTo(ReservationStatus.CONFIRMED);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations_y" + start.plusDays(30).getYear()
+                + " WHERE id = ?", Long.class, after.getId())).isEqualTo(1);
+        assertThat(partitionRepository.count("reservations_legacy")).isEqualTo(4);
+
+        assertThat(partitionService.migrate()).isZero();
+        assertThat(partitionService.ensureFuturePartitions()).isZero();
+    }
+
+    private boolean relationExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private boolean triggerExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_reservations_sync_partitioned')",
+                Boolean.class));
+    }
+}
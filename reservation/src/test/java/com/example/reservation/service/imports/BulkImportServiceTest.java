@@ -0,0 +1,232 @@
+package com.example.reservation.service.imports;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.security.AuthorizationService;
+import com.example.reservation.service.PropertyService;
+import com.example.reservation.service.ReservationService;
+import com.example.reservation.service.imports.BulkImportService.ImportSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports en masse par COPY : rejets ligne à ligne (format, propriétaire, chevauchements),
+ * fusion, agrégat journalier et rapport NDJSON.
+ */
+@SpringBootTest
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class})
+class BulkImportServiceTest {
+
+    private static final String OWNER_SUB = "owner-user-sub";
+    private static final String OTHER_USER_SUB = "other-user-sub";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM import_properties_staging");
+        jdbcTemplate.update("DELETE FROM import_reservations_staging");
+        jdbcTemplate.update("DELETE FROM imports");
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM reservation_daily_rollup");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    private static InputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> report(ImportSummary summary) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bulkImportService.writeReport(summary.id(), summary.kind(), output);
+        return output.toString(StandardCharsets.UTF_8).lines().map(jsonMapper::readTree).toList();
+    }
+
+    @Test
+    @DisplayName("CSV property import creates valid rows and reports rejected lines by file line")
+    void importsPropertiesFromCsv() {
+        String csv = """
+                title,description,city,pricePerNight,latitude,longitude
+                Loft,"Grand loft, ""vue"" sur la Seine",Paris,120.00,48.8566,2.3522
+                Studio,"Deux lignes
+                de description",Lyon,55,,
+                Cabane,Sans prix,Annecy,,,
+                Chalet,Trop au nord,Chamonix,200,95,6.8
+                Incomplet,Lyon
+                """;
+
+        ImportSummary summary = bulkImportService.importStream(ImportKind.PROPERTIES, ImportFormat.CSV, content(csv), OWNER_SUB);
+
+        assertThat(summary.received()).isEqualTo(5);
+        assertThat(summary.imported()).isEqualTo(2);
+        assertThat(summary.rejected()).isEqualTo(3);
+
+        Property loft = propertyService.findByOwner(OWNER_SUB).stream()
+                .filter(property -> property.getTitle().equals("Loft"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(loft.getDescription()).isEqualTo("Grand loft, \"vue\" sur la Seine");
+        assertThat(loft.getGeohash()).isNotNull();
+
+        List<JsonNode> report = report(summary);
+        assertThat(report).extracting(line -> line.get("line").asLong()).containsExactly(2L, 3L, 5L, 6L, 7L);
+        assertThat(report.get(0).get("id").asString()).isEqualTo(loft.getId().toString());
+        assertThat(report.get(1).has("id")).isTrue();
+        assertThat(report.get(2).get("error").asString()).contains("pricePerNight");
+        assertThat(report.get(3).get("error").asString()).contains("latitude");
+        assertThat(report.get(4).get("error").asString()).contains("Nombre de colonnes");
+    }
+
+    @Test
+    @DisplayName("NDJSON reservation import rejects foreign properties and overlaps, then feeds the rollup")
+    void importsReservationsFromNdjson() {
+        Property property = propertyService.create(OWNER_SUB, "Imported flat", "A beautiful test property", "Paris",
+                new BigDecimal("100.00"), null, null);
+        Property foreign = propertyService.create(OTHER_USER_SUB, "Other flat", "A beautiful test property", "Paris",
+                new BigDecimal("100.00"), null, null);
+        LocalDate start = LocalDate.now().plusDays(10);
+        reservationService.create(property.getId(), "tenant-user-sub", start, start.plusDays(3));
+
+        String ndjson = String.join("\n",
+                // Ligne 1 : séjour terminé, valorisé au prix par nuit
+                line(property, "2015-01-01", "2015-01-03", "COMPLETED", null),
+                // Ligne 2 : propriété d'un autre propriétaire
+                line(foreign, "2015-02-01", "2015-02-03", "COMPLETED", null),
+                // Ligne 3 : chevauche la réservation existante
+                line(property, start.plusDays(2).toString(), start.plusDays(5).toString(), "CONFIRMED", null),
+                // Ligne 4 : acceptée ; ligne 5 : chevauche la ligne 4
+                line(property, start.plusDays(20).toString(), start.plusDays(24).toString(), "CONFIRMED", "350.00"),
+                line(property, start.plusDays(22).toString(), start.plusDays(25).toString(), "PENDING", null),
+                // Ligne 6 : JSON invalide
+                "{\"propertyId\": ",
+                // Ligne 7 : dates inversées
+                line(property, "2015-03-05", "2015-03-01", "COMPLETED", null));
+
+        ImportSummary summary = bulkImportService.importStream(ImportKind.RESERVATIONS, ImportFormat.NDJSON,
+                content(ndjson), OWNER_SUB);
+
+        assertThat(summary.received()).isEqualTo(7);
+        assertThat(summary.imported()).isEqualTo(2);
+        assertThat(summary.rejected()).isEqualTo(5);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT total_price FROM reservations WHERE status = 'COMPLETED'", BigDecimal.class))
+                .isEqualByComparingTo("200.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(nights_booked) FROM reservation_daily_rollup WHERE status = 'COMPLETED'", Long.class))
+                .isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(revenue) FROM reservation_daily_rollup WHERE status = 'CONFIRMED' AND day >= ?",
+                BigDecimal.class, start.plusDays(20)))
+                .isEqualByComparingTo("350.00");
+
+        List<JsonNode> report = report(summary);
+        assertThat(report).extracting(line -> line.get("line").asLong()).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(report.get(0).has("id")).isTrue();
+        assertThat(report.get(1).get("error").asString()).contains("autre propriétaire");
+        assertThat(report.get(2).get("error").asString()).contains("réservation existante");
+        assertThat(report.get(3).has("id")).isTrue();
+        assertThat(report.get(4).get("error").asString()).contains("ligne précédente");
+        assertThat(report.get(5).get("error").asString()).isEqualTo("JSON invalide");
+        assertThat(report.get(6).get("error").asString()).contains("date de fin");
+    }
+
+    @Test
+    @DisplayName("NDJSON null, non-object and oversized lines are rejected without aborting the import")
+    void rejectsNonObjectAndOversizedNdjsonLines() {
+        String loft = "{\"title\":\"Loft\",\"description\":\"Loft\",\"city\":\"Paris\",\"pricePerNight\":90}";
+        String ndjson = String.join("\n",
+                "null",
+                "[1, 2]",
+                "{\"title\":\"" + "x".repeat(ImportRecordReader.MAX_RECORD_LENGTH) + "\"}",
+                loft);
+
+        ImportSummary summary = bulkImportService.importStream(ImportKind.PROPERTIES, ImportFormat.NDJSON,
+                content(ndjson), OWNER_SUB);
+
+        assertThat(summary.received()).isEqualTo(4);
+        assertThat(summary.imported()).isEqualTo(1);
+        List<JsonNode> report = report(summary);
+        assertThat(report).extracting(line -> line.get("line").asLong()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(report.get(0).get("error").asString()).isEqualTo("JSON invalide");
+        assertThat(report.get(1).get("error").asString()).isEqualTo("JSON invalide");
+        assertThat(report.get(2).get("error").asString()).contains("trop long");
+        assertThat(report.get(3).has("id")).isTrue();
+    }
+
+    @Test
+    @DisplayName("CSV record with an unterminated quoted field is rejected once it exceeds the length cap")
+    void rejectsOversizedCsvRecord() {
+        String csv = "title,description,city,pricePerNight,latitude,longitude\n"
+                + "Loft,Loft,Paris,90,,\n"
+                + "Studio,\"" + "x\n".repeat(ImportRecordReader.MAX_RECORD_LENGTH) + ",Lyon,55,,\n";
+
+        ImportSummary summary = bulkImportService.importStream(ImportKind.PROPERTIES, ImportFormat.CSV, content(csv), OWNER_SUB);
+
+        assertThat(summary.received()).isEqualTo(2);
+        assertThat(summary.imported()).isEqualTo(1);
+        List<JsonNode> report = report(summary);
+        assertThat(report).extracting(line -> line.get("line").asLong()).containsExactly(2L, 3L);
+        assertThat(report.get(1).get("error").asString()).contains("trop long");
+    }
+
+    @Test
+    @DisplayName("Only the importing user may read the report")
+    void checksImportOwnership() {
+        ImportSummary summary = bulkImportService.importStream(ImportKind.PROPERTIES, ImportFormat.NDJSON,
+                content("{\"title\":\"Loft\",\"description\":\"Loft\",\"city\":\"Paris\",\"pricePerNight\":90}"),
+                OWNER_SUB);
+
+        assertThat(summary.imported()).isEqualTo(1);
+        assertThat(bulkImportService.findKind(summary.id())).isEqualTo(ImportKind.PROPERTIES);
+        assertThat(authorizationService.isImportOwner(summary.id(), OWNER_SUB)).isTrue();
+        assertThat(authorizationService.isImportOwner(summary.id(), OTHER_USER_SUB)).isFalse();
+    }
+
+    private static String line(Property property, String startDate, String endDate, String status, String totalPrice) {
+        return "{\"propertyId\":\"%s\",\"tenantSub\":\"tenant-import\",\"startDate\":\"%s\",\"endDate\":\"%s\",\"status\":\"%s\"%s}"
+                .formatted(property.getId(), startDate, endDate, status,
+                        totalPrice == null ? "" : ",\"totalPrice\":" + totalPrice);
+    }
+}
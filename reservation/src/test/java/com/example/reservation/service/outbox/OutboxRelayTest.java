@@ -0,0 +1,221 @@
+package com.example.reservation.service.outbox;
+
+import com.example.reservation.TestcontainersConfiguration;
+import com.example.reservation.config.TestSecurityConfig;
+import com.example.reservation.domain.outbox.OutboxEvent;
+import com.example.reservation.domain.outbox.OutboxEventType;
+import com.example.reservation.domain.property.Property;
+import com.example.reservation.domain.property.PropertyStatus;
+import com.example.reservation.domain.reservation.Reservation;
+import com.example.reservation.repository.OutboxEventRepository;
+import com.example.reservation.repository.PropertyRepository;
+import com.example.reservation.service.PropertyAccessCodeService;
+import com.example.reservation.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Outbox : écriture dans la transaction du changement d'état, publication par lots via le puits in-process.
+ */
+@SpringBootTest(properties = {
+        "reservation.outbox.sink=in-process",
+        "reservation.outbox.relay-delay-ms=3600000",
+        "reservation.outbox.max-attempts=2"
+})
+@Import({TestcontainersConfiguration.class, TestSecurityConfig.class, OutboxRelayTest.PoisonListenerConfig.class})
+@RecordApplicationEvents
+class OutboxRelayTest {
+
+    private static final String OWNER_SUB = "owner-user-sub";
+    private static final String TENANT_SUB = "tenant-user-sub";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private PropertyAccessCodeService accessCodeService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private PoisonListener poisonListener;
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        property = propertyRepository.save(Property.builder()
+                .ownerSub(OWNER_SUB)
+                .title("Outbox flat")
+                .description("A beautiful test property")
+                .city("Paris")
+                .pricePerNight(new BigDecimal("100.00"))
+                .status(PropertyStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        poisonListener.poisonAggregateId = null;
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM property_access_codes");
+        jdbcTemplate.update("DELETE FROM reservations");
+        jdbcTemplate.update("DELETE FROM properties");
+    }
+
+    @Test
+    @DisplayName("Reservation transitions write one event each, failed transitions write none")
+    void reservationTransitionsAreRecorded() {
+        Reservation reservation = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 5, 1), LocalDate.of(2030, 5, 3));
+        reservationService.confirm(reservation.getId());
+        assertThatThrownBy(() -> reservationService.confirm(reservation.getId()))
+                .isInstanceOf(IllegalStateException.class);
+        reservationService.complete(reservation.getId());
+
+        List<OutboxEvent> events = outboxEventRepository.findByAggregateIdOrderByCreatedAt(reservation.getId());
+        assertThat(events).extracting(OutboxEvent::getEventType).containsExactly(
+                OutboxEventType.RESERVATION_CREATED,
+                OutboxEventType.RESERVATION_CONFIRMED,
+                OutboxEventType.RESERVATION_COMPLETED);
+        assertThat(events.getFirst().getPayload())
+                .contains("\"ownerSub\":\"" + OWNER_SUB + "\"")
+                .contains("\"startDate\":\"2030-05-01\"");
+    }
+
+    @Test
+    @DisplayName("Access code events never carry the raw code")
+    void accessCodeEventsDoNotLeakRawCode() {
+        PropertyAccessCodeService.PropertyAccessCodeResult result = accessCodeService.create(
+                property.getId(), "guest@example.com", OWNER_SUB, Instant.now().plus(1, ChronoUnit.DAYS));
+        accessCodeService.revoke(result.accessCode().getId(), OWNER_SUB);
+
+        List<OutboxEvent> events = outboxEventRepository.findByAggregateIdOrderByCreatedAt(result.accessCode().getId());
+        assertThat(events).extracting(OutboxEvent::getEventType).containsExactly(
+                OutboxEventType.ACCESS_CODE_CREATED,
+                OutboxEventType.ACCESS_CODE_REVOKED);
+        assertThat(events).allSatisfy(event -> assertThat(event.getPayload()).doesNotContain(result.rawCode()));
+    }
+
+    @Test
+    @DisplayName("Relay publishes pending events in order and marks them published")
+    void relayPublishesAndMarksEvents() {
+        Reservation first = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 6, 1), LocalDate.of(2030, 6, 3));
+        Reservation second = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 6, 5), LocalDate.of(2030, 6, 7));
+        reservationService.cancel(second.getId());
+
+        assertThat(outboxRelay.publishNextBatch()).isEqualTo(3);
+        assertThat(outboxRelay.publishNextBatch()).isZero();
+
+        assertThat(applicationEvents.stream(OutboxMessage.class))
+                .extracting(OutboxMessage::aggregateId, OutboxMessage::eventType)
+                .containsExactly(
+                        tuple(first.getId(), OutboxEventType.RESERVATION_CREATED),
+                        tuple(second.getId(), OutboxEventType.RESERVATION_CREATED),
+                        tuple(second.getId(), OutboxEventType.RESERVATION_CANCELLED));
+        assertThat(outboxEventRepository.findAll()).allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("A failing event is rescheduled with backoff, does not block the queue and is dead-lettered after max attempts")
+    void poisonEventIsRescheduledThenDeadLettered() {
+        Reservation poison = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 7, 1), LocalDate.of(2030, 7, 3));
+        Reservation healthy = reservationService.create(property.getId(), TENANT_SUB,
+                LocalDate.of(2030, 7, 5), LocalDate.of(2030, 7, 7));
+        poisonListener.poisonAggregateId = poison.getId();
+
+        assertThat(outboxRelay.publishNextBatch()).isEqualTo(1);
+        assertThat(outboxEventRepository.findByAggregateIdOrderByCreatedAt(healthy.getId()))
+                .allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+        OutboxEvent failed = outboxEventRepository.findByAggregateIdOrderByCreatedAt(poison.getId()).getFirst();
+        assertThat(failed.getPublishedAt()).isNull();
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isEqualTo("poison");
+        assertThat(failed.getNextAttemptAt()).isAfter(Instant.now());
+
+        // Pas encore échu : le relais ne le relit pas
+        assertThat(outboxRelay.publishNextBatch()).isZero();
+        assertThat(outboxEventRepository.findById(failed.getId()).orElseThrow().getAttempts()).isEqualTo(1);
+
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = next_attempt_at - INTERVAL '1 day'");
+        assertThat(outboxRelay.publishNextBatch()).isZero();
+        OutboxEvent deadLettered = outboxEventRepository.findById(failed.getId()).orElseThrow();
+        assertThat(deadLettered.getAttempts()).isEqualTo(2);
+        assertThat(deadLettered.isDeadLettered()).isTrue();
+
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = next_attempt_at - INTERVAL '1 day'");
+        poisonListener.poisonAggregateId = null;
+        assertThat(outboxRelay.publishNextBatch()).isZero();
+        assertThat(outboxEventRepository.findById(failed.getId()).orElseThrow().getPublishedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Retry delay doubles with each attempt up to the configured maximum")
+    void backoffIsExponentialAndCapped() {
+        assertThat(outboxRelay.backoff(0)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(outboxRelay.backoff(3)).isEqualTo(Duration.ofSeconds(40));
+        assertThat(outboxRelay.backoff(30)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @TestConfiguration
+    static class PoisonListenerConfig {
+
+        @Bean
+        PoisonListener poisonListener() {
+            return new PoisonListener();
+        }
+    }
+
+    /** Fait échouer la publication in-process des événements d'un agrégat donné. */
+    static class PoisonListener {
+
+        volatile UUID poisonAggregateId;
+
+        @EventListener
+        void on(OutboxMessage message) {
+            if (message.aggregateId().equals(poisonAggregateId)) {
+                throw new IllegalStateException("poison");
+            }
+        }
+    }
+}